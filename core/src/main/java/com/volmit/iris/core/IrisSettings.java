@@ -120,6 +120,7 @@ public class IrisSettings {
     public static class IrisSettingsWorld {
         public IrisAsyncTeleport asyncTeleport = new IrisAsyncTeleport();
         public boolean postLoadBlockUpdates = true;
+        public int postLoadBlockUpdateBudgetMS = 5;
         public boolean forcePersistEntities = true;
         public boolean anbientEntitySpawningSystem = true;
         public long asyncTickIntervalMS = 700;
@@ -138,7 +139,9 @@ public class IrisSettings {
     public static class IrisSettingsPerformance {
         public boolean trimMantleInStudio = false; 
         public int mantleKeepAlive = 30;
+        public int mantleMemoryBudgetPercent = 30;
         public int cacheSize = 4_096;
+        public int biomeCacheSize = 1_024;
         public int resourceLoaderCacheSize = 1_024;
         public int objectLoaderCacheSize = 4_096;
         public int scriptLoaderCacheSize = 512;
@@ -25,9 +25,11 @@ import com.volmit.iris.core.nms.INMS;
 import com.volmit.iris.core.nms.datapack.DataVersion;
 import com.volmit.iris.core.nms.v1X.NMSBinding1X;
 import com.volmit.iris.core.pregenerator.ChunkUpdater;
+import com.volmit.iris.core.service.BlockUpdateSVC;
 import com.volmit.iris.core.service.IrisEngineSVC;
 import com.volmit.iris.core.tools.IrisPackBenchmarking;
 import com.volmit.iris.core.tools.IrisToolbelt;
+import com.volmit.iris.engine.data.cache.QuartBiomeCache;
 import com.volmit.iris.engine.framework.Engine;
 import com.volmit.iris.engine.mantle.components.MantleObjectComponent;
 import com.volmit.iris.engine.object.IrisBiome;
@@ -42,6 +44,7 @@ import com.volmit.iris.util.decree.annotations.Param;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.format.Form;
 import com.volmit.iris.util.io.IO;
+import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.TectonicPlate;
 import com.volmit.iris.util.math.Spiraler;
 import com.volmit.iris.util.math.Vector3d;
@@ -116,13 +119,32 @@ public class CommandDeveloper implements DecreeExecutor {
         Iris.info("-------------------------");
         Iris.info(C.DARK_PURPLE + "Engine Status");
         Iris.info(C.DARK_PURPLE + "Total Loaded Chunks: " + C.LIGHT_PURPLE + TotalLoadedChunks);
-        Iris.info(C.DARK_PURPLE + "Tectonic Limit: " + C.LIGHT_PURPLE + IrisEngineSVC.getTectonicLimit());
+        Iris.info(C.DARK_PURPLE + "Mantle Memory Budget: " + C.LIGHT_PURPLE + Form.memSize(IrisEngineSVC.getMantleMemoryBudget(), 1));
         Iris.info(C.DARK_PURPLE + "Tectonic Total Plates: " + C.LIGHT_PURPLE + TotalTectonicPlates);
         Iris.info(C.DARK_PURPLE + "Tectonic Active Plates: " + C.LIGHT_PURPLE + TotalNotQueuedTectonicPlates);
         Iris.info(C.DARK_PURPLE + "Tectonic ToUnload: " + C.LIGHT_PURPLE + TotalQueuedTectonicPlates);
         Iris.info(C.DARK_PURPLE + "Lowest Tectonic Unload Duration: " + C.LIGHT_PURPLE + Form.duration(lowestUnloadDuration));
         Iris.info(C.DARK_PURPLE + "Highest Tectonic Unload Duration: " + C.LIGHT_PURPLE + Form.duration(highestUnloadDuration));
         Iris.info(C.DARK_PURPLE + "Cache Size: " + C.LIGHT_PURPLE + Form.f(IrisData.cacheSize()));
+        BlockUpdateSVC updates = Iris.service(BlockUpdateSVC.class);
+        Iris.info(C.DARK_PURPLE + "Block Updates Pending: " + C.LIGHT_PURPLE + Form.f(updates.getPending())
+                + C.DARK_PURPLE + " Applied: " + C.LIGHT_PURPLE + Form.f(updates.getApplied())
+                + C.DARK_PURPLE + " Tick: " + C.LIGHT_PURPLE + Form.duration(updates.getAverageTickTime(), 2));
+        for (World world : IrisWorlds) {
+            Mantle mantle = IrisToolbelt.access(world).getEngine().getMantle().getMantle();
+            Iris.info(C.DARK_PURPLE + "Mantle " + world.getName() + ": " + C.LIGHT_PURPLE + Form.memSize(mantle.getResidentBytes(), 1)
+                    + C.DARK_PURPLE + " Hits: " + C.LIGHT_PURPLE + Form.f(mantle.getPlateHits())
+                    + C.DARK_PURPLE + " Misses: " + C.LIGHT_PURPLE + Form.f(mantle.getPlateMisses())
+                    + C.DARK_PURPLE + " Evictions: " + C.LIGHT_PURPLE + Form.f(mantle.getPlateEvictions())
+                    + C.DARK_PURPLE + " (" + C.LIGHT_PURPLE + Form.f(mantle.getPressureEvictions()) + C.DARK_PURPLE + " by memory)");
+            QuartBiomeCache<?> biomes = IrisToolbelt.access(world).getEngine().getBiomeCache();
+            if (biomes != null) {
+                Iris.info(C.DARK_PURPLE + "Biome Cache " + world.getName() + ": " + C.LIGHT_PURPLE + Form.f(biomes.getSize()) + " columns"
+                        + C.DARK_PURPLE + " Hits: " + C.LIGHT_PURPLE + Form.f(biomes.getHits())
+                        + C.DARK_PURPLE + " Misses: " + C.LIGHT_PURPLE + Form.f(biomes.getMisses())
+                        + C.DARK_PURPLE + " (" + C.LIGHT_PURPLE + Form.pc(biomes.getHitRate()) + C.DARK_PURPLE + " hit rate)");
+            }
+        }
         Iris.info("-------------------------");
     }
 
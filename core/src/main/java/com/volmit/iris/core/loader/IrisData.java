@@ -51,6 +51,7 @@ public class IrisData implements ExclusionStrategy, TypeAdapterFactory {
     private static final KMap<File, IrisData> dataLoaders = new KMap<>();
     private final File dataFolder;
     private final int id;
+    private final ResourceIndex index;
     private boolean closed = false;
     private ResourceLoader<IrisBiome> biomeLoader;
     private ResourceLoader<IrisLootTable> lootLoader;
@@ -84,6 +85,7 @@ public class IrisData implements ExclusionStrategy, TypeAdapterFactory {
         this.engine = null;
         this.dataFolder = dataFolder;
         this.id = RNG.r.imax();
+        this.index = new ResourceIndex();
         hotloaded();
     }
 
@@ -344,6 +346,8 @@ public class IrisData implements ExclusionStrategy, TypeAdapterFactory {
         for (ResourceLoader<?> i : loaders.values()) {
             i.clearCache();
         }
+
+        PackedObject.clearVariants();
     }
 
     public void clearLists() {
@@ -352,6 +356,23 @@ public class IrisData implements ExclusionStrategy, TypeAdapterFactory {
         }
     }
 
+    /**
+     * Feed files the reactive folder picked up into the index so the next
+     * lookup doesn't need to rescan the pack
+     */
+    public void indexChanges(KList<File> created, KList<File> deleted) {
+        index.update(created, deleted);
+        clearLists();
+    }
+
+    /**
+     * Throw the whole index away, used when the pack was swapped out under us
+     */
+    public void reindex() {
+        index.invalidate();
+        clearLists();
+    }
+
     public String toLoadKey(File f) {
         if (f.getPath().startsWith(getDataFolder().getPath())) {
             String[] full = f.getPath().split("\\Q" + File.separator + "\\E");
@@ -21,8 +21,6 @@ package com.volmit.iris.core.loader;
 import com.volmit.iris.Iris;
 import com.volmit.iris.core.IrisSettings;
 import com.volmit.iris.engine.object.IrisObject;
-import com.volmit.iris.util.collection.KList;
-import com.volmit.iris.util.collection.KSet;
 import com.volmit.iris.util.data.KCache;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 
@@ -34,6 +32,10 @@ public class ObjectResourceLoader extends ResourceLoader<IrisObject> {
         loadCache = new KCache<>(this::loadRaw, IrisSettings.get().getPerformance().getObjectLoaderCacheSize());
     }
 
+    public String getExtension() {
+        return ".iob";
+    }
+
     public boolean supportsSchemas() {
         return false;
     }
@@ -64,74 +66,19 @@ public class ObjectResourceLoader extends ResourceLoader<IrisObject> {
         }
     }
 
-    public String[] getPossibleKeys() {
-        if (possibleKeys != null) {
-            return possibleKeys;
-        }
-        Iris.debug("Building " + resourceTypeName + " Possibility Lists");
-        KSet<String> m = new KSet<>();
-        for (File i : getFolders()) {
-            m.addAll(getFiles(i, ".iob", true));
-        }
-        possibleKeys = m.toArray(new String[0]);
-        return possibleKeys;
-    }
-
-    private KList<String> getFiles(File dir, String ext, boolean skipDirName) {
-        KList<String> paths = new KList<>();
-        String name = skipDirName ? "" : dir.getName() + "/";
-        for (File f : dir.listFiles()) {
-            if (f.isFile() && f.getName().endsWith(ext)) {
-                paths.add(name + f.getName().replaceAll("\\Q" + ext + "\\E", ""));
-            } else if (f.isDirectory()) {
-                getFiles(f, ext, false).forEach(e -> paths.add(name + e));
-            }
-        }
-        return paths;
-    }
-
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".iob") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, name + ".iob");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
-    }
-
     public IrisObject load(String name) {
         return load(name, true);
     }
 
     private IrisObject loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".iob") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
-
-            File file = new File(i, name + ".iob");
+        File file = resolve(name);
 
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+            return null;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+        return loadFile(file, name);
     }
 
     public IrisObject load(String name, boolean warn) {
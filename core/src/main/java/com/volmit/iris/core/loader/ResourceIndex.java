@@ -0,0 +1,197 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.core.loader;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.format.C;
+
+import java.io.File;
+
+/**
+ * Pack wide key to file index shared by every loader of an {@link IrisData}.
+ * Each loader folder is walked once the first time it is asked for, after that
+ * lookups are a map hit instead of a listFiles + split per cache miss. The
+ * reactive folder feeds created / deleted files in so studio edits show up
+ * without a rescan.
+ */
+public class ResourceIndex {
+    private final KMap<String, Folder> folders;
+
+    public ResourceIndex() {
+        this.folders = new KMap<>();
+    }
+
+    public File find(File folder, String extension, String key) {
+        return folder(folder, extension).find(key);
+    }
+
+    public String[] keys(File folder, String extension) {
+        return folder(folder, extension).keys();
+    }
+
+    public void update(KList<File> created, KList<File> deleted) {
+        for (Folder i : folders.values()) {
+            for (File j : deleted) {
+                i.remove(j);
+            }
+
+            for (File j : created) {
+                i.add(j);
+            }
+        }
+    }
+
+    public void invalidate() {
+        folders.clear();
+    }
+
+    private Folder folder(File folder, String extension) {
+        return folders.computeIfAbsent(folder.getPath() + extension, (k) -> new Folder(folder, extension));
+    }
+
+    private static class Folder {
+        private final File dir;
+        private final String path;
+        private final String extension;
+        private final KMap<String, File> files;
+        private final KMap<String, File> aliases;
+        private volatile String[] keys;
+        private volatile boolean built;
+
+        public Folder(File dir, String extension) {
+            this.dir = dir;
+            this.path = dir.getPath() + File.separator;
+            this.extension = extension;
+            this.files = new KMap<>();
+            this.aliases = new KMap<>();
+        }
+
+        public File find(String key) {
+            build();
+            File f = files.get(key);
+
+            if (f == null) {
+                f = aliases.get(key);
+            }
+
+            if (f != null) {
+                if (f.isFile()) {
+                    return f;
+                }
+
+                remove(f);
+            }
+
+            // Anything the watcher didn't tell us about still resolves like it used to
+            f = new File(dir, key + extension);
+
+            if (f.isFile()) {
+                add(f);
+                return f;
+            }
+
+            return null;
+        }
+
+        public String[] keys() {
+            build();
+            String[] k = keys;
+
+            if (k == null) {
+                k = files.k().toArray(new String[0]);
+                keys = k;
+            }
+
+            return k;
+        }
+
+        public void add(File f) {
+            if (!f.getPath().startsWith(path)) {
+                return;
+            }
+
+            if (f.isDirectory()) {
+                walk(f);
+                keys = null;
+                return;
+            }
+
+            if (!f.getName().endsWith(extension)) {
+                return;
+            }
+
+            String key = f.getPath().substring(path.length(), f.getPath().length() - extension.length()).replace(File.separatorChar, '/');
+            files.put(key, f);
+
+            if (f.getParentFile().equals(dir)) {
+                aliases.putIfAbsent(f.getName().split("\\Q.\\E")[0], f);
+            }
+
+            keys = null;
+        }
+
+        public void remove(File f) {
+            if (!f.getPath().startsWith(path)) {
+                return;
+            }
+
+            String prefix = f.getPath() + File.separator;
+            files.values().removeIf((i) -> i.equals(f) || i.getPath().startsWith(prefix));
+            aliases.values().removeIf((i) -> i.equals(f) || i.getPath().startsWith(prefix));
+            keys = null;
+        }
+
+        private void build() {
+            if (built) {
+                return;
+            }
+
+            synchronized (this) {
+                if (built) {
+                    return;
+                }
+
+                if (dir.isDirectory()) {
+                    walk(dir);
+                }
+
+                built = true;
+                Iris.debug("Indexed " + C.YELLOW + files.size() + C.LIGHT_PURPLE + " " + extension + " files in " + C.GRAY + dir.getPath());
+            }
+        }
+
+        private void walk(File at) {
+            File[] list = at.listFiles();
+
+            if (list == null) {
+                return;
+            }
+
+            for (File i : list) {
+                if (i.isDirectory()) {
+                    walk(i);
+                } else if (i.getName().endsWith(extension)) {
+                    add(i);
+                }
+            }
+        }
+    }
+}
@@ -44,11 +44,11 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 import java.io.*;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -105,26 +105,32 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         return o;
     }
 
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".json") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
+    public String getExtension() {
+        return ".json";
+    }
 
-            File file = new File(i, name + ".json");
+    protected File resolve(String name) {
+        for (File i : getFolders(name)) {
+            File file = manager.getIndex().find(i, getExtension(), name);
 
-            if (file.exists()) {
+            if (file != null) {
                 return file;
             }
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
         return null;
     }
 
+    public File findFile(String name) {
+        File file = resolve(name);
+
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+        }
+
+        return file;
+    }
+
     public void logLoad(File path, T t) {
         loads.getAndIncrement();
 
@@ -146,41 +152,16 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         J.a(() -> Iris.warn("Couldn't Load " + resourceTypeName + " file: " + path.getPath() + ": " + e.getMessage()));
     }
 
-    private KList<File> matchAllFiles(File root, Predicate<File> f) {
-        KList<File> fx = new KList<>();
-        matchFiles(root, fx, f);
-        return fx;
-    }
-
-    private void matchFiles(File at, KList<File> files, Predicate<File> f) {
-        if (at.isDirectory()) {
-            for (File i : at.listFiles()) {
-                matchFiles(i, files, f);
-            }
-        } else {
-            if (f.test(at)) {
-                files.add(at);
-            }
-        }
-    }
-
     public String[] getPossibleKeys() {
         if (possibleKeys != null) {
             return possibleKeys;
         }
 
+        Iris.debug("Building " + resourceTypeName + " Possibility Lists");
         KSet<String> m = new KSet<>();
-        KList<File> files = getFolders();
-
-        if (files == null) {
-            possibleKeys = new String[0];
-            return possibleKeys;
-        }
 
-        for (File i : files) {
-            for (File j : matchAllFiles(i, (f) -> f.getName().endsWith(".json"))) {
-                m.add(i.toURI().relativize(j.toURI()).getPath().replaceAll("\\Q.json\\E", ""));
-            }
+        for (File i : getFolders()) {
+            m.addAll(List.of(manager.getIndex().keys(i, getExtension())));
         }
 
         KList<String> v = new KList<>(m);
@@ -285,22 +266,8 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     }
 
     private T loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            //noinspection ConstantConditions
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".json") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
-
-            File file = new File(i, name + ".json");
-
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
-        }
-
-        return null;
+        File file = resolve(name);
+        return file == null ? null : loadFile(file, name);
     }
 
     public T load(String name, boolean warn) {
@@ -399,21 +366,7 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     }
 
     public File fileFor(T b) {
-        for (File i : getFolders()) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".json") && j.getName().split("\\Q.\\E")[0].equals(b.getLoadKey())) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, b.getLoadKey() + ".json");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        return null;
+        return resolve(b.getLoadKey());
     }
 
     public boolean isLoaded(String next) {
@@ -26,8 +26,6 @@ import com.volmit.iris.util.io.IO;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 
 import java.io.File;
-import java.util.HashSet;
-import java.util.Set;
 
 public class ScriptResourceLoader extends ResourceLoader<IrisScript> {
     public ScriptResourceLoader(File root, IrisData idm, String folderName, String resourceTypeName) {
@@ -35,6 +33,10 @@ public class ScriptResourceLoader extends ResourceLoader<IrisScript> {
         loadCache = new KCache<>(this::loadRaw, IrisSettings.get().getPerformance().getScriptLoaderCacheSize());
     }
 
+    public String getExtension() {
+        return ".js";
+    }
+
     public boolean supportsSchemas() {
         return false;
     }
@@ -60,108 +62,15 @@ public class ScriptResourceLoader extends ResourceLoader<IrisScript> {
         }
     }
 
-
-    public String[] getPossibleKeys() {
-        if (possibleKeys != null) {
-            return possibleKeys;
-        }
-
-        Iris.debug("Building " + resourceTypeName + " Possibility Lists");
-        Set<String> keys = new HashSet<>();
-
-        for (File i : getFolders()) {
-            if (i.isDirectory()) {
-                keys.addAll(getKeysInDirectory(i));
-            }
-        }
-
-        possibleKeys = keys.toArray(new String[0]);
-        return possibleKeys;
-    }
-
-    private Set<String> getKeysInDirectory(File directory) {
-        Set<String> keys = new HashSet<>();
-        for (File file : directory.listFiles()) {
-            if (file.isFile() && file.getName().endsWith(".js")) {
-                keys.add(file.getName().replaceAll("\\Q.js\\E", ""));
-            } else if (file.isDirectory()) {
-                keys.addAll(getKeysInDirectory(file));
-            }
-        }
-        return keys;
-    }
-
-//    public String[] getPossibleKeys() {
-//        if (possibleKeys != null) {
-//            return possibleKeys;
-//        }
-//
-//        Iris.debug("Building " + resourceTypeName + " Possibility Lists");
-//        KSet<String> m = new KSet<>();
-//
-//        for (File i : getFolders()) {
-//            for (File j : i.listFiles()) {
-//                if (j.isFile() && j.getName().endsWith(".js")) {
-//                    m.add(j.getName().replaceAll("\\Q.js\\E", ""));
-//                } else if (j.isDirectory()) {
-//                    for (File k : j.listFiles()) {
-//                        if (k.isFile() && k.getName().endsWith(".js")) {
-//                            m.add(j.getName() + "/" + k.getName().replaceAll("\\Q.js\\E", ""));
-//                        } else if (k.isDirectory()) {
-//                            for (File l : k.listFiles()) {
-//                                if (l.isFile() && l.getName().endsWith(".js")) {
-//                                    m.add(j.getName() + "/" + k.getName() + "/" + l.getName().replaceAll("\\Q.js\\E", ""));
-//                                }
-//                            }
-//                        }
-//                    }
-//                }
-//            }
-//        }
-//
-//        KList<String> v = new KList<>(m);
-//        possibleKeys = v.toArray(new String[0]);
-//        return possibleKeys;
-//    }
-
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".js") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, name + ".js");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
-    }
-
     private IrisScript loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".js") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
+        File file = resolve(name);
 
-            File file = new File(i, name + ".js");
-
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+            return null;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+        return loadFile(file, name);
     }
 
     public IrisScript load(String name, boolean warn) {
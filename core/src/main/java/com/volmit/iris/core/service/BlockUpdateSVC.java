@@ -0,0 +1,159 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.core.service;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.core.IrisSettings;
+import com.volmit.iris.util.atomics.AtomicRollingSequence;
+import com.volmit.iris.util.plugin.IrisService;
+import com.volmit.iris.util.scheduling.J;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies block mutations planned off the main thread (post load block updates, tiles, custom blocks).
+ * Each tick drains the queue in order until the configured millisecond budget is spent,
+ * whatever is left waits for the next tick. Batches can carry completion callbacks which only fire once
+ * every mutation before them was applied, or get told they were dropped when the service shuts down.
+ */
+public class BlockUpdateSVC implements IrisService {
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final AtomicRollingSequence tickTime = new AtomicRollingSequence(100);
+    private int task = -1;
+
+    @Override
+    public void onEnable() {
+        task = J.sr(this::tick, 1);
+    }
+
+    @Override
+    public void onDisable() {
+        J.csr(task);
+        Runnable r;
+
+        while ((r = queue.poll()) != null) {
+            if (r instanceof Completion c) {
+                try {
+                    c.dropped().run();
+                } catch (Throwable e) {
+                    Iris.reportError(e);
+                }
+            }
+        }
+
+        pending.set(0);
+    }
+
+    /**
+     * Queue mutations to be applied on the main thread, they are applied in the given order
+     *
+     * @param mutations the mutations
+     */
+    public void submit(List<Runnable> mutations) {
+        if (mutations.isEmpty()) {
+            return;
+        }
+
+        queue.addAll(mutations);
+        pending.addAndGet(mutations.size());
+        submitted.add(mutations.size());
+    }
+
+    /**
+     * Queue mutations followed by a completion callback. The callback runs on the main thread right after
+     * the last mutation was applied, if the service shuts down first the dropped callback runs instead.
+     *
+     * @param mutations the mutations
+     * @param applied   fired once every mutation was applied
+     * @param dropped   fired if the mutations were discarded before being applied
+     */
+    public void submit(List<Runnable> mutations, Runnable applied, Runnable dropped) {
+        submit(mutations);
+        queue.add(new Completion(applied, dropped));
+    }
+
+    private void tick() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long budget = Math.max(1, IrisSettings.get().getWorld().getPostLoadBlockUpdateBudgetMS()) * 1_000_000L;
+        Runnable r;
+
+        while ((r = queue.poll()) != null) {
+            if (r instanceof Completion) {
+                try {
+                    r.run();
+                } catch (Throwable e) {
+                    Iris.reportError(e);
+                }
+
+                continue;
+            }
+
+            pending.decrementAndGet();
+            applied.increment();
+
+            try {
+                r.run();
+            } catch (Throwable e) {
+                Iris.reportError(e);
+            }
+
+            if (System.nanoTime() - start >= budget) {
+                break;
+            }
+        }
+
+        tickTime.put((System.nanoTime() - start) / 1_000_000D);
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getApplied() {
+        return applied.sum();
+    }
+
+    /**
+     * @return the average milliseconds spent applying per tick, only counting ticks that had work
+     */
+    public double getAverageTickTime() {
+        return tickTime.getAverage();
+    }
+
+    private record Completion(Runnable applied, Runnable dropped) implements Runnable {
+        @Override
+        public void run() {
+            applied.run();
+        }
+    }
+}
@@ -10,7 +10,6 @@ import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.format.Form;
 import com.volmit.iris.util.mantle.TectonicPlate;
-import com.volmit.iris.util.misc.getHardware;
 import com.volmit.iris.util.plugin.IrisService;
 import com.volmit.iris.util.scheduling.ChronoLatch;
 import com.volmit.iris.util.scheduling.Looper;
@@ -35,7 +34,6 @@ public class IrisEngineSVC implements IrisService {
     public static IrisEngineSVC instance;
     public boolean isServerShuttingDown = false;
     public boolean isServerLoaded = false;
-    private static final AtomicInteger tectonicLimit = new AtomicInteger(30);
     private ReentrantLock lastUseLock;
     private KMap<World, Long> lastUse;
     private List<World> IrisWorlds;
@@ -71,12 +69,6 @@ public class IrisEngineSVC implements IrisService {
         TotalTectonicPlates = new AtomicInteger();
         TotalQueuedTectonicPlates = new AtomicInteger();
         TotalNotQueuedTectonicPlates = new AtomicInteger();
-        tectonicLimit.set(2);
-        long t = getHardware.getProcessMemory();
-        while (t > 200) {
-            tectonicLimit.getAndAdd(1);
-            t = t - 200;
-        }
         this.setup();
         this.TrimLogic();
         this.UnloadLogic();
@@ -103,8 +95,14 @@ public class IrisEngineSVC implements IrisService {
 
     }
 
-    public static int getTectonicLimit() {
-        return tectonicLimit.get();
+    /**
+     * The amount of heap in bytes all loaded tectonic plates (across every world) should stay under
+     *
+     * @return the budget in bytes
+     */
+    public static long getMantleMemoryBudget() {
+        int percent = Math.max(1, Math.min(90, IrisSettings.get().getPerformance().getMantleMemoryBudgetPercent()));
+        return Runtime.getRuntime().maxMemory() / 100 * percent;
     }
 
     @EventHandler
@@ -217,7 +215,7 @@ public class IrisEngineSVC implements IrisService {
                     try {
                         Engine engine = supplier.get();
                         if (engine != null) {
-                            engine.getMantle().trim(tectonicLimit.get() / lastUse.size());
+                            engine.getMantle().trim(getMantleMemoryBudget() / Math.max(1, lastUse.size()));
                         }
                     } catch (Throwable e) {
                         Iris.reportError(e);
@@ -249,7 +247,7 @@ public class IrisEngineSVC implements IrisService {
                         Engine engine = supplier.get();
                         if (engine != null) {
                             long unloadStart = System.currentTimeMillis();
-                            int count = engine.getMantle().unloadTectonicPlate(tectonicLimit.get() / lastUse.size());
+                            int count = engine.getMantle().unloadTectonicPlate(Runtime.getRuntime().availableProcessors());
                             if (count > 0) {
                                 Iris.debug(C.GOLD + "Unloaded " + C.YELLOW + count + " TectonicPlates in " + C.RED + Form.duration(System.currentTimeMillis() - unloadStart, 2));
                             }
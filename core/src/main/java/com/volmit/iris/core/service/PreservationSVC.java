@@ -130,6 +130,10 @@ public class PreservationSVC implements IrisService {
         caches.add(cache);
     }
 
+    public void unregisterCache(MeteredCache cache) {
+        caches.remove(cache);
+    }
+
     public List<KCache<?, ?>> caches() {
         return caches.stream().map(MeteredCache::getRawCache).collect(Collectors.toList());
     }
@@ -30,6 +30,7 @@ import com.volmit.iris.core.nms.container.Pair;
 import com.volmit.iris.core.project.IrisProject;
 import com.volmit.iris.core.service.PreservationSVC;
 import com.volmit.iris.engine.data.cache.AtomicCache;
+import com.volmit.iris.engine.data.cache.QuartBiomeCache;
 import com.volmit.iris.engine.framework.*;
 import com.volmit.iris.engine.mantle.EngineMantle;
 import com.volmit.iris.engine.object.*;
@@ -105,6 +106,7 @@ public class IrisEngine implements Engine {
     private double maxBiomeLayerDensity;
     private double maxBiomeDecoratorDensity;
     private IrisComplex complex;
+    private volatile QuartBiomeCache<?> biomeCache;
 
     public IrisEngine(EngineTarget target, boolean studio) {
         this.studio = studio;
@@ -126,7 +128,6 @@ public class IrisEngine implements Engine {
         mantle = new IrisEngineMantle(this);
         context = new IrisContext(this);
         cleaning = new AtomicBoolean(false);
-        context.touch();
         getData().setEngine(this);
         getData().loadPrefetch(this);
         Iris.info("Initializing Engine: " + target.getWorld().name() + "/" + target.getDimension().getLoadKey() + " (" + target.getDimension().getDimensionHeight() + " height) Seed: " + getSeedManager().getSeed());
@@ -205,7 +206,7 @@ public class IrisEngine implements Engine {
     @Override
     public Set<Pair<String, BlockPos>> getPOIsAt(int chunkX, int chunkY) {
         Set<Pair<String, BlockPos>> pois = new HashSet<>();
-        getMantle().getMantle().iterateChunk(chunkX, chunkY, MatterStructurePOI.class, (x, y, z, d) -> pois.add(new Pair<>(d.getType(), new BlockPos(x, y, z))));
+        getMantle().getMantle().iterateChunkInt(chunkX, chunkY, MatterStructurePOI.class, (x, y, z, d) -> pois.add(new Pair<>(d.getType(), new BlockPos(x, y, z))));
         return pois;
     }
 
@@ -259,6 +260,7 @@ public class IrisEngine implements Engine {
                 try {
                     f.getParentFile().mkdirs();
                     IrisEngineData data = new IrisEngineData();
+                    data.setLegacyRandom(false);
                     data.getStatistics().setVersion(Iris.instance.getIrisVersion());
                     data.getStatistics().setMCVersion(Iris.instance.getMCVersion());
                     data.getStatistics().setUpgradedVersion(Iris.instance.getIrisVersion());
@@ -418,6 +420,17 @@ public class IrisEngine implements Engine {
         return closed;
     }
 
+    @Override
+    public void setBiomeCache(QuartBiomeCache<?> biomeCache) {
+        QuartBiomeCache<?> old = this.biomeCache;
+        this.biomeCache = biomeCache;
+
+        // Every new biome source builds its own cache, only keep the current one metered
+        if (old != null && old != biomeCache) {
+            Iris.service(PreservationSVC.class).unregisterCache(old);
+        }
+    }
+
     @Override
     public void recycle() {
         if (!cleanLatch.flip()) {
@@ -450,9 +463,8 @@ public class IrisEngine implements Engine {
             throw new WrongEngineBroException();
         }
 
-        context.touch();
         getEngineData().getStatistics().generatedChunk();
-        try {
+        try (IrisContext.Scope ignored = context.enter()) {
             PrecisionStopwatch p = PrecisionStopwatch.start();
             Hunk<BlockData> blocks = vblocks.listen((xx, y, zz, t) -> catchBlockUpdates(x + xx, y + getMinHeight(), z + zz, t));
 
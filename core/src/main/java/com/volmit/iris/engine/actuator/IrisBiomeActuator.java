@@ -47,6 +47,7 @@ public class IrisBiomeActuator extends EngineAssignedActuator<Biome> {
     public void onActuate(int x, int z, Hunk<Biome> h, boolean multicore, ChunkContext context) {
         try {
             PrecisionStopwatch p = PrecisionStopwatch.start();
+            RNG rng = chunkRNG(this.rng, x, z);
             for (int xf = 0; xf < h.getWidth(); xf++) {
                 IrisBiome ib;
                 for (int zf = 0; zf < h.getDepth(); zf++) {
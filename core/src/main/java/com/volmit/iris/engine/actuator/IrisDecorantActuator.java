@@ -24,18 +24,18 @@ import com.volmit.iris.engine.framework.EngineAssignedActuator;
 import com.volmit.iris.engine.framework.EngineDecorator;
 import com.volmit.iris.engine.object.IrisBiome;
 import com.volmit.iris.util.context.ChunkContext;
+import com.volmit.iris.util.data.BlockRegistry;
 import com.volmit.iris.util.documentation.BlockCoordinates;
 import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import lombok.Getter;
-import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 
 import java.util.function.Predicate;
 
 public class IrisDecorantActuator extends EngineAssignedActuator<BlockData> {
-    private static final Predicate<BlockData> PREDICATE_SOLID = (b) -> b != null && !b.getMaterial().isAir() && !b.getMaterial().equals(Material.WATER) && !b.getMaterial().equals(Material.LAVA);
+    private static final Predicate<BlockData> PREDICATE_SOLID = (b) -> b != null && !BlockRegistry.is(b, BlockRegistry.AIR | BlockRegistry.FLUID);
     private final RNG rng;
     @Getter
     private final EngineDecorator surfaceDecorator;
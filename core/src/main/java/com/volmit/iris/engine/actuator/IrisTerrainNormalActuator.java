@@ -32,6 +32,8 @@ import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 
+import java.util.Arrays;
+
 public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData> {
     private static final BlockData AIR = Material.AIR.createBlockData();
     private static final BlockData BEDROCK = Material.BEDROCK.createBlockData();
@@ -52,9 +54,11 @@ public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData>
     @Override
     public void onActuate(int x, int z, Hunk<BlockData> h, boolean multicore, ChunkContext context) {
         PrecisionStopwatch p = PrecisionStopwatch.start();
+        BlockData[] ores = new BlockData[h.getHeight()];
+        RNG rng = chunkRNG(this.rng, x, z);
 
         for (int xf = 0; xf < h.getWidth(); xf++) {
-            terrainSliver(x, z, xf, h, context);
+            terrainSliver(x, z, xf, h, context, ores, rng);
         }
 
         getEngine().getMetrics().getTerrain().put(p.getMilliseconds());
@@ -74,6 +78,18 @@ public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData>
      */
     @BlockCoordinates
     public void terrainSliver(int x, int z, int xf, Hunk<BlockData> h, ChunkContext context) {
+        terrainSliver(x, z, xf, h, context, new BlockData[h.getHeight()], chunkRNG(rng, x, z));
+    }
+
+    /**
+     * Same as {@link #terrainSliver(int, int, int, Hunk, ChunkContext)} but reuses the given ore column.
+     * Ores are planned once per column as soon as the first block below the layers is reached.
+     *
+     * @param ores a column of at least the hunk height, its contents are overwritten
+     * @param rng  the rng for this chunk, see {@link #chunkRNG(RNG, int, int)}
+     */
+    @BlockCoordinates
+    public void terrainSliver(int x, int z, int xf, Hunk<BlockData> h, ChunkContext context, BlockData[] ores, RNG rng) {
         int zf, realX, realZ, hf, he;
         IrisBiome biome;
         IrisRegion region;
@@ -92,6 +108,7 @@ public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData>
 
             KList<BlockData> blocks = null;
             KList<BlockData> fblocks = null;
+            boolean planned = false;
             int depth, fdepth;
             for (int i = hf; i >= 0; i--) {
                 if (i >= h.getHeight()) {
@@ -138,9 +155,15 @@ public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData>
                         continue;
                     }
 
-                    BlockData ore = biome.generateOres(realX, i, realZ, rng, getData());
-                    ore = ore == null ? region.generateOres(realX, i, realZ, rng, getData()) : ore;
-                    ore = ore == null ? getDimension().generateOres(realX, i, realZ, rng, getData()) : ore;
+                    if (!planned) {
+                        planned = true;
+                        Arrays.fill(ores, 0, i + 1, null);
+                        biome.getOrePlanner().plan(ores, realX, realZ, 0, i, rng, getData());
+                        region.getOrePlanner().plan(ores, realX, realZ, 0, i, rng, getData());
+                        getDimension().getOrePlanner().plan(ores, realX, realZ, 0, i, rng, getData());
+                    }
+
+                    BlockData ore = ores[i];
 
                     if (ore != null) {
                         h.set(xf, i, zf, ore);
@@ -0,0 +1,144 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.data.cache;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.core.service.PreservationSVC;
+import com.volmit.iris.engine.framework.Engine;
+import com.volmit.iris.engine.framework.MeteredCache;
+import com.volmit.iris.util.data.KCache;
+import com.volmit.iris.util.function.Function3Int;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches resolved biomes at quart resolution (4x4x4 blocks), one array per chunk column, for biome sources
+ * which get asked the same positions over and over again (structure placement, spawning, locate).
+ * The values are whatever the platform uses for a biome so every nms binding can share it.
+ * The cache drops everything when the engine hotloads.
+ *
+ * @param <T> the resolved biome type
+ */
+public class QuartBiomeCache<T> implements MeteredCache {
+    private final Engine engine;
+    private final Function3Int<T> resolver;
+    private final KCache<Long, AtomicReferenceArray<T>> columns;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile int cacheId;
+
+    /**
+     * @param engine   the engine, used for the height and to notice hotloads
+     * @param resolver resolves a biome from quart coordinates when it isn't cached
+     * @param size     the max amount of chunk columns to keep
+     */
+    public QuartBiomeCache(Engine engine, Function3Int<T> resolver, int size) {
+        this.engine = engine;
+        this.resolver = resolver;
+        this.cacheId = engine.getCacheID();
+        columns = new KCache<>((k) -> new AtomicReferenceArray<>(16 * Math.max(1, (engine.getHeight() + 3) >> 2)), size);
+        Iris.service(PreservationSVC.class).registerCache(this);
+    }
+
+    /**
+     * Get the biome at the given quart coordinates
+     *
+     * @param x the quart x (block x >> 2)
+     * @param y the quart y (block y >> 2)
+     * @param z the quart z (block z >> 2)
+     * @return the biome
+     */
+    public T get(int x, int y, int z) {
+        int id = engine.getCacheID();
+
+        if (id != cacheId) {
+            cacheId = id;
+            columns.invalidate();
+        }
+
+        int qy = y - (engine.getMinHeight() >> 2);
+        AtomicReferenceArray<T> column = columns.get(Cache.key(x >> 2, z >> 2));
+        int index = (qy << 4) | ((z & 3) << 2) | (x & 3);
+
+        if (qy < 0 || index >= column.length()) {
+            misses.increment();
+            return resolver.apply(x, y, z);
+        }
+
+        T t = column.get(index);
+
+        if (t != null) {
+            hits.increment();
+            return t;
+        }
+
+        misses.increment();
+        t = resolver.apply(x, y, z);
+
+        if (t != null) {
+            column.lazySet(index, t);
+        }
+
+        return t;
+    }
+
+    public void invalidate() {
+        columns.invalidate();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long t = h + misses.sum();
+        return t == 0 ? 0 : (double) h / (double) t;
+    }
+
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public long getSize() {
+        return columns.getSize();
+    }
+
+    @Override
+    public KCache<?, ?> getRawCache() {
+        return columns;
+    }
+
+    @Override
+    public long getMaxSize() {
+        return columns.getMaxSize();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return engine.isClosed();
+    }
+}
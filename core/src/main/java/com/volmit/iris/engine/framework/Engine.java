@@ -27,9 +27,12 @@ import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.core.loader.IrisRegistrant;
 import com.volmit.iris.core.nms.container.BlockPos;
 import com.volmit.iris.core.nms.container.Pair;
+import com.volmit.iris.core.service.BlockUpdateSVC;
 import com.volmit.iris.core.service.ExternalDataSVC;
+import com.volmit.iris.core.service.IrisEngineSVC;
 import com.volmit.iris.engine.IrisComplex;
 import com.volmit.iris.engine.data.cache.Cache;
+import com.volmit.iris.engine.data.cache.QuartBiomeCache;
 import com.volmit.iris.engine.data.chunk.TerrainChunk;
 import com.volmit.iris.engine.mantle.EngineMantle;
 import com.volmit.iris.engine.object.*;
@@ -46,6 +49,7 @@ import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.function.Function2;
 import com.volmit.iris.util.hunk.Hunk;
+import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleFlag;
 import com.volmit.iris.util.math.BlockPosition;
 import com.volmit.iris.util.math.M;
@@ -64,11 +68,12 @@ import com.volmit.iris.util.stream.ProceduralStream;
 import io.papermc.lib.PaperLib;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Biome;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -150,6 +155,13 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
 
     EngineMetrics getMetrics();
 
+    /**
+     * The biome cache the platform biome source resolves through, or null if the platform doesn't use one
+     */
+    QuartBiomeCache<?> getBiomeCache();
+
+    void setBiomeCache(QuartBiomeCache<?> biomeCache);
+
     default void save() {
         getMantle().save();
         getWorldManager().onSave();
@@ -278,68 +290,123 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
                 && c.getWorld().isChunkLoaded(c.getX() + 1, c.getZ() - 1)
                 && c.getWorld().isChunkLoaded(c.getX() - 1, c.getZ() + 1) && getMantle().getMantle().isLoaded(c)) {
 
-            getMantle().getMantle().raiseFlag(c.getX(), c.getZ(), MantleFlag.TILE, () -> J.s(() -> {
-                getMantle().getMantle().iterateChunk(c.getX(), c.getZ(), TileWrapper.class, (x, y, z, tile) -> {
-                    int betterY = y + getWorld().minHeight();
-                    if (!TileData.setTileState(c.getBlock(x, betterY, z), tile.getData()))
-                        Iris.warn("Failed to set tile entity data at [%d %d %d | %s] for tile %s!", x, betterY, z, c.getBlock(x, betterY, z).getBlockData().getMaterial().getKey(), tile.getData().getTileId());
+            BlockUpdateSVC applier = Iris.service(BlockUpdateSVC.class);
+            Mantle mantle = getMantle().getMantle();
+            int minHeight = getWorld().minHeight();
+            int cx = c.getX();
+            int cz = c.getZ();
+
+            // Flags are only claimed here, they are raised once the applier actually ran the work.
+            // Work that never ran is unclaimed (or saved lowered) so it is redone on the next load
+            if (mantle.claimFlag(cx, cz, MantleFlag.TILE)) {
+                KList<Runnable> mutations = new KList<>();
+                mantle.iterateChunkInt(cx, cz, TileWrapper.class, (x, y, z, tile) -> {
+                    int betterY = y + minHeight;
+                    mutations.add(() -> {
+                        if (!TileData.setTileState(c.getBlock(x, betterY, z), tile.getData()))
+                            Iris.warn("Failed to set tile entity data at [%d %d %d | %s] for tile %s!", x, betterY, z, c.getBlock(x, betterY, z).getBlockData().getMaterial().getKey(), tile.getData().getTileId());
+                    });
                 });
-            }));
-            getMantle().getMantle().raiseFlag(c.getX(), c.getZ(), MantleFlag.CUSTOM, () -> J.s(() -> {
-                getMantle().getMantle().iterateChunk(c.getX(), c.getZ(), Identifier.class, (x, y, z, v) -> {
-                    Iris.service(ExternalDataSVC.class).processUpdate(this, c.getBlock(x & 15, y + getWorld().minHeight(), z & 15), v);
+                applier.submit(mutations, () -> mantle.releaseFlag(cx, cz, MantleFlag.TILE), () -> mantle.unclaimFlag(cx, cz, MantleFlag.TILE));
+            }
+
+            if (mantle.claimFlag(cx, cz, MantleFlag.CUSTOM)) {
+                KList<Runnable> mutations = new KList<>();
+                mantle.iterateChunkInt(cx, cz, Identifier.class, (x, y, z, v) -> {
+                    mutations.add(() -> Iris.service(ExternalDataSVC.class).processUpdate(this, c.getBlock(x & 15, y + minHeight, z & 15), v));
                 });
-            }));
-
-            getMantle().getMantle().raiseFlag(c.getX(), c.getZ(), MantleFlag.UPDATE, () -> J.s(() -> {
-                PrecisionStopwatch p = PrecisionStopwatch.start();
-                KMap<Long, Integer> updates = new KMap<>();
-                RNG r = new RNG(Cache.key(c.getX(), c.getZ()));
-                getMantle().getMantle().iterateChunk(c.getX(), c.getZ(), MatterCavern.class, (x, yf, z, v) -> {
-                    int y = yf + getWorld().minHeight();
-                    if (!B.isFluid(c.getBlock(x & 15, y, z & 15).getBlockData())) {
+                applier.submit(mutations, () -> mantle.releaseFlag(cx, cz, MantleFlag.CUSTOM), () -> mantle.unclaimFlag(cx, cz, MantleFlag.CUSTOM));
+            }
+
+            if (mantle.claimFlag(cx, cz, MantleFlag.UPDATE)) {
+                J.s(() -> {
+                    World w = c.getWorld();
+
+                    if (!c.isLoaded() || !w.isChunkLoaded(cx - 1, cz) || !w.isChunkLoaded(cx + 1, cz)
+                            || !w.isChunkLoaded(cx, cz - 1) || !w.isChunkLoaded(cx, cz + 1)) {
+                        mantle.unclaimFlag(cx, cz, MantleFlag.UPDATE);
                         return;
                     }
-                    boolean u = false;
-                    if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.DOWN).getBlockData())) {
-                        u = true;
-                    } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.WEST).getBlockData())) {
-                        u = true;
-                    } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.EAST).getBlockData())) {
-                        u = true;
-                    } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.SOUTH).getBlockData())) {
-                        u = true;
-                    } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.NORTH).getBlockData())) {
-                        u = true;
-                    }
 
-                    if (u) {
-                        updates.compute(Cache.key(x & 15, z & 15), (k, vv) -> {
-                            if (vv != null) {
-                                return Math.max(vv, y);
-                            }
+                    ChunkSnapshot[] snapshots = new ChunkSnapshot[]{
+                            c.getChunkSnapshot(false, false, false),
+                            w.getChunkAt(cx - 1, cz).getChunkSnapshot(false, false, false),
+                            w.getChunkAt(cx + 1, cz).getChunkSnapshot(false, false, false),
+                            w.getChunkAt(cx, cz - 1).getChunkSnapshot(false, false, false),
+                            w.getChunkAt(cx, cz + 1).getChunkSnapshot(false, false, false)
+                    };
+                    J.a(() -> {
+                        try {
+                            applier.submit(planUpdates(c, snapshots), () -> {
+                                mantle.deleteChunkSlice(cx, cz, MatterUpdate.class);
+                                mantle.releaseFlag(cx, cz, MantleFlag.UPDATE);
+                            }, () -> mantle.unclaimFlag(cx, cz, MantleFlag.UPDATE));
+                        } catch (Throwable e) {
+                            mantle.unclaimFlag(cx, cz, MantleFlag.UPDATE);
+                            Iris.reportError(e);
+                        }
+                    });
+                });
+            }
+        }
+    }
+
+    /**
+     * Plans the post load block updates of a chunk off the main thread. Fluids next to air are found
+     * in chunk snapshots instead of live blocks, the actual updates are applied later on the main thread.
+     * The update slice is left in the mantle, it is only deleted once the updates were applied.
+     *
+     * @param c         the chunk
+     * @param snapshots the snapshots of the chunk, then its west, east, north and south neighbors
+     * @return the updates to apply on the main thread in order
+     */
+    default KList<Runnable> planUpdates(Chunk c, ChunkSnapshot[] snapshots) {
+        PrecisionStopwatch p = PrecisionStopwatch.start();
+        KList<Runnable> mutations = new KList<>();
+        KMap<Long, Integer> updates = new KMap<>();
+        RNG r = new RNG(Cache.key(c.getX(), c.getZ()));
+        int minHeight = getWorld().minHeight();
+        getMantle().getMantle().iterateChunkInt(c.getX(), c.getZ(), MatterCavern.class, (x, yf, z, v) -> {
+            int y = yf + minHeight;
+            int vx = x & 15;
+            int vz = z & 15;
+            if (!B.isFluid(snapshots[0].getBlockData(vx, y, vz))) {
+                return;
+            }
+
+            boolean u = y <= minHeight || B.isAir(snapshots[0].getBlockData(vx, y - 1, vz))
+                    || B.isAir(vx > 0 ? snapshots[0].getBlockData(vx - 1, y, vz) : snapshots[1].getBlockData(15, y, vz))
+                    || B.isAir(vx < 15 ? snapshots[0].getBlockData(vx + 1, y, vz) : snapshots[2].getBlockData(0, y, vz))
+                    || B.isAir(vz < 15 ? snapshots[0].getBlockData(vx, y, vz + 1) : snapshots[4].getBlockData(vx, y, 0))
+                    || B.isAir(vz > 0 ? snapshots[0].getBlockData(vx, y, vz - 1) : snapshots[3].getBlockData(vx, y, 15));
 
-                            return y;
-                        });
+            if (u) {
+                updates.compute(Cache.key(vx, vz), (k, vv) -> {
+                    if (vv != null) {
+                        return Math.max(vv, y);
                     }
-                });
 
-                updates.forEach((k, v) -> update(Cache.keyX(k), v, Cache.keyZ(k), c, r));
-                getMantle().getMantle().iterateChunk(c.getX(), c.getZ(), MatterUpdate.class, (x, yf, z, v) -> {
-                    int y = yf + getWorld().minHeight();
-                    if (v != null && v.isUpdate()) {
-                        int vx = x & 15;
-                        int vz = z & 15;
-                        update(x, y, z, c, new RNG(Cache.key(c.getX(), c.getZ())));
-                        if (vx > 0 && vx < 15 && vz > 0 && vz < 15) {
-                            updateLighting(x, y, z, c);
-                        }
+                    return y;
+                });
+            }
+        });
+
+        updates.forEach((k, v) -> mutations.add(() -> update(Cache.keyX(k), v, Cache.keyZ(k), c, r)));
+        getMantle().getMantle().iterateChunkInt(c.getX(), c.getZ(), MatterUpdate.class, (x, yf, z, v) -> {
+            int y = yf + minHeight;
+            if (v != null && v.isUpdate()) {
+                int vx = x & 15;
+                int vz = z & 15;
+                mutations.add(() -> {
+                    update(x, y, z, c, new RNG(Cache.key(c.getX(), c.getZ())));
+                    if (vx > 0 && vx < 15 && vz > 0 && vz < 15) {
+                        updateLighting(x, y, z, c);
                     }
                 });
-                getMantle().getMantle().deleteChunkSlice(c.getX(), c.getZ(), MatterUpdate.class);
-                getMetrics().getUpdates().put(p.getMilliseconds());
-            }, RNG.r.i(0, 20)));
-        }
+            }
+        });
+        getMetrics().getUpdates().put(p.getMilliseconds());
+        return mutations;
     }
 
     @BlockCoordinates
@@ -538,7 +605,7 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
 
     @Deprecated
     default void clean() {
-        burst().lazy(() -> getMantle().trim(10));
+        burst().lazy(() -> getMantle().trim(IrisEngineSVC.getMantleMemoryBudget()));
     }
 
     @BlockCoordinates
@@ -22,6 +22,9 @@ import com.volmit.iris.Iris;
 import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.engine.IrisComplex;
 import com.volmit.iris.engine.object.IrisDimension;
+import com.volmit.iris.util.documentation.BlockCoordinates;
+import com.volmit.iris.util.math.PositionalRNG;
+import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.math.RollingSequence;
 import com.volmit.iris.util.parallel.MultiBurst;
 import org.bukkit.event.Listener;
@@ -71,4 +74,22 @@ public interface EngineComponent {
     default IrisComplex getComplex() {
         return getEngine().getComplex();
     }
+
+    /**
+     * Get the rng this component should use for a chunk. Seeded from the stage seed and the chunk
+     * position unless the world still uses the legacy shared rng, in which case that is returned.
+     *
+     * @param shared the stage rng, its seed keys the chunk rng
+     * @param x      the chunk x in blocks
+     * @param z      the chunk z in blocks
+     * @return the rng for this chunk
+     */
+    @BlockCoordinates
+    default RNG chunkRNG(RNG shared, int x, int z) {
+        if (getEngine().getEngineData().isLegacyRandom()) {
+            return shared;
+        }
+
+        return PositionalRNG.of(shared.getSeed(), x >> 4, z >> 4);
+    }
 }
@@ -30,6 +30,7 @@ public class EngineMetrics {
     private final AtomicRollingSequence biome;
     private final AtomicRollingSequence parallax;
     private final AtomicRollingSequence parallaxInsert;
+    private final AtomicRollingSequence parallaxContention;
     private final AtomicRollingSequence post;
     private final AtomicRollingSequence perfection;
     private final AtomicRollingSequence api;
@@ -46,6 +47,7 @@ public class EngineMetrics {
         this.perfection = new AtomicRollingSequence(mem);
         this.parallax = new AtomicRollingSequence(mem);
         this.parallaxInsert = new AtomicRollingSequence(mem);
+        this.parallaxContention = new AtomicRollingSequence(mem);
         this.post = new AtomicRollingSequence(mem);
         this.decoration = new AtomicRollingSequence(mem);
         this.updates = new AtomicRollingSequence(mem);
@@ -61,6 +63,7 @@ public class EngineMetrics {
         v.put("biome", biome.getAverage());
         v.put("parallax", parallax.getAverage());
         v.put("parallax.insert", parallaxInsert.getAverage());
+        v.put("parallax.contention", parallaxContention.getAverage());
         v.put("post", post.getAverage());
         v.put("perfection", perfection.getAverage());
         v.put("decoration", decoration.getAverage());
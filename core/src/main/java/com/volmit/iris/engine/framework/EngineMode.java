@@ -70,10 +70,14 @@ public interface EngineMode extends Staged {
     @BlockCoordinates
     default void generate(int x, int z, Hunk<BlockData> blocks, Hunk<Biome> biomes, boolean multicore) {
         ChunkContext ctx = new ChunkContext(x, z, getComplex());
-        IrisContext.getOr(getEngine()).setChunkContext(ctx);
+        IrisContext context = new IrisContext(getEngine());
+        context.setChunkContext(ctx);
+        Hunk<BlockData> tracked = ctx.trackHeights(blocks);
 
-        for (EngineStage i : getStages()) {
-            i.generate(x, z, blocks, biomes, multicore, ctx);
+        try (IrisContext.Scope ignored = context.enter()) {
+            for (EngineStage i : getStages()) {
+                i.generate(x, z, tracked, biomes, multicore, ctx);
+            }
         }
     }
 }
@@ -95,7 +95,7 @@ public interface Locator<T> {
         return (e, c) -> {
             AtomicBoolean found = new AtomicBoolean(false);
             e.generateMatter(c.getX(), c.getZ(), true, new ChunkContext(c.getX() << 4, c.getZ() << 4, e.getComplex(), false));
-            e.getMantle().getMantle().iterateChunk(c.getX(), c.getZ(), MatterCavern.class, (x, y, z, t) -> {
+            e.getMantle().getMantle().iterateChunkInt(c.getX(), c.getZ(), MatterCavern.class, (x, y, z, t) -> {
                 if (found.get()) {
                     return;
                 }
@@ -21,6 +21,7 @@ package com.volmit.iris.engine.mantle;
 import com.volmit.iris.core.IrisSettings;
 import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.engine.IrisComplex;
+import com.volmit.iris.engine.data.cache.Cache;
 import com.volmit.iris.engine.framework.Engine;
 import com.volmit.iris.engine.framework.EngineTarget;
 import com.volmit.iris.engine.framework.SeedManager;
@@ -40,10 +41,12 @@ import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleChunk;
 import com.volmit.iris.util.mantle.MantleFlag;
+import com.volmit.iris.util.mantle.RetainedChunk;
 import com.volmit.iris.util.matter.*;
 import com.volmit.iris.util.matter.slices.UpdateMatter;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.parallel.MultiBurst;
+import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import org.bukkit.block.TileState;
 import org.bukkit.block.data.BlockData;
 
@@ -70,7 +73,7 @@ public interface EngineMantle extends IObjectPlacer {
     @ChunkCoordinates
     default KList<IrisPosition> findMarkers(int x, int z, MatterMarker marker) {
         KList<IrisPosition> p = new KList<>();
-        getMantle().iterateChunk(x, z, MatterMarker.class, (xx, yy, zz, mm) -> {
+        getMantle().iterateChunkInt(x, z, MatterMarker.class, (xx, yy, zz, mm) -> {
             if (marker.equals(mm)) {
                 p.add(new IrisPosition(xx + (x << 4), yy, zz + (z << 4)));
             }
@@ -144,8 +147,8 @@ public interface EngineMantle extends IObjectPlacer {
         return getEngine().getDimension().isDebugSmartBore();
     }
 
-    default void trim(long dur, int limit) {
-        getMantle().trim(dur, limit);
+    default void trim(long dur, long memoryBudget) {
+        getMantle().trim(dur, memoryBudget);
     }
 
     default IrisData getData() {
@@ -176,11 +179,14 @@ public interface EngineMantle extends IObjectPlacer {
 
     }
 
-    default void trim(int limit) {
-        getMantle().trim(TimeUnit.SECONDS.toMillis(IrisSettings.get().getPerformance().getMantleKeepAlive()), limit);
+    default void trim(long memoryBudget) {
+        getMantle().trim(TimeUnit.SECONDS.toMillis(IrisSettings.get().getPerformance().getMantleKeepAlive()), memoryBudget);
     }
-    default int unloadTectonicPlate(int tectonicLimit){
-        return getMantle().unloadTectonicPlate(tectonicLimit);
+    /**
+     * @see Mantle#unloadTectonicPlate(int)
+     */
+    default int unloadTectonicPlate(int parallelThreshold){
+        return getMantle().unloadTectonicPlate(parallelThreshold);
     }
 
     default MultiBurst burst() {
@@ -194,35 +200,69 @@ public interface EngineMantle extends IObjectPlacer {
 
     @ChunkCoordinates
     default void generateMatter(int x, int z, boolean multicore, ChunkContext context) {
-        synchronized (this) {
-            if (!getEngine().getDimension().isUseMantle()) {
-                return;
-            }
+        if (!getEngine().getDimension().isUseMantle()) {
+            return;
+        }
 
-            int s = getRealRadius();
-            BurstExecutor burst = burst().burst(multicore);
-            MantleWriter writer = getMantle().write(this, x, z, s * 2);
+        int s = getRealRadius();
+        BurstExecutor burst = burst().burst(multicore);
+        KList<MantleChunk> claimed = new KList<>();
+
+        // The writer keeps every plate in its radius retained, including the chunks planned and awaited here
+        try (MantleWriter writer = getMantle().write(this, x, z, s * 2)) {
             for (int i = -s; i <= s; i++) {
                 for (int j = -s; j <= s; j++) {
                     int xx = i + x;
                     int zz = j + z;
                     burst.queue(() -> {
-                        IrisContext.touch(getEngine().getContext());
-                        getMantle().raiseFlag(xx, zz, MantleFlag.PLANNED, () -> {
-                            MantleChunk mc = getMantle().getChunk(xx, zz);
+                        MantleChunk mc = writer.getCachedChunks().get(Cache.key(xx, zz));
+
+                        if (!mc.claim(MantleFlag.PLANNED)) {
+                            if (mc.isClaimed(MantleFlag.PLANNED)) {
+                                synchronized (claimed) {
+                                    claimed.add(mc);
+                                }
+                            }
+
+                            return;
+                        }
 
+                        try (IrisContext.Scope ignored = getEngine().getContext().enter()) {
                             for (MantleComponent k : getComponents()) {
                                 generateMantleComponent(writer, xx, zz, k, mc, context);
                             }
-                        });
+                        } finally {
+                            mc.release(MantleFlag.PLANNED);
+                        }
                     });
                 }
             }
 
             burst.complete();
+            awaitPlanned(claimed);
         }
     }
 
+    /**
+     * Wait for chunks which are being planned by other generateMatter calls to finish.
+     * The time spent waiting is tracked as parallax contention in the engine metrics,
+     * uncontended calls are not recorded so the average only reflects actual waits
+     *
+     * @param claimed the chunks which were claimed by another planner
+     */
+    default void awaitPlanned(KList<MantleChunk> claimed) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        PrecisionStopwatch p = PrecisionStopwatch.start();
+        for (MantleChunk mc : claimed) {
+            mc.await(MantleFlag.PLANNED);
+        }
+
+        getEngine().getMetrics().getParallaxContention().put(p.getMilliseconds());
+    }
+
     default void generateMantleComponent(MantleWriter writer, int x, int z, MantleComponent c, MantleChunk mc, ChunkContext context) {
         mc.raiseFlag(c.getFlag(), () -> c.generateLayer(writer, x, z, context));
     }
@@ -233,7 +273,7 @@ public interface EngineMantle extends IObjectPlacer {
             return;
         }
 
-        getMantle().iterateChunk(x, z, t, blocks::set);
+        getMantle().iterateChunkInt(x, z, t, blocks::set);
     }
 
     @BlockCoordinates
@@ -243,10 +283,12 @@ public interface EngineMantle extends IObjectPlacer {
 
     @BlockCoordinates
     default void dropCavernBlock(int x, int y, int z) {
-        Matter matter = getMantle().getChunk(x & 15, z & 15).get(y & 15);
+        try (RetainedChunk chunk = getMantle().useChunk(x & 15, z & 15)) {
+            Matter matter = chunk.getChunk().get(y & 15);
 
-        if (matter != null) {
-            matter.slice(MatterCavern.class).set(x & 15, y & 15, z & 15, null);
+            if (matter != null) {
+                matter.slice(MatterCavern.class).set(x & 15, y & 15, z & 15, null);
+            }
         }
     }
 
@@ -27,11 +27,12 @@ import com.volmit.iris.engine.object.IObjectPlacer;
 import com.volmit.iris.engine.object.IrisGeneratorStyle;
 import com.volmit.iris.engine.object.IrisPosition;
 import com.volmit.iris.engine.object.TileData;
+import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.collection.KMap;
-import com.volmit.iris.util.collection.KSet;
 import com.volmit.iris.util.function.Function3;
 import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleChunk;
+import com.volmit.iris.util.mantle.RetainedChunk;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.Matter;
 import lombok.Data;
@@ -39,15 +40,16 @@ import org.bukkit.block.TileState;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.util.Vector;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.LongFunction;
 
 @Data
-public class MantleWriter implements IObjectPlacer {
+public class MantleWriter implements IObjectPlacer, AutoCloseable {
     private final EngineMantle engineMantle;
     private final Mantle mantle;
     private final KMap<Long, MantleChunk> cachedChunks;
+    private final KList<RetainedChunk> retained;
     private final int radius;
     private final int x;
     private final int z;
@@ -56,63 +58,36 @@ public class MantleWriter implements IObjectPlacer {
         this.engineMantle = engineMantle;
         this.mantle = mantle;
         this.cachedChunks = new KMap<>();
+        this.retained = new KList<>();
         this.radius = radius;
         this.x = x;
         this.z = z;
 
-        for (int i = -radius; i <= radius; i++) {
-            for (int j = -radius; j <= radius; j++) {
-                cachedChunks.put(Cache.key(i + x, j + z), mantle.getChunk(i + x, j + z));
-            }
-        }
-    }
-
-    private static Set<IrisPosition> getBallooned(Set<IrisPosition> vset, double radius) {
-        Set<IrisPosition> returnset = new HashSet<>();
-        int ceilrad = (int) Math.ceil(radius);
-
-        for (IrisPosition v : vset) {
-            int tipx = v.getX();
-            int tipy = v.getY();
-            int tipz = v.getZ();
-
-            for (int loopx = tipx - ceilrad; loopx <= tipx + ceilrad; loopx++) {
-                for (int loopy = tipy - ceilrad; loopy <= tipy + ceilrad; loopy++) {
-                    for (int loopz = tipz - ceilrad; loopz <= tipz + ceilrad; loopz++) {
-                        if (hypot(loopx - tipx, loopy - tipy, loopz - tipz) <= radius) {
-                            returnset.add(new IrisPosition(loopx, loopy, loopz));
-                        }
-                    }
+        try {
+            for (int i = -radius; i <= radius; i++) {
+                for (int j = -radius; j <= radius; j++) {
+                    RetainedChunk chunk = mantle.useChunk(i + x, j + z);
+                    retained.add(chunk);
+                    cachedChunks.put(Cache.key(i + x, j + z), chunk.getChunk());
                 }
             }
+        } catch (Throwable e) {
+            close();
+            throw e;
         }
-        return returnset;
-    }
-
-    private static Set<IrisPosition> getHollowed(Set<IrisPosition> vset) {
-        Set<IrisPosition> returnset = new KSet<>();
-        for (IrisPosition v : vset) {
-            double x = v.getX();
-            double y = v.getY();
-            double z = v.getZ();
-            if (!(vset.contains(new IrisPosition(x + 1, y, z))
-                    && vset.contains(new IrisPosition(x - 1, y, z))
-                    && vset.contains(new IrisPosition(x, y + 1, z))
-                    && vset.contains(new IrisPosition(x, y - 1, z))
-                    && vset.contains(new IrisPosition(x, y, z + 1))
-                    && vset.contains(new IrisPosition(x, y, z - 1)))) {
-                returnset.add(v);
-            }
-        }
-        return returnset;
     }
 
-    private static double hypot(double... pars) {
-        double sum = 0;
-        for (double d : pars) {
-            sum += Math.pow(d, 2);
+    /**
+     * Lets go of the plates this writer retained. The writer must not be used afterwards
+     */
+    @Override
+    public void close() {
+        for (RetainedChunk i : retained) {
+            i.close();
         }
-        return Math.sqrt(sum);
+
+        retained.clear();
+        cachedChunks.clear();
     }
 
     private static double lengthSq(double x, double y, double z) {
@@ -155,6 +130,136 @@ public class MantleWriter implements IObjectPlacer {
         }
     }
 
+    /**
+     * Set a vertical run of data in the mantle. The run is clipped to the world and writes one
+     * region per section instead of resolving the chunk and slice for every block
+     *
+     * @param x   the x
+     * @param y1  the inclusive bottom y
+     * @param y2  the inclusive top y
+     * @param z   the z
+     * @param t   the data to set
+     * @param <T> the type of data to apply to the mantle
+     */
+    public <T> void setSpan(int x, int y1, int y2, int z, T t) {
+        MantleChunk chunk = chunkAt(x, z);
+
+        if (chunk != null) {
+            setSpan(chunk, x, y1, y2, z, t);
+        }
+    }
+
+    /**
+     * Same as {@link #setSpan(int, int, int, int, Object)} but asks the function for the data of every
+     * block and writes each run of the same value in one go
+     */
+    public <T> void setSpanFunction(int x, int y1, int y2, int z, Function3<Integer, Integer, Integer, T> data) {
+        MantleChunk chunk = chunkAt(x, z);
+
+        if (chunk == null) {
+            return;
+        }
+
+        y1 = Math.max(y1, 0);
+        y2 = Math.min(y2, mantle.getWorldHeight() - 1);
+        int start = y1;
+        T run = null;
+
+        for (int y = y1; y <= y2 + 1; y++) {
+            T t = y <= y2 ? data.apply(x, y, z) : null;
+
+            if (t != run) {
+                if (run != null) {
+                    setSpan(chunk, x, start, y - 1, z, run);
+                }
+
+                run = t;
+                start = y;
+            }
+        }
+    }
+
+    private <T> void setSpan(MantleChunk chunk, int x, int y1, int y2, int z, T t) {
+        if (t == null) {
+            return;
+        }
+
+        y1 = Math.max(y1, 0);
+        y2 = Math.min(y2, mantle.getWorldHeight() - 1);
+        int rx = x & 15;
+        int rz = z & 15;
+
+        for (int section = y1 >> 4; section <= y2 >> 4; section++) {
+            Matter matter = chunk.getOrCreate(section);
+            int from = Math.max(y1, section << 4) & 15;
+            int to = Math.min(y2, (section << 4) + 15) & 15;
+            matter.slice(matter.getClass(t)).fillColumnSpan(rx, from, to, rz, t);
+        }
+    }
+
+    /**
+     * Fill a box of data in the mantle. The box is clipped to the writer and the world, then written
+     * as one fill per section it touches
+     *
+     * @param x1  the min x
+     * @param y1  the min y
+     * @param z1  the min z
+     * @param x2  the max x
+     * @param y2  the max y
+     * @param z2  the max z
+     * @param t   the data to set
+     * @param <T> the type of data to apply to the mantle
+     */
+    public <T> void setBox(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        if (t == null) {
+            return;
+        }
+
+        x1 = Math.max(x1, (this.x - radius) << 4);
+        z1 = Math.max(z1, (this.z - radius) << 4);
+        x2 = Math.min(x2, ((this.x + radius) << 4) + 15);
+        z2 = Math.min(z2, ((this.z + radius) << 4) + 15);
+        y1 = Math.max(y1, 0);
+        y2 = Math.min(y2, mantle.getWorldHeight() - 1);
+
+        if (x1 > x2 || y1 > y2 || z1 > z2) {
+            return;
+        }
+
+        for (int cx = x1 >> 4; cx <= x2 >> 4; cx++) {
+            for (int cz = z1 >> 4; cz <= z2 >> 4; cz++) {
+                MantleChunk chunk = cachedChunks.get(Cache.key(cx, cz));
+
+                if (chunk == null) {
+                    continue;
+                }
+
+                int fx = Math.max(x1, cx << 4) & 15;
+                int tx = Math.min(x2, (cx << 4) + 15) & 15;
+                int fz = Math.max(z1, cz << 4) & 15;
+                int tz = Math.min(z2, (cz << 4) + 15) & 15;
+
+                for (int section = y1 >> 4; section <= y2 >> 4; section++) {
+                    Matter matter = chunk.getOrCreate(section);
+                    int fy = Math.max(y1, section << 4) & 15;
+                    int ty = Math.min(y2, (section << 4) + 15) & 15;
+                    matter.slice(matter.getClass(t)).fillBox(fx, fy, fz, tx, ty, tz, t);
+                }
+            }
+        }
+    }
+
+    private MantleChunk chunkAt(int x, int z) {
+        int cx = x >> 4;
+        int cz = z >> 4;
+
+        if (cx < this.x - radius || cx > this.x + radius || cz < this.z - radius || cz > this.z + radius) {
+            return null;
+        }
+
+        return cachedChunks.get(Cache.key(cx, cz));
+    }
+
     @Override
     public int getHighest(int x, int z, IrisData data) {
         return engineMantle.getHighest(x, z, data);
@@ -170,6 +275,16 @@ public class MantleWriter implements IObjectPlacer {
         setData(x, y, z, d);
     }
 
+    @Override
+    public void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, BlockData d) {
+        setBox(x1, y1, z1, x2, y2, z2, d);
+    }
+
+    @Override
+    public void fillColumnSpan(int x, int y1, int y2, int z, BlockData d) {
+        setSpan(x, y1, y2, z, d);
+    }
+
     @Override
     public BlockData get(int x, int y, int z) {
         return getEngineMantle().get(x, y, z);
@@ -231,7 +346,7 @@ public class MantleWriter implements IObjectPlacer {
     }
 
     public <T> void setElipsoid(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill, T data) {
-        setElipsoidFunction(cx, cy, cz, rx, ry, rz, fill, (a, b, c) -> data);
+        rasterElipsoid(cx, cy, cz, rx, ry, rz, fill, (x, y1, y2, z) -> setSpan(x, y1, y2, z, data));
     }
 
     public <T> void setElipsoidWarped(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill, T data, RNG rng, IrisData idata, IrisGeneratorStyle style) {
@@ -252,6 +367,14 @@ public class MantleWriter implements IObjectPlacer {
      * @param <T>  the type of data to apply to the mantle
      */
     public <T> void setElipsoidFunction(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill, Function3<Integer, Integer, Integer, T> data) {
+        rasterElipsoid(cx, cy, cz, rx, ry, rz, fill, (x, y1, y2, z) -> setSpanFunction(x, y1, y2, z, data));
+    }
+
+    /**
+     * Walks the columns of an elipsoid and hands each covered vertical run to the span.
+     * Covers the same blocks as walking the octant block by block, just a column at a time.
+     */
+    static void rasterElipsoid(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill, Span span) {
         rx += 0.5;
         ry += 0.5;
         rz += 0.5;
@@ -261,53 +384,70 @@ public class MantleWriter implements IObjectPlacer {
         final int ceilRadiusX = (int) Math.ceil(rx);
         final int ceilRadiusY = (int) Math.ceil(ry);
         final int ceilRadiusZ = (int) Math.ceil(rz);
-        double nextXn = 0;
+        final int stride = ceilRadiusZ + 2;
+        int[] tops = new int[(ceilRadiusX + 2) * stride];
 
-        forX:
-        for (int x = 0; x <= ceilRadiusX; ++x) {
-            final double xn = nextXn;
-            nextXn = (x + 1) * invRadiusX;
-            double nextYn = 0;
-            forY:
-            for (int y = 0; y <= ceilRadiusY; ++y) {
-                final double yn = nextYn;
-                nextYn = (y + 1) * invRadiusY;
-                double nextZn = 0;
-                for (int z = 0; z <= ceilRadiusZ; ++z) {
-                    final double zn = nextZn;
-                    nextZn = (z + 1) * invRadiusZ;
+        for (int x = 0; x <= ceilRadiusX + 1; x++) {
+            for (int z = 0; z <= ceilRadiusZ + 1; z++) {
+                tops[(x * stride) + z] = elipsoidTop(x * invRadiusX, z * invRadiusZ, invRadiusY, ry, ceilRadiusY);
+            }
+        }
 
-                    double distanceSq = lengthSq(xn, yn, zn);
-                    if (distanceSq > 1) {
-                        if (z == 0) {
-                            if (y == 0) {
-                                break forX;
-                            }
-                            break forY;
-                        }
-                        break;
-                    }
+        for (int x = 0; x <= ceilRadiusX; x++) {
+            for (int z = 0; z <= ceilRadiusZ; z++) {
+                int top = tops[(x * stride) + z];
 
-                    if (!fill) {
-                        if (lengthSq(nextXn, yn, zn) <= 1 && lengthSq(xn, nextYn, zn) <= 1 && lengthSq(xn, yn, nextZn) <= 1) {
-                            continue;
+                if (top < 0) {
+                    continue;
+                }
+
+                int bottom = 0;
+
+                if (!fill) {
+                    // A block is inside the shell when its +x, +y and +z neighbors are all covered
+                    bottom = Math.min(Math.min(tops[((x + 1) * stride) + z], tops[(x * stride) + z + 1]) + 1, top);
+                }
+
+                for (int sx = x == 0 ? 1 : -1; sx <= 1; sx += 2) {
+                    for (int sz = z == 0 ? 1 : -1; sz <= 1; sz += 2) {
+                        int xx = cx + (sx * x);
+                        int zz = cz + (sz * z);
+
+                        if (bottom == 0) {
+                            span.set(xx, cy - top, cy + top, zz);
+                        } else {
+                            span.set(xx, cy + bottom, cy + top, zz);
+                            span.set(xx, cy - top, cy - bottom, zz);
                         }
                     }
-
-                    setData(x + cx, y + cy, z + cz, data.apply(x + cx, y + cy, z + cz));
-                    setData(-x + cx, y + cy, z + cz, data.apply(-x + cx, y + cy, z + cz));
-                    setData(x + cx, -y + cy, z + cz, data.apply(x + cx, -y + cy, z + cz));
-                    setData(x + cx, y + cy, -z + cz, data.apply(x + cx, y + cy, -z + cz));
-                    setData(-x + cx, y + cy, -z + cz, data.apply(-x + cx, y + cy, -z + cz));
-                    setData(-x + cx, -y + cy, z + cz, data.apply(-x + cx, -y + cy, z + cz));
-                    setData(x + cx, -y + cy, -z + cz, data.apply(x + cx, -y + cy, -z + cz));
-                    setData(-x + cx, y + cy, -z + cz, data.apply(-x + cx, y + cy, -z + cz));
-                    setData(-x + cx, -y + cy, -z + cz, data.apply(-x + cx, -y + cy, -z + cz));
                 }
             }
         }
     }
 
+    /**
+     * @return the highest y offset inside the unit elipsoid for the given normalized column or -1 if the column misses it
+     */
+    private static int elipsoidTop(double xn, double zn, double invRadiusY, double ry, int ceilRadiusY) {
+        double base = lengthSq(xn, zn);
+
+        if (base > 1) {
+            return -1;
+        }
+
+        int y = Math.min((int) (Math.sqrt(1 - base) * ry), ceilRadiusY);
+
+        while (y < ceilRadiusY && lengthSq(xn, (y + 1) * invRadiusY, zn) <= 1) {
+            y++;
+        }
+
+        while (y >= 0 && lengthSq(xn, y * invRadiusY, zn) > 1) {
+            y--;
+        }
+
+        return y;
+    }
+
     public <T> void setElipsoidFunctionWarped(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill, Function3<Integer, Integer, Integer, T> data, RNG rng, IrisData idata, IrisGeneratorStyle style) {
         rx += 0.5;
         ry += 0.5;
@@ -378,15 +518,7 @@ public class MantleWriter implements IObjectPlacer {
      * @param <T>  the type of data to apply to the mantle
      */
     public <T> void setCuboid(int x1, int y1, int z1, int x2, int y2, int z2, T data) {
-        int j, k;
-
-        for (int i = x1; i <= x2; i++) {
-            for (j = x1; j <= x2; j++) {
-                for (k = x1; k <= x2; k++) {
-                    setData(i, j, k, data);
-                }
-            }
-        }
+        setBox(Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2), Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2), data);
     }
 
     /**
@@ -406,16 +538,22 @@ public class MantleWriter implements IObjectPlacer {
 
         for (int y = 0; y <= height; ++y) {
             size--;
-            for (int x = 0; x <= size; ++x) {
-                for (int z = 0; z <= size; ++z) {
-                    if ((filled && z <= size && x <= size) || z == size || x == size) {
-                        setData(x + cx, y + cy, z + cz, data);
-                        setData(-x + cx, y + cy, z + cz, data);
-                        setData(x + cx, y + cy, -z + cz, data);
-                        setData(-x + cx, y + cy, -z + cz, data);
-                    }
-                }
+
+            if (size < 0) {
+                break;
+            }
+
+            int yy = y + cy;
+
+            if (filled) {
+                setBox(cx - size, yy, cz - size, cx + size, yy, cz + size, data);
+                continue;
             }
+
+            setBox(cx - size, yy, cz - size, cx + size, yy, cz - size, data);
+            setBox(cx - size, yy, cz + size, cx + size, yy, cz + size, data);
+            setBox(cx - size, yy, cz - size, cx - size, yy, cz + size, data);
+            setBox(cx + size, yy, cz - size, cx + size, yy, cz + size, data);
         }
     }
 
@@ -447,64 +585,165 @@ public class MantleWriter implements IObjectPlacer {
      * @param <T>     the type of data to apply to the mantle
      */
     public <T> void setLineConsumer(List<IrisPosition> vectors, double radius, boolean filled, Function3<Integer, Integer, Integer, T> data) {
-        Set<IrisPosition> vset = new KSet<>();
-
-        for (int i = 0; vectors.size() != 0 && i < vectors.size() - 1; i++) {
-            IrisPosition pos1 = vectors.get(i);
-            IrisPosition pos2 = vectors.get(i + 1);
-            int x1 = pos1.getX();
-            int y1 = pos1.getY();
-            int z1 = pos1.getZ();
-            int x2 = pos2.getX();
-            int y2 = pos2.getY();
-            int z2 = pos2.getZ();
-            int tipx = x1;
-            int tipy = y1;
-            int tipz = z1;
-            int dx = Math.abs(x2 - x1);
-            int dy = Math.abs(y2 - y1);
-            int dz = Math.abs(z2 - z1);
-
-            if (dx + dy + dz == 0) {
-                vset.add(new IrisPosition(tipx, tipy, tipz));
-                continue;
-            }
+        MantleWriter.<MantleChunk, T>rasterLines(vectors, radius, filled, (this.x - this.radius) << 4, (this.z - this.radius) << 4,
+                ((this.x + this.radius) << 4) + 15, ((this.z + this.radius) << 4) + 15, mantle.getWorldHeight(), data, cachedChunks::get, this::setSpan);
+    }
 
-            int dMax = Math.max(Math.max(dx, dy), dz);
-            if (dMax == dx) {
-                for (int domstep = 0; domstep <= dx; domstep++) {
-                    tipx = x1 + domstep * (x2 - x1 > 0 ? 1 : -1);
-                    tipy = (int) Math.round(y1 + domstep * ((double) dy) / ((double) dx) * (y2 - y1 > 0 ? 1 : -1));
-                    tipz = (int) Math.round(z1 + domstep * ((double) dz) / ((double) dx) * (z2 - z1 > 0 ? 1 : -1));
+    /**
+     * Rasterize lines through points as per column spans, clipped to the given block bounds and the world height.
+     * Each segment is a capsule, hollow lines only keep the blocks which have a neighbor outside all capsules.
+     *
+     * @param vectors the points, less than two draw nothing
+     * @param radius  the radius
+     * @param filled  hollow or filled?
+     * @param minX    the min block x
+     * @param minZ    the min block z
+     * @param maxX    the max block x
+     * @param maxZ    the max block z
+     * @param height  the world height
+     * @param data    the data to set
+     * @param chunks  looks up a chunk by its {@link Cache#key(int, int)}, chunks which are null get skipped
+     * @param span    receives every run of the same data along with the chunk it lies in
+     */
+    static <C, T> void rasterLines(List<IrisPosition> vectors, double radius, boolean filled, int minX, int minZ, int maxX, int maxZ, int height,
+                                   Function3<Integer, Integer, Integer, T> data, LongFunction<C> chunks, ChunkSpan<C, T> span) {
+        // A single point has no segment, it never drew anything
+        if (vectors.size() < 2) {
+            return;
+        }
 
-                    vset.add(new IrisPosition(tipx, tipy, tipz));
+        // Every segment is a capsule, each column only tests the capsules whose bounds it touches
+        int n = vectors.size() - 1;
+        int r = (int) Math.ceil(radius);
+        double r2 = radius * radius;
+        double[] segments = new double[n * 7];
+        int[] bounds = new int[n * 6];
+        int lineMinX = Integer.MAX_VALUE, lineMinZ = Integer.MAX_VALUE, lineMaxX = Integer.MIN_VALUE, lineMaxZ = Integer.MIN_VALUE;
+
+        for (int i = 0; i < n; i++) {
+            IrisPosition a = vectors.get(i);
+            IrisPosition b = vectors.get(i + 1);
+            int dx = b.getX() - a.getX();
+            int dy = b.getY() - a.getY();
+            int dz = b.getZ() - a.getZ();
+            int length = (dx * dx) + (dy * dy) + (dz * dz);
+            int s = i * 7;
+            segments[s] = a.getX();
+            segments[s + 1] = a.getY();
+            segments[s + 2] = a.getZ();
+            segments[s + 3] = dx;
+            segments[s + 4] = dy;
+            segments[s + 5] = dz;
+            segments[s + 6] = length == 0 ? 0 : 1D / length;
+            int o = i * 6;
+            bounds[o] = Math.min(a.getX(), b.getX()) - r;
+            bounds[o + 1] = Math.min(a.getY(), b.getY()) - r;
+            bounds[o + 2] = Math.min(a.getZ(), b.getZ()) - r;
+            bounds[o + 3] = Math.max(a.getX(), b.getX()) + r;
+            bounds[o + 4] = Math.max(a.getY(), b.getY()) + r;
+            bounds[o + 5] = Math.max(a.getZ(), b.getZ()) + r;
+            lineMinX = Math.min(lineMinX, bounds[o]);
+            lineMinZ = Math.min(lineMinZ, bounds[o + 2]);
+            lineMaxX = Math.max(lineMaxX, bounds[o + 3]);
+            lineMaxZ = Math.max(lineMaxZ, bounds[o + 5]);
+        }
+
+        minX = Math.max(lineMinX, minX);
+        minZ = Math.max(lineMinZ, minZ);
+        maxX = Math.min(lineMaxX, maxX);
+        maxZ = Math.min(lineMaxZ, maxZ);
+        int[] chunkCandidates = new int[n];
+        int[] columnCandidates = new int[n];
+
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                C chunk = chunks.apply(Cache.key(cx, cz));
+
+                if (chunk == null) {
+                    continue;
                 }
-            } else if (dMax == dy) {
-                for (int domstep = 0; domstep <= dy; domstep++) {
-                    tipy = y1 + domstep * (y2 - y1 > 0 ? 1 : -1);
-                    tipx = (int) Math.round(x1 + domstep * ((double) dx) / ((double) dy) * (x2 - x1 > 0 ? 1 : -1));
-                    tipz = (int) Math.round(z1 + domstep * ((double) dz) / ((double) dy) * (z2 - z1 > 0 ? 1 : -1));
 
-                    vset.add(new IrisPosition(tipx, tipy, tipz));
+                int bx = cx << 4;
+                int bz = cz << 4;
+                int cn = 0;
+
+                for (int i = 0; i < n; i++) {
+                    int o = i * 6;
+
+                    // One block of margin so hollow lines can test their neighbors against this list too
+                    if (bounds[o] <= bx + 16 && bounds[o + 3] >= bx - 1 && bounds[o + 2] <= bz + 16 && bounds[o + 5] >= bz - 1) {
+                        chunkCandidates[cn++] = i;
+                    }
+                }
+
+                if (cn == 0) {
+                    continue;
                 }
-            } else /* if (dMax == dz) */ {
-                for (int domstep = 0; domstep <= dz; domstep++) {
-                    tipz = z1 + domstep * (z2 - z1 > 0 ? 1 : -1);
-                    tipy = (int) Math.round(y1 + domstep * ((double) dy) / ((double) dz) * (y2 - y1 > 0 ? 1 : -1));
-                    tipx = (int) Math.round(x1 + domstep * ((double) dx) / ((double) dz) * (x2 - x1 > 0 ? 1 : -1));
 
-                    vset.add(new IrisPosition(tipx, tipy, tipz));
+                for (int x = Math.max(bx, minX); x <= Math.min(bx + 15, maxX); x++) {
+                    for (int z = Math.max(bz, minZ); z <= Math.min(bz + 15, maxZ); z++) {
+                        int m = 0;
+                        int bottom = height;
+                        int top = -1;
+
+                        for (int k = 0; k < cn; k++) {
+                            int o = chunkCandidates[k] * 6;
+
+                            if (x >= bounds[o] && x <= bounds[o + 3] && z >= bounds[o + 2] && z <= bounds[o + 5]) {
+                                columnCandidates[m++] = chunkCandidates[k];
+                                bottom = Math.min(bottom, bounds[o + 1]);
+                                top = Math.max(top, bounds[o + 4]);
+                            }
+                        }
+
+                        bottom = Math.max(bottom, 0);
+                        top = Math.min(top, height - 1);
+                        int start = bottom;
+                        T run = null;
+
+                        for (int y = bottom; y <= top + 1; y++) {
+                            T t = null;
+
+                            if (y <= top && inCapsules(segments, columnCandidates, m, x, y, z, r2)
+                                    && (filled || !(inCapsules(segments, chunkCandidates, cn, x + 1, y, z, r2)
+                                    && inCapsules(segments, chunkCandidates, cn, x - 1, y, z, r2)
+                                    && inCapsules(segments, chunkCandidates, cn, x, y + 1, z, r2)
+                                    && inCapsules(segments, chunkCandidates, cn, x, y - 1, z, r2)
+                                    && inCapsules(segments, chunkCandidates, cn, x, y, z + 1, r2)
+                                    && inCapsules(segments, chunkCandidates, cn, x, y, z - 1, r2)))) {
+                                t = data.apply(x, y, z);
+                            }
+
+                            if (t != run) {
+                                if (run != null) {
+                                    span.set(chunk, x, start, y - 1, z, run);
+                                }
+
+                                run = t;
+                                start = y;
+                            }
+                        }
+                    }
                 }
             }
         }
+    }
 
-        vset = getBallooned(vset, radius);
+    private static boolean inCapsules(double[] segments, int[] candidates, int count, int x, int y, int z, double r2) {
+        for (int k = 0; k < count; k++) {
+            int s = candidates[k] * 7;
+            double px = x - segments[s];
+            double py = y - segments[s + 1];
+            double pz = z - segments[s + 2];
+            double t = ((px * segments[s + 3]) + (py * segments[s + 4]) + (pz * segments[s + 5])) * segments[s + 6];
+            t = t < 0 ? 0 : Math.min(t, 1);
 
-        if (!filled) {
-            vset = getHollowed(vset);
+            if (lengthSq(px - (segments[s + 3] * t), py - (segments[s + 4] * t), pz - (segments[s + 5] * t)) <= r2) {
+                return true;
+            }
         }
 
-        setConsumer(vset, data);
+        return false;
     }
 
     /**
@@ -582,12 +821,10 @@ public class MantleWriter implements IObjectPlacer {
                     }
                 }
 
-                for (int y = 0; y < height; ++y) {
-                    setData(cx + x, cy + y, cz + z, data);
-                    setData(cx + -x, cy + y, cz + z, data);
-                    setData(cx + x, cy + y, cz + -z, data);
-                    setData(cx + -x, cy + y, cz + -z, data);
-                }
+                setSpan(cx + x, cy, cy + height - 1, cz + z, data);
+                setSpan(cx + -x, cy, cy + height - 1, cz + z, data);
+                setSpan(cx + x, cy, cy + height - 1, cz + -z, data);
+                setSpan(cx + -x, cy, cy + height - 1, cz + -z, data);
             }
         }
     }
@@ -633,4 +870,12 @@ public class MantleWriter implements IObjectPlacer {
         return cx >= this.x - radius && cx <= this.x + radius
                 && cz >= this.z - radius && cz <= this.z + radius;
     }
+
+    interface Span {
+        void set(int x, int y1, int y2, int z);
+    }
+
+    interface ChunkSpan<C, T> {
+        void set(C chunk, int x, int y1, int y2, int z, T t);
+    }
 }
@@ -19,21 +19,21 @@
 package com.volmit.iris.engine.modifier;
 
 import com.volmit.iris.engine.actuator.IrisDecorantActuator;
-import com.volmit.iris.engine.data.cache.Cache;
 import com.volmit.iris.engine.framework.Engine;
 import com.volmit.iris.engine.framework.EngineAssignedModifier;
 import com.volmit.iris.engine.object.*;
 import com.volmit.iris.util.collection.KList;
-import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.data.B;
-import com.volmit.iris.util.function.Consumer4;
 import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleChunk;
+import com.volmit.iris.util.mantle.RetainedChunk;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.matter.Matter;
 import com.volmit.iris.util.matter.MatterCavern;
+import com.volmit.iris.util.matter.MatterSlice;
 import com.volmit.iris.util.matter.slices.MarkerMatter;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import lombok.Data;
@@ -41,6 +41,11 @@ import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 
 public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
+    /**
+     * Columns of the chunk plus a one block border, each column is a bitset of y
+     */
+    private static final int COLUMNS = 18 * 18;
+    private static final int[][] SOURCES = {{0, -1}, {-1, 0}, {0, 1}, {1, 0}};
     private final RNG rng;
     private final BlockData AIR = Material.CAVE_AIR.createBlockData();
     private final BlockData WATER = Material.WATER.createBlockData();
@@ -57,46 +62,56 @@ public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
     public void onModify(int x, int z, Hunk<BlockData> output, boolean multicore, ChunkContext context) {
         PrecisionStopwatch p = PrecisionStopwatch.start();
         Mantle mantle = getEngine().getMantle().getMantle();
-        MantleChunk mc = getEngine().getMantle().getMantle().getChunk(x, z);
-        KMap<Long, KList<Integer>> positions = new KMap<>();
-        KMap<IrisPosition, MatterCavern> walls = new KMap<>();
-        Consumer4<Integer, Integer, Integer, MatterCavern> iterator = (xx, yy, zz, c) -> {
-            if (c == null) {
-                return;
-            }
 
-            if (yy >= getEngine().getWorld().maxHeight() - getEngine().getWorld().minHeight() || yy <= 0) { // Yes, skip bedrock
-                return;
-            }
+        try (RetainedChunk chunk = mantle.useChunk(x, z);
+             RetainedChunk west = mantle.useChunkIfPresent(x - 1, z);
+             RetainedChunk east = mantle.useChunkIfPresent(x + 1, z);
+             RetainedChunk north = mantle.useChunkIfPresent(x, z - 1);
+             RetainedChunk south = mantle.useChunkIfPresent(x, z + 1)) {
+            carve(x, z, output, context, mantle, chunk.getChunk(), new MantleChunk[]{
+                    neighbor(west),
+                    neighbor(east),
+                    neighbor(north),
+                    neighbor(south)
+            });
+        }
 
-            int rx = xx & 15;
-            int rz = zz & 15;
+        getEngine().getMetrics().getDeposit().put(p.getMilliseconds());
+    }
 
-            BlockData current = output.get(rx, yy, rz);
+    private static MantleChunk neighbor(RetainedChunk chunk) {
+        return chunk == null ? null : chunk.getChunk();
+    }
 
-            if (B.isFluid(current)) {
+    private void carve(int x, int z, Hunk<BlockData> output, ChunkContext context, Mantle mantle, MantleChunk mc, MantleChunk[] neighbors) {
+        int height = output.getHeight();
+        int maxY = getEngine().getWorld().maxHeight() - getEngine().getWorld().minHeight();
+        int words = (height + 63) >> 6;
+        long[] caverns = new long[COLUMNS * words];
+        long[] carved = new long[COLUMNS * words];
+        RNG rng = chunkRNG(this.rng, x << 4, z << 4);
+
+        mc.iterateInt(MatterCavern.class, (xx, yy, zz, c) -> {
+            if (c == null || yy < 0 || yy >= height) {
                 return;
             }
 
-            positions.computeIfAbsent(Cache.key(rx, rz), (k) -> new KList<>()).qadd(yy);
-
-            //todo: Fix chunk decoration not working on chunk's border
+            int rx = xx & 15;
+            int rz = zz & 15;
+            int column = column(rx, rz) * words;
+            caverns[column + (yy >> 6)] |= 1L << yy;
 
-            if (rz < 15 && mantle.get(xx, yy, zz + 1, MatterCavern.class) == null) {
-                walls.put(new IrisPosition(rx, yy, rz + 1), c);
+            if (yy >= maxY || yy <= 0) { // Yes, skip bedrock
+                return;
             }
 
-            if (rx < 15 && mantle.get(xx + 1, yy, zz, MatterCavern.class) == null) {
-                walls.put(new IrisPosition(rx + 1, yy, rz), c);
-            }
+            BlockData current = output.get(rx, yy, rz);
 
-            if (rz > 0 && mantle.get(xx, yy, zz - 1, MatterCavern.class) == null) {
-                walls.put(new IrisPosition(rx, yy, rz - 1), c);
+            if (B.isFluid(current)) {
+                return;
             }
 
-            if (rx > 0 && mantle.get(xx - 1, yy, zz, MatterCavern.class) == null) {
-                walls.put(new IrisPosition(rx - 1, yy, rz), c);
-            }
+            carved[column + (yy >> 6)] |= 1L << yy;
 
             if (current.getMaterial().isAir()) {
                 return;
@@ -113,62 +128,181 @@ public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
                     output.set(rx, yy, rz, AIR);
                 }
             }
-        };
+        });
+
+        readBorder(neighbors[0], 15, -1, true, caverns, carved, words, height, maxY);
+        readBorder(neighbors[1], 0, 16, true, caverns, carved, words, height, maxY);
+        readBorder(neighbors[2], 15, -1, false, caverns, carved, words, height, maxY);
+        readBorder(neighbors[3], 0, 16, false, caverns, carved, words, height, maxY);
+
+        for (int rx = 0; rx < 16; rx++) {
+            for (int rz = 0; rz < 16; rz++) {
+                int column = column(rx, rz) * words;
 
-        mc.iterate(MatterCavern.class, iterator);
+                for (int w = 0; w < words; w++) {
+                    long wall = ~caverns[column + w] & (carved[column - words + w]
+                            | carved[column + words + w]
+                            | carved[column - (18 * words) + w]
+                            | carved[column + (18 * words) + w]);
 
-        walls.forEach((i, v) -> {
-            IrisBiome biome = v.getCustomBiome().isEmpty()
-                    ? getEngine().getCaveBiome(i.getX() + (x << 4), i.getZ() + (z << 4))
-                    : getEngine().getData().getBiomeLoader().load(v.getCustomBiome());
+                    while (wall != 0) {
+                        int y = (w << 6) + Long.numberOfTrailingZeros(wall);
+                        wall &= wall - 1;
 
-            if (biome != null) {
-                biome.setInferredType(InferredType.CAVE);
-                BlockData d = biome.getWall().get(rng, i.getX() + (x << 4), i.getY(), i.getZ() + (z << 4), getData());
+                        if (y >= height) {
+                            break;
+                        }
 
-                if (d != null && B.isSolid(output.get(i.getX(), i.getY(), i.getZ())) && i.getY() <= context.getHeight().get(i.getX(), i.getZ())) {
-                    output.set(i.getX(), i.getY(), i.getZ(), d);
+                        MatterCavern v = source(mc, neighbors, carved, words, rx, y, rz);
+
+                        if (v != null) {
+                            placeWall(output, context, v, x, z, rx, y, rz, rng);
+                        }
+                    }
                 }
             }
-        });
+        }
 
-        positions.forEach((k, v) -> {
-            if (v.isEmpty()) {
-                return;
-            }
+        for (int rx = 0; rx < 16; rx++) {
+            for (int rz = 0; rz < 16; rz++) {
+                int column = column(rx, rz) * words;
+                int floor = nextBit(carved, column, words, 0, height, true);
 
-            int rx = Cache.keyX(k);
-            int rz = Cache.keyZ(k);
-            v.sort(Integer::compare);
-            CaveZone zone = new CaveZone();
-            zone.setFloor(v.get(0));
-            int buf = v.get(0) - 1;
+                while (floor >= 0) {
+                    int end = nextBit(carved, column, words, floor, height, false);
+                    CaveZone zone = new CaveZone();
+                    zone.setFloor(floor);
+                    zone.setCeiling(end - 1);
 
-            for (Integer i : v) {
-                if (i < 0 || i > getEngine().getHeight()) {
-                    continue;
+                    if (zone.isValid(getEngine())) {
+                        processZone(output, mc, mantle, zone, rx, rz, rx + (x << 4), rz + (z << 4), rng);
+                    }
+
+                    floor = end >= height ? -1 : nextBit(carved, column, words, end, height, true);
                 }
+            }
+        }
+    }
+
+    private static int column(int rx, int rz) {
+        return ((rz + 1) * 18) + rx + 1;
+    }
+
+    /**
+     * Find the next set (or clear) bit of a column starting at from
+     *
+     * @return the y, or -1 (set) / limit (clear) if there is none
+     */
+    static int nextBit(long[] bits, int column, int words, int from, int limit, boolean set) {
+        int w = from >> 6;
+
+        if (w >= words) {
+            return set ? -1 : limit;
+        }
+
+        long word = (set ? bits[column + w] : ~bits[column + w]) & (-1L << from);
+
+        while (true) {
+            if (word != 0) {
+                int y = (w << 6) + Long.numberOfTrailingZeros(word);
+                return y < limit ? y : (set ? -1 : limit);
+            }
+
+            if (++w >= words) {
+                return set ? -1 : limit;
+            }
+
+            word = set ? bits[column + w] : ~bits[column + w];
+        }
+    }
+
+    /**
+     * Reads one edge of a neighbor chunk into the one block border around this chunk. Neighbor output isn't
+     * available so every cavern in range counts as carved there.
+     *
+     * @param chunk  the neighbor, or null if it was never generated
+     * @param edge   the edge of the neighbor touching this chunk
+     * @param border the border coordinate in this chunk's space (-1 or 16)
+     * @param alongZ true if the edge is an x edge running along z
+     */
+    private static void readBorder(MantleChunk chunk, int edge, int border, boolean alongZ, long[] caverns, long[] carved, int words, int height, int maxY) {
+        if (chunk == null) {
+            return;
+        }
+
+        for (int s = 0; s << 4 < height; s++) {
+            Matter m = chunk.get(s);
+
+            if (m == null) {
+                continue;
+            }
+
+            MatterSlice<MatterCavern> slice = m.getSlice(MatterCavern.class);
+
+            if (slice == null) {
+                continue;
+            }
 
-                if (i == buf + 1) {
-                    buf = i;
-                    zone.ceiling = buf;
-                } else if (zone.isValid(getEngine())) {
-                    processZone(output, mc, mantle, zone, rx, rz, rx + (x << 4), rz + (z << 4));
-                    zone = new CaveZone();
-                    zone.setFloor(i);
-                    buf = i;
+            for (int i = 0; i < 16; i++) {
+                for (int j = 0; j < 16; j++) {
+                    int y = (s << 4) + j;
+
+                    if (y >= height || (alongZ ? slice.get(edge, j, i) : slice.get(i, j, edge)) == null) {
+                        continue;
+                    }
+
+                    int column = (alongZ ? column(border, i) : column(i, border)) * words;
+                    caverns[column + (y >> 6)] |= 1L << y;
+
+                    if (y > 0 && y < maxY) {
+                        carved[column + (y >> 6)] |= 1L << y;
+                    }
                 }
             }
+        }
+    }
 
-            if (zone.isValid(getEngine())) {
-                processZone(output, mc, mantle, zone, rx, rz, rx + (x << 4), rz + (z << 4));
+    /**
+     * Pick the carved cavern next to a wall which decides the wall biome
+     */
+    private static MatterCavern source(MantleChunk mc, MantleChunk[] neighbors, long[] carved, int words, int rx, int y, int rz) {
+        for (int[] o : SOURCES) {
+            int sx = rx + o[0];
+            int sz = rz + o[1];
+
+            if ((carved[(column(sx, sz) * words) + (y >> 6)] & (1L << y)) == 0) {
+                continue;
             }
-        });
 
-        getEngine().getMetrics().getDeposit().put(p.getMilliseconds());
+            MantleChunk chunk = sx < 0 ? neighbors[0] : sx > 15 ? neighbors[1] : sz < 0 ? neighbors[2] : sz > 15 ? neighbors[3] : mc;
+            Matter m = chunk == null ? null : chunk.get(y >> 4);
+            MatterSlice<MatterCavern> slice = m == null ? null : m.getSlice(MatterCavern.class);
+            MatterCavern c = slice == null ? null : slice.get(sx & 15, y & 15, sz & 15);
+
+            if (c != null) {
+                return c;
+            }
+        }
+
+        return null;
+    }
+
+    private void placeWall(Hunk<BlockData> output, ChunkContext context, MatterCavern v, int x, int z, int rx, int y, int rz, RNG rng) {
+        IrisBiome biome = v.getCustomBiome().isEmpty()
+                ? getEngine().getCaveBiome(rx + (x << 4), rz + (z << 4))
+                : getEngine().getData().getBiomeLoader().load(v.getCustomBiome());
+
+        if (biome != null) {
+            biome.setInferredType(InferredType.CAVE);
+            BlockData d = biome.getWall().get(rng, rx + (x << 4), y, rz + (z << 4), getData());
+
+            if (d != null && B.isSolid(output.get(rx, y, rz)) && y <= context.getHeight().get(rx, rz)) {
+                output.set(rx, y, rz, d);
+            }
+        }
     }
 
-    private void processZone(Hunk<BlockData> output, MantleChunk mc, Mantle mantle, CaveZone zone, int rx, int rz, int xx, int zz) {
+    private void processZone(Hunk<BlockData> output, MantleChunk mc, Mantle mantle, CaveZone zone, int rx, int rz, int xx, int zz, RNG rng) {
         boolean decFloor = B.isSolid(output.getClosest(rx, zone.floor - 1, rz));
         boolean decCeiling = B.isSolid(output.getClosest(rx, zone.ceiling + 1, rz));
         int center = (zone.floor + zone.ceiling) / 2;
@@ -28,6 +28,7 @@ import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.data.B;
 import com.volmit.iris.util.data.HeightMap;
 import com.volmit.iris.util.hunk.Hunk;
+import com.volmit.iris.util.math.PositionalRNG;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
@@ -45,29 +46,32 @@ public class IrisDepositModifier extends EngineAssignedModifier<BlockData> {
     @Override
     public void onModify(int x, int z, Hunk<BlockData> output, boolean multicore, ChunkContext context) {
         PrecisionStopwatch p = PrecisionStopwatch.start();
-        generateDeposits(rng, output, Math.floorDiv(x, 16), Math.floorDiv(z, 16), multicore, context);
+        generateDeposits(chunkRNG(rng, x, z), output, Math.floorDiv(x, 16), Math.floorDiv(z, 16), multicore, context);
         getEngine().getMetrics().getDeposit().put(p.getMilliseconds());
     }
 
     public void generateDeposits(RNG rx, Hunk<BlockData> terrain, int x, int z, boolean multicore, ChunkContext context) {
-        RNG ro = rx.nextParallelRNG(x * x).nextParallelRNG(z * z);
+        RNG ro = rx instanceof PositionalRNG ? rx : rx.nextParallelRNG(x * x).nextParallelRNG(z * z);
         IrisRegion region = context.getRegion().get(7, 7);
         IrisBiome biome = context.getBiome().get(7, 7);
         BurstExecutor burst = burst().burst(multicore);
 
         for (IrisDepositGenerator k : getDimension().getDeposits()) {
-            burst.queue(() -> generate(k, terrain, ro, x, z, false, context));
+            RNG r = ro.split();
+            burst.queue(() -> generate(k, terrain, r, x, z, false, context));
         }
 
         for (IrisDepositGenerator k : region.getDeposits()) {
             for (int l = 0; l < ro.i(k.getMinPerChunk(), k.getMaxPerChunk()); l++) {
-                burst.queue(() -> generate(k, terrain, ro, x, z, false, context));
+                RNG r = ro.split();
+                burst.queue(() -> generate(k, terrain, r, x, z, false, context));
             }
         }
 
         for (IrisDepositGenerator k : biome.getDeposits()) {
             for (int l = 0; l < ro.i(k.getMinPerChunk(), k.getMaxPerChunk()); l++) {
-                burst.queue(() -> generate(k, terrain, ro, x, z, false, context));
+                RNG r = ro.split();
+                burst.queue(() -> generate(k, terrain, r, x, z, false, context));
             }
         }
         burst.complete();
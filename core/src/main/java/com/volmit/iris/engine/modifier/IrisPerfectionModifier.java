@@ -29,6 +29,7 @@ import org.bukkit.block.data.Bisected;
 import org.bukkit.block.data.BlockData;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -45,93 +46,96 @@ public class IrisPerfectionModifier extends EngineAssignedModifier<BlockData> {
     public void onModify(int x, int z, Hunk<BlockData> output, boolean multicore, ChunkContext context) {
         PrecisionStopwatch p = PrecisionStopwatch.start();
         AtomicBoolean changed = new AtomicBoolean(true);
-        int passes = 0;
         AtomicInteger changes = new AtomicInteger();
-        List<Integer> surfaces = new ArrayList<>();
-        List<Integer> ceilings = new ArrayList<>();
-        BurstExecutor burst = burst().burst(multicore);
+        boolean[] dirty = new boolean[256];
+        Arrays.fill(dirty, true);
+
+        // Removing a decorant only affects its own column, so later passes only revisit columns that changed
         while (changed.get()) {
-            passes++;
             changed.set(false);
+            BurstExecutor burst = burst().burst(multicore);
             for (int i = 0; i < 16; i++) {
                 int finalI = i;
                 burst.queue(() -> {
                     for (int j = 0; j < 16; j++) {
-                        surfaces.clear();
-                        ceilings.clear();
-                        int top = getHeight(output, finalI, j);
-                        boolean inside = true;
-                        surfaces.add(top);
-
-                        for (int k = top; k >= 0; k--) {
-                            BlockData b = output.get(finalI, k, j);
-                            boolean now = b != null && !(B.isAir(b) || B.isFluid(b));
-
-                            if (now != inside) {
-                                inside = now;
-
-                                if (inside) {
-                                    surfaces.add(k);
-                                } else {
-                                    ceilings.add(k + 1);
-                                }
-                            }
+                        int index = (j << 4) | finalI;
+
+                        if (!dirty[index]) {
+                            continue;
                         }
 
-                        for (int k : surfaces) {
-                            BlockData tip = output.get(finalI, k, j);
-
-                            if (tip == null) {
-                                continue;
-                            }
-
-                            boolean remove = false;
-                            boolean remove2 = false;
-
-                            if (B.isDecorant(tip)) {
-                                BlockData bel = output.get(finalI, k - 1, j);
-
-                                if (bel == null) {
-                                    remove = true;
-                                } else if (!B.canPlaceOnto(tip.getMaterial(), bel.getMaterial())) {
-                                    remove = true;
-                                } else if (bel instanceof Bisected) {
-                                    BlockData bb = output.get(finalI, k - 2, j);
-                                    if (bb == null || !B.canPlaceOnto(bel.getMaterial(), bb.getMaterial())) {
-                                        remove = true;
-                                        remove2 = true;
-                                    }
-                                }
-
-                                if (remove) {
-                                    changed.set(true);
-                                    changes.getAndIncrement();
-                                    output.set(finalI, k, j, AIR);
-
-                                    if (remove2) {
-                                        changes.getAndIncrement();
-                                        output.set(finalI, k - 1, j, AIR);
-                                    }
-                                }
-                            }
+                        dirty[index] = perfect(output, finalI, j, context, changes);
+
+                        if (dirty[index]) {
+                            changed.set(true);
                         }
                     }
                 });
             }
+            burst.complete();
         }
 
         getEngine().getMetrics().getPerfection().put(p.getMilliseconds());
     }
 
-    private int getHeight(Hunk<BlockData> output, int x, int z) {
-        for (int i = output.getHeight() - 1; i >= 0; i--) {
-            BlockData b = output.get(x, i, z);
+    private boolean perfect(Hunk<BlockData> output, int x, int z, ChunkContext context, AtomicInteger changes) {
+        List<Integer> surfaces = new ArrayList<>();
+        int top = Math.max(0, context.getNonFluidHeight(output, x, z));
+        boolean inside = true;
+        boolean changed = false;
+        surfaces.add(top);
 
-            if (b != null && !B.isAir(b) && !B.isFluid(b)) {
-                return i;
+        for (int k = top; k >= 0; k--) {
+            BlockData b = output.get(x, k, z);
+            boolean now = b != null && !(B.isAir(b) || B.isFluid(b));
+
+            if (now != inside) {
+                inside = now;
+
+                if (inside) {
+                    surfaces.add(k);
+                }
+            }
+        }
+
+        for (int k : surfaces) {
+            BlockData tip = output.get(x, k, z);
+
+            if (tip == null) {
+                continue;
+            }
+
+            boolean remove = false;
+            boolean remove2 = false;
+
+            if (B.isDecorant(tip)) {
+                BlockData bel = output.get(x, k - 1, z);
+
+                if (bel == null) {
+                    remove = true;
+                } else if (!B.canPlaceOnto(tip.getMaterial(), bel.getMaterial())) {
+                    remove = true;
+                } else if (bel instanceof Bisected) {
+                    BlockData bb = output.get(x, k - 2, z);
+                    if (bb == null || !B.canPlaceOnto(bel.getMaterial(), bb.getMaterial())) {
+                        remove = true;
+                        remove2 = true;
+                    }
+                }
+
+                if (remove) {
+                    changed = true;
+                    changes.getAndIncrement();
+                    output.set(x, k, z, AIR);
+
+                    if (remove2) {
+                        changes.getAndIncrement();
+                        output.set(x, k - 1, z, AIR);
+                    }
+                }
             }
         }
 
-        return 0;
+        return changed;
     }
 }
@@ -51,23 +51,35 @@ public class IrisPostModifier extends EngineAssignedModifier<BlockData> {
         AtomicInteger i = new AtomicInteger();
         AtomicInteger j = new AtomicInteger();
         Hunk<BlockData> sync = output.synchronize();
+        int stride = output.getWidth() + 2;
+        int[] heights = new int[stride * (output.getDepth() + 2)];
+        RNG rng = chunkRNG(this.rng, x, z);
+
+        // Every column looks at its four neighbors, so sample each height once with a one block border
+        for (int hx = 0; hx < stride; hx++) {
+            for (int hz = 0; hz < output.getDepth() + 2; hz++) {
+                heights[(hz * stride) + hx] = getEngine().getMantle().trueHeight(x + hx - 1, z + hz - 1);
+            }
+        }
+
         for (i.set(0); i.get() < output.getWidth(); i.getAndIncrement()) {
             for (j.set(0); j.get() < output.getDepth(); j.getAndIncrement()) {
                 int ii = i.get();
                 int jj = j.get();
-                post(ii, jj, sync, ii + x, jj + z, context);
+                post(ii, jj, sync, ii + x, jj + z, context, heights, stride, rng);
             }
         }
 
         getEngine().getMetrics().getPost().put(p.getMilliseconds());
     }
 
-    private void post(int currentPostX, int currentPostZ, Hunk<BlockData> currentData, int x, int z, ChunkContext context) {
-        int h = getEngine().getMantle().trueHeight(x, z);
-        int ha = getEngine().getMantle().trueHeight(x + 1, z);
-        int hb = getEngine().getMantle().trueHeight(x, z + 1);
-        int hc = getEngine().getMantle().trueHeight(x - 1, z);
-        int hd = getEngine().getMantle().trueHeight(x, z - 1);
+    private void post(int currentPostX, int currentPostZ, Hunk<BlockData> currentData, int x, int z, ChunkContext context, int[] heights, int stride, RNG rng) {
+        int center = ((currentPostZ + 1) * stride) + currentPostX + 1;
+        int h = heights[center];
+        int ha = heights[center + 1];
+        int hb = heights[center + stride];
+        int hc = heights[center - 1];
+        int hd = heights[center - stride];
 
         // Floating Nibs
         int g = 0;
@@ -102,10 +114,9 @@ public class IrisPostModifier extends EngineAssignedModifier<BlockData> {
         if (g >= 4) {
             BlockData bc = getPostBlock(x, h, z, currentPostX, currentPostZ, currentData);
             BlockData b = getPostBlock(x, h + 1, z, currentPostX, currentPostZ, currentData);
-            Material m = bc.getMaterial();
 
-            if ((b.getMaterial().isOccluding() && b.getMaterial().isSolid())) {
-                if (m.isSolid()) {
+            if ((B.isOccluding(b) && B.isSolid(b))) {
+                if (B.isSolid(bc)) {
                     setPostBlock(x, h, z, b, currentPostX, currentPostZ, currentData);
                     h--;
                 }
@@ -254,12 +265,12 @@ public class IrisPostModifier extends EngineAssignedModifier<BlockData> {
 
     public boolean isSolid(int x, int y, int z, int currentPostX, int currentPostZ, Hunk<BlockData> currentData) {
         BlockData d = getPostBlock(x, y, z, currentPostX, currentPostZ, currentData);
-        return d.getMaterial().isSolid() && !B.isVineBlock(d);
+        return B.isSolid(d) && !B.isVineBlock(d);
     }
 
     public boolean isSolidNonSlab(int x, int y, int z, int currentPostX, int currentPostZ, Hunk<BlockData> currentData) {
         BlockData d = getPostBlock(x, y, z, currentPostX, currentPostZ, currentData);
-        return d.getMaterial().isSolid() && !(d instanceof Slab);
+        return B.isSolid(d) && !(d instanceof Slab);
     }
 
     public boolean isAirOrWater(int x, int y, int z, int currentPostX, int currentPostZ, Hunk<BlockData> currentData) {
@@ -30,6 +30,28 @@ public interface IObjectPlacer {
 
     void set(int x, int y, int z, BlockData d);
 
+    /**
+     * Set every block of a box, placers that can write in bulk override this
+     */
+    default void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, BlockData d) {
+        for (int i = x1; i <= x2; i++) {
+            for (int j = y1; j <= y2; j++) {
+                for (int k = z1; k <= z2; k++) {
+                    set(i, j, k, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set a vertical run of blocks, placers that can write in bulk override this
+     */
+    default void fillColumnSpan(int x, int y1, int y2, int z, BlockData d) {
+        for (int j = y1; j <= y2; j++) {
+            set(x, j, z, d);
+        }
+    }
+
     BlockData get(int x, int y, int z);
 
     boolean isPreventingDecay();
@@ -65,6 +65,7 @@ public class IrisBiome extends IrisRegistrant implements IRare {
     private final transient AtomicCache<Color> cacheColorObjectDensity = new AtomicCache<>();
     private final transient AtomicCache<Color> cacheColorDecoratorLoad = new AtomicCache<>();
     private final transient AtomicCache<Color> cacheColorLayerLoad = new AtomicCache<>();
+    private final transient AtomicCache<IrisOrePlanner> orePlannerCache = new AtomicCache<>();
     private final transient AtomicCache<Color> cacheColorDepositLoad = new AtomicCache<>();
     private final transient AtomicCache<CNG> childrenCell = new AtomicCache<>();
     private final transient AtomicCache<CNG> biomeGenerator = new AtomicCache<>();
@@ -171,19 +172,12 @@ public class IrisBiome extends IrisRegistrant implements IRare {
     @ArrayType(type = IrisOreGenerator.class, min = 1)
     private KList<IrisOreGenerator> ores = new KList<>();
 
-    public BlockData generateOres(int x, int y, int z, RNG rng, IrisData data) {
-        if (ores.isEmpty()) {
-            return null;
-        }
-        BlockData b = null;
-        for (IrisOreGenerator i : ores) {
+    public IrisOrePlanner getOrePlanner() {
+        return orePlannerCache.aquire(() -> new IrisOrePlanner(ores));
+    }
 
-            b = i.generate(x, y, z, rng, data);
-            if (b != null) {
-                return b;
-            }
-        }
-        return null;
+    public BlockData generateOres(int x, int y, int z, RNG rng, IrisData data) {
+        return getOrePlanner().generate(x, y, z, rng, data);
     }
 
     public Biome getVanillaDerivative() {
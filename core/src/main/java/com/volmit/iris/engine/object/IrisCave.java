@@ -28,6 +28,7 @@ import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.json.JSONObject;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.MatterCavern;
+import com.volmit.iris.util.matter.slices.CavernMatter;
 import com.volmit.iris.util.plugin.VolmitSender;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -95,8 +96,8 @@ public class IrisCave extends IrisRegistrant {
             fork.doCarving(writer, rng, engine, i.getX(), i.getY(), i.getZ(), h);
         }
 
-        MatterCavern c = new MatterCavern(true, customBiome, (byte) 0);
-        MatterCavern w = new MatterCavern(true, customBiome, (byte) 1);
+        MatterCavern c = CavernMatter.get(customBiome, 0);
+        MatterCavern w = CavernMatter.get(customBiome, 1);
 
         writer.setLineConsumer(points,
                 girth, true,
@@ -129,6 +129,7 @@ public class IrisDimension extends IrisRegistrant {
     private final transient AtomicCache<Double> rad = new AtomicCache<>();
     private final transient AtomicCache<Boolean> featuresUsed = new AtomicCache<>();
     private final transient AtomicCache<KList<Position2>> strongholdsCache = new AtomicCache<>();
+    private final transient AtomicCache<IrisOrePlanner> orePlannerCache = new AtomicCache<>();
     @MinNumber(2)
     @Required
     @Desc("The human readable name of this dimension")
@@ -318,19 +319,12 @@ public class IrisDimension extends IrisRegistrant {
         return (int) getDimensionHeight().getMin();
     }
 
-    public BlockData generateOres(int x, int y, int z, RNG rng, IrisData data) {
-        if (ores.isEmpty()) {
-            return null;
-        }
-        BlockData b = null;
-        for (IrisOreGenerator i : ores) {
+    public IrisOrePlanner getOrePlanner() {
+        return orePlannerCache.aquire(() -> new IrisOrePlanner(ores));
+    }
 
-            b = i.generate(x, y, z, rng, data);
-            if (b != null) {
-                return b;
-            }
-        }
-        return null;
+    public BlockData generateOres(int x, int y, int z, RNG rng, IrisData data) {
+        return getOrePlanner().generate(x, y, z, rng, data);
     }
 
     public KList<Position2> getStrongholds(long seed) {
@@ -29,6 +29,11 @@ public class IrisEngineData {
     private KList<IrisEngineSpawnerCooldown> spawnerCooldowns = new KList<>();
     private KList<IrisEngineChunkData> chunks = new KList<>();
     private Long seed = null;
+    /**
+     * Worlds written before generation stages were seeded per chunk keep sharing one rng per stage,
+     * so their new chunks still line up with the old ones. New worlds turn this off when created.
+     */
+    private boolean legacyRandom = true;
 
     public void removeChunk(int x, int z) {
         long k = Cache.key(x, z);
@@ -85,6 +85,7 @@ public class IrisObject extends IrisRegistrant {
     protected transient AtomicCache<AxisAlignedBB> aabb = new AtomicCache<>();
     private KMap<BlockVector, BlockData> blocks;
     private KMap<BlockVector, TileData<? extends TileState>> states;
+    private transient volatile PackedObject packed;
     @Getter
     @Setter
     private int w;
@@ -459,6 +460,8 @@ public class IrisObject extends IrisRegistrant {
     public void setUnsigned(int x, int y, int z, BlockData block) {
         BlockVector v = getSigned(x, y, z);
 
+        packed = null;
+
         if (block == null) {
             getBlocks().remove(v);
             getStates().remove(v);
@@ -470,6 +473,8 @@ public class IrisObject extends IrisRegistrant {
     public void setUnsigned(int x, int y, int z, Block block) {
         BlockVector v = getSigned(x, y, z);
 
+        packed = null;
+
         if (block == null) {
             getBlocks().remove(v);
             getStates().remove(v);
@@ -747,22 +752,25 @@ public class IrisObject extends IrisRegistrant {
 
         if (config.isBore()) {
             BlockVector offset = new BlockVector(config.getTranslate().getX(), config.getTranslate().getY(), config.getTranslate().getZ());
-            for (int i = x - Math.floorDiv(w, 2) + (int) offset.getX(); i <= x + Math.floorDiv(w, 2) - (w % 2 == 0 ? 1 : 0) + (int) offset.getX(); i++) {
-                for (int j = y - Math.floorDiv(h, 2) - config.getBoreExtendMinY() + (int) offset.getY(); j <= y + Math.floorDiv(h, 2) + config.getBoreExtendMaxY() - (h % 2 == 0 ? 1 : 0) + (int) offset.getY(); j++) {
-                    for (int k = z - Math.floorDiv(d, 2) + (int) offset.getZ(); k <= z + Math.floorDiv(d, 2) - (d % 2 == 0 ? 1 : 0) + (int) offset.getX(); k++) {
-                        placer.set(i, j, k, AIR);
-                    }
-                }
-            }
+            placer.fillBox(x - Math.floorDiv(w, 2) + (int) offset.getX(),
+                    y - Math.floorDiv(h, 2) - config.getBoreExtendMinY() + (int) offset.getY(),
+                    z - Math.floorDiv(d, 2) + (int) offset.getZ(),
+                    x + Math.floorDiv(w, 2) - (w % 2 == 0 ? 1 : 0) + (int) offset.getX(),
+                    y + Math.floorDiv(h, 2) + config.getBoreExtendMaxY() - (h % 2 == 0 ? 1 : 0) + (int) offset.getY(),
+                    z + Math.floorDiv(d, 2) - (d % 2 == 0 ? 1 : 0) + (int) offset.getX(), AIR);
         }
 
         int lowest = Integer.MAX_VALUE;
         y += yrand;
         readLock.lock();
 
-        KMap<BlockVector, String> markers = null;
+        KMap<Integer, String> markers = null;
 
         try {
+            PackedObject base = getPacked();
+            PackedObject variant = base.rotate(config.getRotation(), spinx, spiny, spinz);
+            BlockVector offset = config.getTranslate().translate(new BlockVector(0, 0, 0), config.getRotation(), spinx, spiny, spinz);
+
             if (config.getMarkers().isNotEmpty() && placer.getEngine() != null) {
                 markers = new KMap<>();
                 for (IrisObjectMarker j : config.getMarkers()) {
@@ -773,13 +781,18 @@ public class IrisObject extends IrisRegistrant {
                     }
 
                     int max = j.getMaximumMarkers();
+                    KList<Integer> order = new KList<>();
+
+                    for (int i = 0; i < base.size(); i++) {
+                        order.add(i);
+                    }
 
-                    for (BlockVector i : getBlocks().k().shuffle()) {
+                    for (int i : order.shuffle()) {
                         if (max <= 0) {
                             break;
                         }
 
-                        BlockData data = getBlocks().get(i);
+                        BlockData data = base.getSource(i);
 
                         for (BlockData k : j.getMark(rdata)) {
                             if (max <= 0) {
@@ -787,8 +800,8 @@ public class IrisObject extends IrisRegistrant {
                             }
 
                             if (j.isExact() ? k.matches(data) : k.getMaterial().equals(data.getMaterial())) {
-                                boolean a = !blocks.containsKey(new BlockVector(i.clone().add(new BlockVector(0, 1, 0))));
-                                boolean fff = !blocks.containsKey(new BlockVector(i.clone().add(new BlockVector(0, 2, 0))));
+                                boolean a = !blocks.containsKey(new BlockVector(base.getX(i), base.getY(i) + 1, base.getZ(i)));
+                                boolean fff = !blocks.containsKey(new BlockVector(base.getX(i), base.getY(i) + 2, base.getZ(i)));
 
                                 if (!marker.isEmptyAbove() || (a && fff)) {
                                     markers.put(i, j.getMarker());
@@ -800,52 +813,43 @@ public class IrisObject extends IrisRegistrant {
                 }
             }
 
-            for (BlockVector g : getBlocks().keySet()) {
-                BlockData d;
-                TileData<? extends TileState> tile = null;
-
-                try {
-                    d = getBlocks().get(g);
-                    tile = getStates().get(g);
-                } catch (Throwable e) {
-                    Iris.reportError(e);
-                    Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (cme)");
-                    d = AIR;
-                }
+            for (int g = 0; g < variant.size(); g++) {
+                BlockData data = variant.getSource(g);
+                TileData<? extends TileState> tile = variant.getTile(g);
+                double ix = variant.getX(g) + offset.getX();
+                double iy = variant.getY(g) + offset.getY();
+                double iz = variant.getZ(g) + offset.getZ();
+                boolean edited = false;
 
-                if (d == null) {
-                    Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (null)");
-                    d = AIR;
+                if (stilting && (int) Math.floor(iy) < lowest && !B.isAir(data)) {
+                    lowest = (int) Math.floor(iy);
                 }
 
-                BlockVector i = g.clone();
-                BlockData data = d.clone();
-                i = config.getRotation().rotate(i.clone(), spinx, spiny, spinz).clone();
-                i = config.getTranslate().translate(i.clone(), config.getRotation(), spinx, spiny, spinz).clone();
+                if (config.getEdit().isNotEmpty()) {
+                    data = data.clone();
 
-                if (stilting && i.getBlockY() < lowest && !B.isAir(data)) {
-                    lowest = i.getBlockY();
-                }
+                    if (placer.isPreventingDecay() && (data) instanceof Leaves && !((Leaves) (data)).isPersistent()) {
+                        ((Leaves) data).setPersistent(true);
+                    }
 
-                if (placer.isPreventingDecay() && (data) instanceof Leaves && !((Leaves) (data)).isPersistent()) {
-                    ((Leaves) data).setPersistent(true);
-                }
+                    for (IrisObjectReplace j : config.getEdit()) {
+                        if (rng.chance(j.getChance())) {
+                            for (BlockData k : j.getFind(rdata)) {
+                                if (j.isExact() ? k.matches(data) : k.getMaterial().equals(data.getMaterial())) {
+                                    BlockData newData = j.getReplace(rng, ix + x, iy + y, iz + z, rdata).clone();
 
-                for (IrisObjectReplace j : config.getEdit()) {
-                    if (rng.chance(j.getChance())) {
-                        for (BlockData k : j.getFind(rdata)) {
-                            if (j.isExact() ? k.matches(data) : k.getMaterial().equals(data.getMaterial())) {
-                                BlockData newData = j.getReplace(rng, i.getX() + x, i.getY() + y, i.getZ() + z, rdata).clone();
+                                    if (newData.getMaterial() == data.getMaterial() && !(newData instanceof IrisBlockData || data instanceof IrisBlockData))
+                                        data = data.merge(newData);
+                                    else
+                                        data = newData;
 
-                                if (newData.getMaterial() == data.getMaterial() && !(newData instanceof IrisBlockData || data instanceof IrisBlockData))
-                                    data = data.merge(newData);
-                                else
-                                    data = newData;
+                                    edited = true;
 
-                                if (newData.getMaterial() == Material.SPAWNER) {
-                                    Optional<TileData<?>> t = j.getReplace().getTile(rng, x, y, z, rdata);
-                                    if (t.isPresent()) {
-                                        tile = t.get();
+                                    if (newData.getMaterial() == Material.SPAWNER) {
+                                        Optional<TileData<?>> t = j.getReplace().getTile(rng, x, y, z, rdata);
+                                        if (t.isPresent()) {
+                                            tile = t.get();
+                                        }
                                     }
                                 }
                             }
@@ -853,19 +857,37 @@ public class IrisObject extends IrisRegistrant {
                     }
                 }
 
-                data = config.getRotation().rotate(data, spinx, spiny, spinz);
-                xx = x + (int) Math.round(i.getX());
+                if (edited) {
+                    data = config.getRotation().rotate(data, spinx, spiny, spinz);
+                } else {
+                    // Untouched blocks come pre rotated from the variant
+                    data = variant.getData(g);
+
+                    if (data != null) {
+                        data = data.clone();
 
-                int yy = y + (int) Math.round(i.getY());
-                zz = z + (int) Math.round(i.getZ());
+                        if (placer.isPreventingDecay() && (data) instanceof Leaves && !((Leaves) (data)).isPersistent()) {
+                            ((Leaves) data).setPersistent(true);
+                        }
+                    }
+                }
+
+                if (data == null) {
+                    continue;
+                }
+
+                xx = x + (int) Math.round(ix);
+
+                int yy = y + (int) Math.round(iy);
+                zz = z + (int) Math.round(iz);
 
                 if (warped) {
-                    xx += config.warp(rng, i.getX() + x, i.getY() + y, i.getZ() + z, getLoader());
-                    zz += config.warp(rng, i.getZ() + z, i.getY() + y, i.getX() + x, getLoader());
+                    xx += config.warp(rng, ix + x, iy + y, iz + z, getLoader());
+                    zz += config.warp(rng, iz + z, iy + y, ix + x, getLoader());
                 }
 
                 if (yv < 0 && (config.getMode().equals(ObjectPlaceMode.PAINT)) && !B.isVineBlock(data)) {
-                    yy = (int) Math.round(i.getY()) + Math.floorDiv(h, 2) + placer.getHighest(xx, zz, getLoader(), config.isUnderwater());
+                    yy = (int) Math.round(iy) + Math.floorDiv(h, 2) + placer.getHighest(xx, zz, getLoader(), config.isUnderwater());
                 }
 
                 if (heightmap != null) {
@@ -925,39 +947,32 @@ public class IrisObject extends IrisRegistrant {
         if (stilting) {
             readLock.lock();
             IrisStiltSettings settings = config.getStiltSettings();
-            for (BlockVector g : getBlocks().keySet()) {
+            PackedObject variant = getPacked().rotate(config.getRotation(), spinx, spiny, spinz);
+            BlockVector offset = config.getTranslate().translate(new BlockVector(0, 0, 0), config.getRotation(), spinx, spiny, spinz);
+
+            for (int g = 0; g < variant.size(); g++) {
                 BlockData d;
 
                 if (settings == null || settings.getPalette() == null) {
-                    try {
-                        d = getBlocks().get(g);
-                    } catch (Throwable e) {
-                        Iris.reportError(e);
-                        Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (stilt cme)");
-                        d = AIR;
-                    }
-
-                    if (d == null) {
-                        Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (stilt null)");
-                        d = AIR;
-                    }
-                } else
-                    d = config.getStiltSettings().getPalette().get(rng, x, y, z, rdata);
-
+                    d = variant.getData(g);
+                } else {
+                    d = config.getRotation().rotate(config.getStiltSettings().getPalette().get(rng, x, y, z, rdata).clone(), spinx, spiny, spinz);
+                }
 
-                BlockVector i = g.clone();
-                i = config.getRotation().rotate(i.clone(), spinx, spiny, spinz).clone();
-                i = config.getTranslate().translate(i.clone(), config.getRotation(), spinx, spiny, spinz).clone();
-                d = config.getRotation().rotate(d, spinx, spiny, spinz);
+                double ix = variant.getX(g) + offset.getX();
+                double iy = variant.getY(g) + offset.getY();
+                double iz = variant.getZ(g) + offset.getZ();
 
-                if (i.getBlockY() != lowest)
+                if (d == null || (int) Math.floor(iy) != lowest)
                     continue;
 
+                d = d.clone();
+
                 for (IrisObjectReplace j : config.getEdit()) {
                     if (rng.chance(j.getChance())) {
                         for (BlockData k : j.getFind(rdata)) {
                             if (j.isExact() ? k.matches(d) : k.getMaterial().equals(d.getMaterial())) {
-                                BlockData newData = j.getReplace(rng, i.getX() + x, i.getY() + y, i.getZ() + z, rdata).clone();
+                                BlockData newData = j.getReplace(rng, ix + x, iy + y, iz + z, rdata).clone();
 
                                 if (newData.getMaterial() == d.getMaterial()) {
                                     d = d.merge(newData);
@@ -972,12 +987,12 @@ public class IrisObject extends IrisRegistrant {
                 if (d == null || B.isAir(d))
                     continue;
 
-                xx = x + (int) Math.round(i.getX());
-                zz = z + (int) Math.round(i.getZ());
+                xx = x + (int) Math.round(ix);
+                zz = z + (int) Math.round(iz);
 
                 if (warped) {
-                    xx += config.warp(rng, i.getX() + x, i.getY() + y, i.getZ() + z, getLoader());
-                    zz += config.warp(rng, i.getZ() + z, i.getY() + y, i.getX() + x, getLoader());
+                    xx += config.warp(rng, ix + x, iy + y, iz + z, getLoader());
+                    zz += config.warp(rng, iz + z, iy + y, ix + x, getLoader());
                 }
 
                 int highest = placer.getHighest(xx, zz, getLoader(), true);
@@ -994,14 +1009,17 @@ public class IrisObject extends IrisRegistrant {
                     if (settings.getYMax() != 0)
                         lowerBound -= Math.min(config.getStiltSettings().getYMax() - (lowest + y - highest), 0);
                 }
+                if (!B.isVineBlock(d)) {
+                    placer.fillColumnSpan(xx, lowerBound + 1, lowest + y, zz, d);
+                    continue;
+                }
+
                 for (int j = lowest + y; j > lowerBound; j--) {
-                    if (B.isVineBlock(d)) {
-                        MultipleFacing f = (MultipleFacing) d;
-                        for (BlockFace face : f.getAllowedFaces()) {
-                            BlockData facingBlock = placer.get(xx + face.getModX(), j + face.getModY(), zz + face.getModZ());
-                            if (B.isSolid(facingBlock) && !B.isVineBlock(facingBlock)) {
-                                f.setFace(face, true);
-                            }
+                    MultipleFacing f = (MultipleFacing) d;
+                    for (BlockFace face : f.getAllowedFaces()) {
+                        BlockData facingBlock = placer.get(xx + face.getModX(), j + face.getModY(), zz + face.getModZ());
+                        if (B.isSolid(facingBlock) && !B.isVineBlock(facingBlock)) {
+                            f.setFace(face, true);
                         }
                     }
                     placer.set(xx, j, zz, d);
@@ -1088,6 +1106,28 @@ public class IrisObject extends IrisRegistrant {
         return states;
     }
 
+    /**
+     * Packed copy of the blocks used for placement, rebuilt when the block maps change
+     */
+    public PackedObject getPacked() {
+        PackedObject p = packed;
+
+        if (p != null && p.isPackOf(blocks, states)) {
+            return p;
+        }
+
+        synchronized (this) {
+            p = packed;
+
+            if (p == null || !p.isPackOf(blocks, states)) {
+                p = PackedObject.pack(blocks, states);
+                packed = p;
+            }
+
+            return p;
+        }
+    }
+
     public void unplaceCenterY(Location at) {
         for (BlockVector i : getBlocks().keySet()) {
             at.clone().add(getCenter().getX(), getCenter().getY(), getCenter().getZ()).add(i).getBlock().setBlockData(AIR, false);
@@ -75,6 +75,13 @@ public class IrisObjectRotation {
         return rt;
     }
 
+    /**
+     * Block states only turn in quarter turns, this snaps a spin the same way rotating block data does
+     */
+    public static int quarterSpin(int spin) {
+        return (int) (90D * (Math.ceil(Math.abs((spin % 360D) / 90D))));
+    }
+
     public double getYRotation(int spin) {
         return getRotation(spin, yAxis);
     }
@@ -225,9 +232,9 @@ public class IrisObjectRotation {
     public BlockData rotate(BlockData dd, int spinxx, int spinyy, int spinzz) {
         BlockData d = dd;
         try {
-            int spinx = (int) (90D * (Math.ceil(Math.abs((spinxx % 360D) / 90D))));
-            int spiny = (int) (90D * (Math.ceil(Math.abs((spinyy % 360D) / 90D))));
-            int spinz = (int) (90D * (Math.ceil(Math.abs((spinzz % 360D) / 90D))));
+            int spinx = quarterSpin(spinxx);
+            int spiny = quarterSpin(spinyy);
+            int spinz = quarterSpin(spinzz);
 
             if (!canRotate()) {
                 return d;
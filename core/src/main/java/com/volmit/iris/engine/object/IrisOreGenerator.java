@@ -57,12 +57,22 @@ public class IrisOreGenerator {
             return null;
         }
 
-        CNG chance = chanceCache.aquire(() -> chanceStyle.create(rng, data));
-
-        if (chance.noise(x, y, z) > threshold) {
+        if (!hit(x, y, z, rng, data)) {
             return null;
         }
 
+        return getOre(x, y, z, rng, data);
+    }
+
+    /**
+     * Check the chance noise only, callers are expected to have checked the range already
+     */
+    public boolean hit(int x, int y, int z, RNG rng, IrisData data) {
+        CNG chance = chanceCache.aquire(() -> chanceStyle.create(rng, data));
+        return chance.noise3(x, y, z) <= threshold;
+    }
+
+    public BlockData getOre(int x, int y, int z, RNG rng, IrisData data) {
         return palette.get(rng, x, y, z, data);
     }
 }
@@ -0,0 +1,174 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.object;
+
+import com.volmit.iris.core.loader.IrisData;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.math.RNG;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+
+/**
+ * Indexes a list of ore generators by 16 block Y bands so a column only evaluates the generators
+ * whose range actually intersects it. Generators keep their declared order inside each band,
+ * so the first generator to hit a Y still wins just like chaining {@link IrisOreGenerator#generate}.
+ */
+public class IrisOrePlanner {
+    private static final int BAND = 16;
+    private final IrisOreGenerator[] generators;
+    private final int[] min;
+    private final int[] max;
+    private final int[][] bands;
+    private final int bandOffset;
+    private final int lo;
+    private final int hi;
+
+    public IrisOrePlanner(KList<IrisOreGenerator> ores) {
+        KList<IrisOreGenerator> g = new KList<>();
+        KList<Integer> mins = new KList<>();
+        KList<Integer> maxs = new KList<>();
+        int lo = Integer.MAX_VALUE;
+        int hi = Integer.MIN_VALUE;
+
+        for (IrisOreGenerator i : ores) {
+            if (i.getPalette().getPalette().isEmpty()) {
+                continue;
+            }
+
+            int a = Math.max(0, (int) Math.ceil(i.getRange().getMin()));
+            int b = (int) Math.floor(i.getRange().getMax());
+
+            if (b < a) {
+                continue;
+            }
+
+            g.add(i);
+            mins.add(a);
+            maxs.add(b);
+            lo = Math.min(lo, a);
+            hi = Math.max(hi, b);
+        }
+
+        generators = g.toArray(new IrisOreGenerator[0]);
+        min = new int[generators.length];
+        max = new int[generators.length];
+
+        for (int i = 0; i < generators.length; i++) {
+            min[i] = mins.get(i);
+            max[i] = maxs.get(i);
+        }
+
+        if (generators.length == 0) {
+            this.lo = 0;
+            this.hi = -1;
+            bandOffset = 0;
+            bands = new int[0][];
+            return;
+        }
+
+        this.lo = lo;
+        this.hi = hi;
+        bandOffset = lo / BAND;
+        bands = new int[hi / BAND - bandOffset + 1][];
+
+        for (int band = 0; band < bands.length; band++) {
+            int bandLo = (band + bandOffset) * BAND;
+            int bandHi = bandLo + BAND - 1;
+            int count = 0;
+            int[] in = new int[generators.length];
+
+            for (int i = 0; i < generators.length; i++) {
+                if (min[i] <= bandHi && max[i] >= bandLo) {
+                    in[count++] = i;
+                }
+            }
+
+            bands[band] = Arrays.copyOf(in, count);
+        }
+    }
+
+    public boolean isEmpty() {
+        return generators.length == 0;
+    }
+
+    /**
+     * Find the ore at a single block, the first generator in declared order which hits wins
+     *
+     * @param x    the block x
+     * @param y    the block y
+     * @param z    the block z
+     * @param rng  the rng
+     * @param data the data
+     * @return the ore or null if none hit
+     */
+    public BlockData generate(int x, int y, int z, RNG rng, IrisData data) {
+        if (y < lo || y > hi) {
+            return null;
+        }
+
+        for (int i : bands[y / BAND - bandOffset]) {
+            IrisOreGenerator ore = generators[i];
+
+            if (y >= min[i] && y <= max[i] && ore.hit(x, y, z, rng, data)) {
+                return ore.getOre(x, y, z, rng, data);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Fill the ore hits of a single column. Slots which already hold an ore are left alone,
+     * so planners can be chained to layer biome, region and dimension ores in that order.
+     *
+     * @param column the column indexed by y, only the slots between from and to are touched
+     * @param x      the block x
+     * @param z      the block z
+     * @param from   the lowest y (inclusive)
+     * @param to     the highest y (inclusive)
+     * @param rng    the rng
+     * @param data   the data
+     */
+    public void plan(BlockData[] column, int x, int z, int from, int to, RNG rng, IrisData data) {
+        int a = Math.max(from, lo);
+        int b = Math.min(to, hi);
+
+        if (b < a) {
+            return;
+        }
+
+        for (int band = a / BAND; band <= b / BAND; band++) {
+            int bandLo = Math.max(a, band * BAND);
+            int bandHi = Math.min(b, band * BAND + BAND - 1);
+
+            for (int i : bands[band - bandOffset]) {
+                IrisOreGenerator ore = generators[i];
+                int y0 = Math.max(bandLo, min[i]);
+                int y1 = Math.min(bandHi, max[i]);
+
+                for (int y = y0; y <= y1; y++) {
+                    if (column[y] == null && ore.hit(x, y, z, rng, data)) {
+                        column[y] = ore.getOre(x, y, z, rng, data);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.json.JSONObject;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.MatterCavern;
+import com.volmit.iris.util.matter.slices.CavernMatter;
 import com.volmit.iris.util.noise.CNG;
 import com.volmit.iris.util.plugin.VolmitSender;
 import lombok.AllArgsConstructor;
@@ -122,8 +123,8 @@ public class IrisRavine extends IrisRegistrant {
             water = true;
         }
 
-        MatterCavern c = new MatterCavern(true, customBiome, (byte) (water ? 1 : 0));
-        MatterCavern l = new MatterCavern(true, customBiome, (byte) 2);
+        MatterCavern c = CavernMatter.get(customBiome, water ? 1 : 0);
+        MatterCavern l = CavernMatter.get(customBiome, 2);
 
         if (pos.size() < nodeThreshold) {
             return;
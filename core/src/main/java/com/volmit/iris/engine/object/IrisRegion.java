@@ -67,6 +67,7 @@ public class IrisRegion extends IrisRegistrant implements IRare {
     private final transient AtomicCache<CNG> riverGen = new AtomicCache<>();
     private final transient AtomicCache<CNG> riverChanceGen = new AtomicCache<>();
     private final transient AtomicCache<Color> cacheColor = new AtomicCache<>();
+    private final transient AtomicCache<IrisOrePlanner> orePlannerCache = new AtomicCache<>();
     @MinNumber(2)
     @Required
     @Desc("The name of the region")
@@ -151,19 +152,12 @@ public class IrisRegion extends IrisRegistrant implements IRare {
     @ArrayType(type = IrisOreGenerator.class, min = 1)
     private KList<IrisOreGenerator> ores = new KList<>();
 
-    public BlockData generateOres(int x, int y, int z, RNG rng, IrisData data) {
-        if (ores.isEmpty()) {
-            return null;
-        }
-        BlockData b = null;
-        for (IrisOreGenerator i : ores) {
+    public IrisOrePlanner getOrePlanner() {
+        return orePlannerCache.aquire(() -> new IrisOrePlanner(ores));
+    }
 
-            b = i.generate(x, y, z, rng, data);
-            if (b != null) {
-                return b;
-            }
-        }
-        return null;
+    public BlockData generateOres(int x, int y, int z, RNG rng, IrisData data) {
+        return getOrePlanner().generate(x, y, z, rng, data);
     }
 
     public String getName() {
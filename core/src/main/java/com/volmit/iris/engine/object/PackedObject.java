@@ -0,0 +1,238 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.object;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.Weigher;
+import com.volmit.iris.util.collection.KMap;
+import org.bukkit.block.TileState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.BlockVector;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Flat placement copy of an object. Coordinates are parallel short arrays and block
+ * data is a palette index per block, so placing walks arrays instead of a vector keyed map.
+ * Rotated variants are built once per distinct rotation and kept in a cache bounded by
+ * their total block count, indices line up between a pack and all of its variants.
+ */
+public class PackedObject {
+    private static final int VARIANT_BLOCK_BUDGET = 1 << 22;
+    private static final ConcurrentLinkedHashMap<Variant, PackedObject> variants
+            = new ConcurrentLinkedHashMap.Builder<Variant, PackedObject>()
+            .initialCapacity(64)
+            .maximumWeightedCapacity(VARIANT_BLOCK_BUDGET)
+            .weigher((Weigher<PackedObject>) v -> Math.max(1, v.size))
+            .concurrencyLevel(32)
+            .build();
+    private static final BlockVector[] AXES = new BlockVector[]{new BlockVector(1, 0, 0), new BlockVector(0, 1, 0), new BlockVector(0, 0, 1)};
+    private final KMap<BlockVector, BlockData> blocks;
+    private final KMap<BlockVector, TileData<? extends TileState>> states;
+    private final int size;
+    private final int tileCount;
+    private final short[] x;
+    private final short[] y;
+    private final short[] z;
+    private final int[] ids;
+    private final BlockData[] source;
+    private final BlockData[] palette;
+    private final TileData<? extends TileState>[] tiles;
+
+    private PackedObject(PackedObject base, short[] x, short[] y, short[] z, BlockData[] palette) {
+        this.blocks = base.blocks;
+        this.states = base.states;
+        this.size = base.size;
+        this.tileCount = base.tileCount;
+        this.ids = base.ids;
+        this.source = base.source;
+        this.tiles = base.tiles;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.palette = palette;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PackedObject(KMap<BlockVector, BlockData> blocks, KMap<BlockVector, TileData<? extends TileState>> states) {
+        this.blocks = blocks;
+        this.states = states;
+        KMap<BlockData, Integer> index = new KMap<>();
+        BlockData[] pal = new BlockData[16];
+        int size = blocks.size();
+        x = new short[size];
+        y = new short[size];
+        z = new short[size];
+        ids = new int[size];
+        TileData<? extends TileState>[] tiles = states.isEmpty() ? null : new TileData[size];
+        int i = 0;
+
+        for (Map.Entry<BlockVector, BlockData> e : blocks.entrySet()) {
+            if (i >= size) {
+                break;
+            }
+
+            BlockVector v = e.getKey();
+            BlockData d = e.getValue();
+            Integer id = index.get(d);
+
+            if (id == null) {
+                id = index.size();
+                index.put(d, id);
+
+                if (id >= pal.length) {
+                    pal = Arrays.copyOf(pal, pal.length << 1);
+                }
+
+                pal[id] = d;
+            }
+
+            x[i] = (short) v.getBlockX();
+            y[i] = (short) v.getBlockY();
+            z[i] = (short) v.getBlockZ();
+            ids[i] = id;
+
+            if (tiles != null) {
+                tiles[i] = states.get(v);
+            }
+
+            i++;
+        }
+
+        this.size = i;
+        this.tileCount = states.size();
+        this.source = Arrays.copyOf(pal, index.size());
+        this.palette = source;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Drop every cached rotation, their bases are stale once the pack data was hotloaded
+     */
+    public static void clearVariants() {
+        variants.clear();
+    }
+
+    public static PackedObject pack(KMap<BlockVector, BlockData> blocks, KMap<BlockVector, TileData<? extends TileState>> states) {
+        return new PackedObject(blocks, states);
+    }
+
+    /**
+     * Still a pack of these maps? Catches swapped maps and added or removed blocks,
+     * in place replacements have to drop the pack themselves
+     */
+    public boolean isPackOf(KMap<BlockVector, BlockData> blocks, KMap<BlockVector, TileData<? extends TileState>> states) {
+        return this.blocks == blocks && this.states == states && size == blocks.size() && tileCount == states.size();
+    }
+
+    /**
+     * Get (or build) this pack turned by the given rotation. Coordinates get rounded to
+     * whole blocks once here instead of on every placement.
+     */
+    public PackedObject rotate(IrisObjectRotation rotation, int spinx, int spiny, int spinz) {
+        if (!rotation.canRotate()) {
+            return this;
+        }
+
+        double[] m = new double[18];
+        int dx = IrisObjectRotation.quarterSpin(spinx);
+        int dy = IrisObjectRotation.quarterSpin(spiny);
+        int dz = IrisObjectRotation.quarterSpin(spinz);
+
+        for (int i = 0; i < 3; i++) {
+            BlockVector a = rotation.rotate(AXES[i].clone(), spinx, spiny, spinz);
+            BlockVector b = rotation.rotate(AXES[i].clone(), dx, dy, dz);
+            m[i * 3] = a.getX();
+            m[i * 3 + 1] = a.getY();
+            m[i * 3 + 2] = a.getZ();
+            m[9 + i * 3] = b.getX();
+            m[9 + i * 3 + 1] = b.getY();
+            m[9 + i * 3 + 2] = b.getZ();
+        }
+
+        return variants.computeIfAbsent(new Variant(this, m), (k) -> rotated(rotation, spinx, spiny, spinz));
+    }
+
+    private PackedObject rotated(IrisObjectRotation rotation, int spinx, int spiny, int spinz) {
+        short[] rx = new short[size];
+        short[] ry = new short[size];
+        short[] rz = new short[size];
+        BlockData[] pal = new BlockData[source.length];
+
+        for (int i = 0; i < size; i++) {
+            BlockVector v = rotation.rotate(new BlockVector(x[i], y[i], z[i]), spinx, spiny, spinz);
+            rx[i] = (short) Math.round(v.getX());
+            ry[i] = (short) Math.round(v.getY());
+            rz[i] = (short) Math.round(v.getZ());
+        }
+
+        for (int i = 0; i < source.length; i++) {
+            pal[i] = rotation.rotate(source[i].clone(), spinx, spiny, spinz);
+        }
+
+        return new PackedObject(this, rx, ry, rz, pal);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int i) {
+        return x[i];
+    }
+
+    public int getY(int i) {
+        return y[i];
+    }
+
+    public int getZ(int i) {
+        return z[i];
+    }
+
+    /**
+     * The block as stored in the object, before rotation. Shared, clone before changing it.
+     */
+    public BlockData getSource(int i) {
+        return source[ids[i]];
+    }
+
+    /**
+     * The block after rotation, null if the rotation dropped it. Shared, clone before changing it.
+     */
+    public BlockData getData(int i) {
+        return palette[ids[i]];
+    }
+
+    public TileData<? extends TileState> getTile(int i) {
+        return tiles == null ? null : tiles[i];
+    }
+
+    private record Variant(PackedObject base, double[] transform) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Variant v && v.base == base && Arrays.equals(v.transform, transform);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(base) + Arrays.hashCode(transform);
+        }
+    }
+}
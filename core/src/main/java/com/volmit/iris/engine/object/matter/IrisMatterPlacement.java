@@ -82,7 +82,7 @@ public class IrisMatterPlacement implements IRare {
         int zz = z;
 
         for (MatterSlice<?> slice : object.getMatter().getSliceMap().values()) {
-            slice.iterate((mx, my, mz, v) -> {
+            slice.iterateInt((mx, my, mz, v) -> {
                 mantle.set(xx + mx, yy + my, zz + mz, v);
             });
         }
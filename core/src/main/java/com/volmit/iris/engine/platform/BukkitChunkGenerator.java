@@ -105,7 +105,10 @@ public class BukkitChunkGenerator extends ChunkGenerator implements PlatformChun
         this.studio = studio;
         this.dataLocation = dataLocation;
         this.dimensionKey = dimensionKey;
-        this.folder = new ReactiveFolder(dataLocation, (_a, _b, _c) -> hotload());
+        this.folder = new ReactiveFolder(dataLocation, (created, changed, deleted) -> {
+            IrisData.get(dataLocation).indexChanges(created, deleted);
+            hotload();
+        });
         this.smartVanillaHeight = smartVanillaHeight;
         Bukkit.getServer().getPluginManager().registerEvents(this, Iris.instance);
     }
@@ -170,7 +173,7 @@ public class BukkitChunkGenerator extends ChunkGenerator implements PlatformChun
                 Iris.service(StudioSVC.class).installIntoWorld(Iris.getSender(), dimensionKey, dataLocation.getParentFile().getParentFile());
                 Iris.warn("Attempted to install into " + data.getDataFolder().getPath());
                 data.dump();
-                data.clearLists();
+                data.reindex();
                 test = data.getDimensionLoader().load(dimensionKey);
 
                 if (test != null) {
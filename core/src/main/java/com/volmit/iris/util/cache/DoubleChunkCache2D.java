@@ -0,0 +1,61 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.cache;
+
+import com.volmit.iris.util.stream.ProceduralStream;
+
+import java.util.Arrays;
+
+public class DoubleChunkCache2D {
+    private final long key;
+    private final double[] cache;
+
+    public DoubleChunkCache2D(long key) {
+        this.key = key;
+        this.cache = new double[256];
+        Arrays.fill(cache, Double.NaN);
+    }
+
+    public boolean is(long key) {
+        return this.key == key;
+    }
+
+    public double get(int x, int z, ProceduralStream<?> resolver) {
+        int key = ((z & 15) * 16) + (x & 15);
+        double t = cache[key];
+
+        if (Double.isNaN(t)) {
+            t = resolver.getDouble(x, z);
+            cache[key] = t;
+        }
+
+        return t;
+    }
+
+    public void get(double[] out, int x, int z, ProceduralStream<?> resolver) {
+        for (double t : cache) {
+            if (Double.isNaN(t)) {
+                resolver.getPlane(cache, x & ~15, z & ~15, 16, 16);
+                break;
+            }
+        }
+
+        System.arraycopy(cache, 0, out, 0, 256);
+    }
+}
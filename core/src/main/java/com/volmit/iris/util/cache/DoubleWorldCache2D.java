@@ -0,0 +1,110 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.cache;
+
+import com.volmit.iris.engine.data.cache.Cache;
+import com.volmit.iris.util.stream.ProceduralStream;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded world cache for double streams. Chunks are stored in primitive tiles and indexed
+ * by their long key in a direct mapped table, so lookups neither box the key nor the value.
+ * A tile is simply replaced when another chunk hashes into its slot.
+ */
+public class DoubleWorldCache2D {
+    private final AtomicReferenceArray<DoubleChunkCache2D> chunks;
+    private final ProceduralStream<?> resolver;
+    private final AtomicInteger size;
+    private final int mask;
+
+    public DoubleWorldCache2D(ProceduralStream<?> resolver, int size) {
+        this.resolver = resolver;
+        this.size = new AtomicInteger(0);
+        int capacity = Integer.highestOneBit(Math.max(16, size - 1)) << 1;
+        this.mask = capacity - 1;
+        this.chunks = new AtomicReferenceArray<>(capacity);
+    }
+
+    public double get(int x, int z) {
+        return chunk(Cache.key(x >> 4, z >> 4)).get(x, z, resolver);
+    }
+
+    private DoubleChunkCache2D chunk(long key) {
+        int slot = slot(key);
+        DoubleChunkCache2D chunk = chunks.get(slot);
+
+        if (chunk == null || !chunk.is(key)) {
+            DoubleChunkCache2D created = new DoubleChunkCache2D(key);
+
+            if (chunk == null) {
+                if (chunks.compareAndSet(slot, null, created)) {
+                    size.incrementAndGet();
+                }
+            } else {
+                chunks.set(slot, created);
+            }
+
+            chunk = created;
+        }
+
+        return chunk;
+    }
+
+    public void get(double[] out, int x, int z, int w, int h) {
+        if (w == 16 && h == 16 && (x & 15) == 0 && (z & 15) == 0) {
+            chunk(Cache.key(x >> 4, z >> 4)).get(out, x, z, resolver);
+            return;
+        }
+
+        DoubleChunkCache2D chunk = null;
+        long last = 0;
+
+        for (int j = 0; j < h; j++) {
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                int xx = x + i;
+                int zz = z + j;
+                long key = Cache.key(xx >> 4, zz >> 4);
+
+                if (chunk == null || key != last) {
+                    chunk = chunk(key);
+                    last = key;
+                }
+
+                out[o + i] = chunk.get(xx, zz, resolver);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public long getSize() {
+        return size.get() * 256L;
+    }
+
+    public long getMaxSize() {
+        return (mask + 1) * 256L;
+    }
+}
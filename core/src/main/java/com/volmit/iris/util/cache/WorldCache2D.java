@@ -8,9 +8,9 @@ public class WorldCache2D<T> {
     private final KCache<Long, ChunkCache2D<T>> chunks;
     private final Function2<Integer, Integer, T> resolver;
 
-    public WorldCache2D(Function2<Integer, Integer, T> resolver) {
+    public WorldCache2D(Function2<Integer, Integer, T> resolver, int size) {
         this.resolver = resolver;
-        chunks = new KCache<>((x) -> new ChunkCache2D<>(), 1024);
+        chunks = new KCache<>((x) -> new ChunkCache2D<>(), size);
     }
 
     public T get(int x, int z) {
@@ -21,4 +21,8 @@ public class WorldCache2D<T> {
     public long getSize() {
         return chunks.getSize() * 256L;
     }
+
+    public long getMaxSize() {
+        return chunks.getMaxSize() * 256L;
+    }
 }
@@ -3,22 +3,29 @@ package com.volmit.iris.util.context;
 import com.volmit.iris.engine.IrisComplex;
 import com.volmit.iris.engine.object.IrisBiome;
 import com.volmit.iris.engine.object.IrisRegion;
+import com.volmit.iris.util.data.B;
 import com.volmit.iris.util.documentation.BlockCoordinates;
+import com.volmit.iris.util.hunk.Hunk;
+import com.volmit.iris.util.hunk.view.HeightmapHunk;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.parallel.MultiBurst;
 import lombok.Data;
 import org.bukkit.block.data.BlockData;
 
+import java.util.function.Predicate;
+
 @Data
 public class ChunkContext {
+    private static final int NON_FLUID = 0;
     private final int x;
     private final int z;
-    private ChunkedDataCache<Double> height;
+    private ChunkedDoubleCache height;
     private ChunkedDataCache<IrisBiome> biome;
     private ChunkedDataCache<IrisBiome> cave;
     private ChunkedDataCache<BlockData> rock;
     private ChunkedDataCache<BlockData> fluid;
     private ChunkedDataCache<IrisRegion> region;
+    private HeightmapHunk<BlockData> heightmap;
 
     @BlockCoordinates
     public ChunkContext(int x, int z, IrisComplex c) {
@@ -31,8 +38,9 @@ public class ChunkContext {
         this.z = z;
 
         if (cache) {
-            BurstExecutor b = MultiBurst.burst.burst();
-            height = new ChunkedDataCache<>(b, c.getHeightStream(), x, z);
+            // One task per plane, or all inline if we're already running on a burst worker
+            BurstExecutor b = MultiBurst.burst.burst(!MultiBurst.burst.isWorker());
+            height = new ChunkedDoubleCache(b, c.getHeightStream(), x, z);
             biome = new ChunkedDataCache<>(b, c.getTrueBiomeStream(), x, z);
             cave = new ChunkedDataCache<>(b, c.getCaveBiomeStream(), x, z);
             rock = new ChunkedDataCache<>(b, c.getRockStream(), x, z);
@@ -40,7 +48,7 @@ public class ChunkContext {
             region = new ChunkedDataCache<>(b, c.getRegionStream(), x, z);
             b.complete();
         } else {
-            height = new ChunkedDataCache<>(null, c.getHeightStream(), x, z, false);
+            height = new ChunkedDoubleCache(null, c.getHeightStream(), x, z, false);
             biome = new ChunkedDataCache<>(null, c.getTrueBiomeStream(), x, z, false);
             cave = new ChunkedDataCache<>(null, c.getCaveBiomeStream(), x, z, false);
             rock = new ChunkedDataCache<>(null, c.getRockStream(), x, z, false);
@@ -48,4 +56,45 @@ public class ChunkContext {
             region = new ChunkedDataCache<>(null, c.getRegionStream(), x, z, false);
         }
     }
+
+    /**
+     * Wraps the blocks of this chunk so every write keeps the heightmaps of this context up to date
+     *
+     * @param blocks the chunk blocks
+     * @return the tracked blocks, write through these
+     */
+    public Hunk<BlockData> trackHeights(Hunk<BlockData> blocks) {
+        heightmap = new HeightmapHunk<>(blocks, ChunkContext::isNonFluid);
+        return heightmap;
+    }
+
+    /**
+     * Get the top y of a column which is neither air nor fluid, so decorants count but water doesn't
+     *
+     * @param blocks the chunk blocks, only scanned if this context isn't tracking heights
+     * @param x      the x within the chunk
+     * @param z      the z within the chunk
+     * @return the top y or -1 if nothing matches
+     */
+    public int getNonFluidHeight(Hunk<BlockData> blocks, int x, int z) {
+        return getTop(NON_FLUID, ChunkContext::isNonFluid, blocks, x, z);
+    }
+
+    private int getTop(int map, Predicate<BlockData> predicate, Hunk<BlockData> blocks, int x, int z) {
+        if (heightmap != null) {
+            return heightmap.getTop(map, x, z);
+        }
+
+        for (int i = blocks.getHeight() - 1; i >= 0; i--) {
+            if (predicate.test(blocks.get(x, i, z))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isNonFluid(BlockData b) {
+        return b != null && !B.isAir(b) && !B.isFluid(b);
+    }
 }
@@ -10,10 +10,10 @@ import lombok.Data;
 public class ChunkedDataCache<T> {
     private final int x;
     private final int z;
-    private final KSet<T> uniques;
     private final Object[] data;
     private final boolean cache;
     private final ProceduralStream<T> stream;
+    private volatile KSet<T> uniques;
 
     @BlockCoordinates
     public ChunkedDataCache(BurstExecutor burst, ProceduralStream<T> stream, int x, int z) {
@@ -26,27 +26,40 @@ public class ChunkedDataCache<T> {
         this.cache = cache;
         this.x = x;
         this.z = z;
-        this.uniques = cache ? new KSet<>() : null;
         if (cache) {
             data = new Object[256];
-            int i, j;
-
-            for (i = 0; i < 16; i++) {
-                int finalI = i;
-                for (j = 0; j < 16; j++) {
-                    int finalJ = j;
-                    burst.queue(() -> {
-                        T t = stream.get(x + finalI, z + finalJ);
-                        data[(finalJ * 16) + finalI] = t;
-                        uniques.add(t);
-                    });
-                }
-            }
+            burst.queue(() -> stream.getPlane(data, x, z, 16, 16));
         } else {
             data = new Object[0];
         }
     }
 
+    /**
+     * The distinct values of this plane, collected on first use instead of while filling
+     *
+     * @return the uniques or null if this isn't caching
+     */
+    @SuppressWarnings("unchecked")
+    public KSet<T> getUniques() {
+        if (!cache) {
+            return null;
+        }
+
+        KSet<T> u = uniques;
+
+        if (u == null) {
+            u = new KSet<>();
+
+            for (Object t : data) {
+                u.add((T) t);
+            }
+
+            uniques = u;
+        }
+
+        return u;
+    }
+
     @SuppressWarnings("unchecked")
     @BlockCoordinates
     public T get(int x, int z) {
@@ -0,0 +1,47 @@
+package com.volmit.iris.util.context;
+
+import com.volmit.iris.util.documentation.BlockCoordinates;
+import com.volmit.iris.util.parallel.BurstExecutor;
+import com.volmit.iris.util.stream.ProceduralStream;
+import lombok.Data;
+
+/**
+ * {@link ChunkedDataCache} for numeric streams, keeps the plane as raw doubles so filling and reading never boxes
+ */
+@Data
+public class ChunkedDoubleCache {
+    private final int x;
+    private final int z;
+    private final double[] data;
+    private final boolean cache;
+    private final ProceduralStream<Double> stream;
+
+    @BlockCoordinates
+    public ChunkedDoubleCache(BurstExecutor burst, ProceduralStream<Double> stream, int x, int z) {
+        this(burst, stream, x, z, true);
+    }
+
+    @BlockCoordinates
+    public ChunkedDoubleCache(BurstExecutor burst, ProceduralStream<Double> stream, int x, int z, boolean cache) {
+        this.stream = stream;
+        this.cache = cache;
+        this.x = x;
+        this.z = z;
+
+        if (cache) {
+            data = new double[256];
+            burst.queue(() -> stream.getPlane(data, x, z, 16, 16));
+        } else {
+            data = new double[0];
+        }
+    }
+
+    @BlockCoordinates
+    public double get(int x, int z) {
+        if (!cache) {
+            return stream.get(this.x + x, this.z + z);
+        }
+
+        return data[(z * 16) + x];
+    }
+}
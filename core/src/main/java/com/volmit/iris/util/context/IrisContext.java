@@ -22,14 +22,20 @@ import com.volmit.iris.Iris;
 import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.engine.IrisComplex;
 import com.volmit.iris.engine.framework.Engine;
-import com.volmit.iris.util.collection.KMap;
-import com.volmit.iris.util.scheduling.ChronoLatch;
 import lombok.Data;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
 @Data
 public class IrisContext {
-    private static final KMap<Thread, IrisContext> context = new KMap<>();
-    private static ChronoLatch cl = new ChronoLatch(60000);
+    private static final Set<Slot> slots = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final ThreadLocal<Slot> context = ThreadLocal.withInitial(() -> {
+        Slot s = new Slot();
+        slots.add(s);
+        return s;
+    });
     private final Engine engine;
     private ChunkContext chunkContext;
 
@@ -49,28 +55,29 @@ public class IrisContext {
     }
 
     public static IrisContext get() {
-        return context.get(Thread.currentThread());
+        return context.get().value;
     }
 
+    /**
+     * Bind a context to the calling thread until something else replaces it.
+     * Prefer {@link #enter()} so the previous context comes back when you're done
+     */
     public static void touch(IrisContext c) {
-        synchronized (context) {
-            context.put(Thread.currentThread(), c);
-
-            if (cl.flip()) {
-                dereference();
-            }
-        }
+        context.get().value = c;
     }
 
+    /**
+     * Unbinds every context whose engine has closed, on every thread. Slots of dead threads
+     * are only weakly held so they go away on their own
+     */
     public static void dereference() {
-        synchronized (context) {
-            for (Thread i : context.k()) {
-                if (!i.isAlive() || context.get(i).engine.isClosed()) {
-                    if (context.get(i).engine.isClosed()) {
-                        Iris.debug("Dereferenced Context<Engine> " + i.getName() + " " + i.getId());
-                    }
-
-                    context.remove(i);
+        synchronized (slots) {
+            for (Slot i : slots) {
+                IrisContext c = i.value;
+
+                if (c != null && c.engine.isClosed()) {
+                    Iris.debug("Dereferenced Context<Engine> " + c.engine.getCacheID());
+                    i.value = null;
                 }
             }
         }
@@ -80,6 +87,40 @@ public class IrisContext {
         IrisContext.touch(this);
     }
 
+    /**
+     * Bind this context to the calling thread for the lifetime of the returned scope
+     *
+     * @return the scope, close it to restore whatever context was bound before
+     */
+    public Scope enter() {
+        Slot slot = context.get();
+        Scope scope = new Scope(slot, slot.value);
+        slot.value = this;
+        return scope;
+    }
+
+    public static class Scope implements AutoCloseable {
+        private final Slot slot;
+        private final IrisContext previous;
+
+        private Scope(Slot slot, IrisContext previous) {
+            this.slot = slot;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            slot.value = previous;
+        }
+    }
+
+    /**
+     * The binding of one thread. Kept in a weak set so {@link #dereference()} can clear bindings of other threads
+     */
+    private static class Slot {
+        private volatile IrisContext value;
+    }
+
     public IrisData getData() {
         return engine.getData();
     }
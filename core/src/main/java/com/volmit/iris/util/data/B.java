@@ -45,6 +45,7 @@ import static org.bukkit.Material.*;
 
 public class B {
     private static final KMap<String, BlockData> custom = new KMap<>();
+    private static final KMap<String, BlockData> parsed = new KMap<>();
 
     private static final Material AIR_MATERIAL = Material.AIR;
     private static final Material SHORT_GRASS = E.getOrDefault(Material.class, "GRASS", "SHORT_GRASS");
@@ -374,6 +375,48 @@ public class B {
                 || d.equals(Material.PODZOL);
     }
 
+    /**
+     * Work out the registry flags for a state, only called once per distinct state
+     */
+    static int flags(BlockData d) {
+        Material m = d.getMaterial();
+        int f = 0;
+
+        if (m.isSolid()) {
+            f |= BlockRegistry.SOLID;
+        }
+
+        if (m.isOccluding()) {
+            f |= BlockRegistry.OCCLUDING;
+        }
+
+        if (m.equals(Material.WATER) || m.equals(Material.LAVA)) {
+            f |= BlockRegistry.FLUID;
+        }
+
+        if (m.equals(Material.AIR) || m.equals(Material.CAVE_AIR) || m.equals(Material.VOID_AIR)) {
+            f |= BlockRegistry.AIR;
+        }
+
+        if (decorantCache.contains(m.ordinal())) {
+            f |= BlockRegistry.DECORANT;
+        }
+
+        if (storageCache.contains(m.ordinal())) {
+            f |= BlockRegistry.STORAGE;
+        }
+
+        if (litCache.contains(m.ordinal())) {
+            f |= BlockRegistry.LIT;
+        }
+
+        if (foliageCache.contains(m.ordinal())) {
+            f |= BlockRegistry.FOLIAGE;
+        }
+
+        return f;
+    }
+
     public static boolean isWater(BlockData b) {
         return b.getMaterial().equals(Material.WATER);
     }
@@ -407,7 +450,7 @@ public class B {
     public static boolean isSolid(BlockData mat) {
         if (mat == null)
             return false;
-        return mat.getMaterial().isSolid();
+        return BlockRegistry.is(mat, BlockRegistry.SOLID);
     }
 
     public static BlockData getOrNull(String bdxf, boolean warn) {
@@ -426,7 +469,17 @@ public class B {
                 return DIRT_PATH.createBlockData();
             }
 
-            BlockData bdx = parseBlockData(bd, warn);
+            BlockData bdx = parsed.get(bd);
+
+            if (bdx != null) {
+                return bdx.clone();
+            }
+
+            bdx = parseBlockData(bd, warn);
+
+            if (bdx != null) {
+                parsed.put(bd, bdx.clone());
+            }
 
             if (bdx == null && warn) {
                 if (clw.flip()) {
@@ -590,7 +643,7 @@ public class B {
     }
 
     public static boolean isStorage(BlockData mat) {
-        return storageCache.contains(mat.getMaterial().ordinal());
+        return BlockRegistry.is(mat, BlockRegistry.STORAGE);
     }
 
     public static boolean isStorageChest(BlockData mat) {
@@ -598,7 +651,7 @@ public class B {
     }
 
     public static boolean isLit(BlockData mat) {
-        return litCache.contains(mat.getMaterial().ordinal());
+        return BlockRegistry.is(mat, BlockRegistry.LIT);
     }
 
     public static boolean isUpdatable(BlockData mat) {
@@ -613,11 +666,11 @@ public class B {
     }
 
     public static boolean isFoliage(BlockData d) {
-        return isFoliage(d.getMaterial());
+        return BlockRegistry.is(d, BlockRegistry.FOLIAGE);
     }
 
     public static boolean isDecorant(BlockData m) {
-        return decorantCache.contains(m.getMaterial().ordinal());
+        return BlockRegistry.is(m, BlockRegistry.DECORANT);
     }
 
     public static KList<BlockData> get(KList<String> find) {
@@ -635,7 +688,11 @@ public class B {
     }
 
     public static boolean isFluid(BlockData d) {
-        return d.getMaterial().equals(Material.WATER) || d.getMaterial().equals(Material.LAVA);
+        return BlockRegistry.is(d, BlockRegistry.FLUID);
+    }
+
+    public static boolean isOccluding(BlockData d) {
+        return d != null && BlockRegistry.is(d, BlockRegistry.OCCLUDING);
     }
 
     public static boolean isAirOrFluid(BlockData d) {
@@ -647,7 +704,7 @@ public class B {
             return true;
         }
 
-        return d.getMaterial().equals(Material.AIR) || d.getMaterial().equals(Material.CAVE_AIR) || d.getMaterial().equals(Material.VOID_AIR);
+        return BlockRegistry.is(d, BlockRegistry.AIR);
     }
 
 
@@ -0,0 +1,97 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.data;
+
+import com.volmit.iris.util.collection.KMap;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+
+/**
+ * Interns every distinct block state the generator touches and hands out a stable int id
+ * for it. Each id carries precomputed flags so hot checks are an array read instead of a
+ * material lookup. Ids only live for the session, never write them to disk.
+ */
+public class BlockRegistry {
+    public static final int SOLID = 1;
+    public static final int FLUID = 1 << 1;
+    public static final int DECORANT = 1 << 2;
+    public static final int STORAGE = 1 << 3;
+    public static final int LIT = 1 << 4;
+    public static final int OCCLUDING = 1 << 5;
+    public static final int AIR = 1 << 6;
+    public static final int FOLIAGE = 1 << 7;
+    private static final KMap<BlockData, Integer> ids = new KMap<>();
+    private static volatile BlockData[] states = new BlockData[1024];
+    private static volatile int[] flags = new int[1024];
+    private static volatile int size = 0;
+
+    /**
+     * Get the id of this state, registering it the first time it's seen
+     */
+    public static int id(BlockData data) {
+        Integer id = ids.get(data);
+        return id != null ? id : register(data);
+    }
+
+    public static BlockData get(int id) {
+        return states[id];
+    }
+
+    public static int flags(int id) {
+        return flags[id];
+    }
+
+    public static boolean is(int id, int flag) {
+        return (flags[id] & flag) != 0;
+    }
+
+    public static boolean is(BlockData data, int flag) {
+        // Registering can grow the flags, so the id has to exist before the array is read
+        int id = id(data);
+        return (flags[id] & flag) != 0;
+    }
+
+    public static int size() {
+        return size;
+    }
+
+    private static synchronized int register(BlockData data) {
+        Integer id = ids.get(data);
+
+        if (id != null) {
+            return id;
+        }
+
+        // Keep our own copy so callers mutating theirs can't change the key under us
+        BlockData key = data.clone();
+        int i = size;
+
+        if (i >= states.length) {
+            flags = Arrays.copyOf(flags, i << 1);
+            states = Arrays.copyOf(states, i << 1);
+        }
+
+        flags[i] = B.flags(key);
+        states[i] = key;
+        size = i + 1;
+        ids.put(key, i);
+        return i;
+    }
+}
@@ -16,9 +16,35 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 
+
 package com.volmit.iris.util.function;
 
+/**
+ * Combines a child noise value into the accumulated value of a parent CNG.
+ * The parent keeps the running value & weight itself, so injecting never allocates.
+ */
 @FunctionalInterface
 public interface NoiseInjector {
-    double[] combine(double src, double value);
+    static NoiseInjector weighted(double weight, NoiseInjector injector) {
+        return new NoiseInjector() {
+            @Override
+            public double combine(double src, double value) {
+                return injector.combine(src, value);
+            }
+
+            @Override
+            public double getWeight() {
+                return weight;
+            }
+        };
+    }
+
+    double combine(double src, double value);
+
+    /**
+     * @return the weight this injector adds to the accumulator for every combined child
+     */
+    default double getWeight() {
+        return 0;
+    }
 }
@@ -711,6 +711,16 @@ public interface Hunk<T> {
     }
 
     default Hunk<T> iterateSync(Consumer4<Integer, Integer, Integer, T> c) {
+        return iterateSyncInt(c::accept);
+    }
+
+    /**
+     * Iterate every voxel in this hunk on the calling thread without boxing the coordinates
+     *
+     * @param c the consumer (x, y, z, value)
+     * @return this
+     */
+    default Hunk<T> iterateSyncInt(Consumer4Int<T> c) {
         for (int i = 0; i < getWidth(); i++) {
             for (int j = 0; j < getHeight(); j++) {
                 for (int k = 0; k < getDepth(); k++) {
@@ -735,6 +745,10 @@ public interface Hunk<T> {
     }
 
     default Hunk<T> iterateSyncIO(Consumer4IO<Integer, Integer, Integer, T> c) throws IOException {
+        return iterateSyncIntIO(c::accept);
+    }
+
+    default Hunk<T> iterateSyncIntIO(Consumer4IntIO<T> c) throws IOException {
         for (int i = 0; i < getWidth(); i++) {
             for (int j = 0; j < getHeight(); j++) {
                 for (int k = 0; k < getDepth(); k++) {
@@ -766,6 +780,21 @@ public interface Hunk<T> {
     }
 
     default Hunk<T> iterate(int parallelism, Consumer4<Integer, Integer, Integer, T> c) {
+        return iterateInt(parallelism, c::accept);
+    }
+
+    default Hunk<T> iterateInt(Consumer4Int<T> c) {
+        return iterateInt(getIdeal3DParallelism(), c);
+    }
+
+    /**
+     * Iterate every voxel in this hunk across sections in parallel without boxing the coordinates
+     *
+     * @param parallelism the parallelism
+     * @param c           the consumer (x, y, z, value)
+     * @return this
+     */
+    default Hunk<T> iterateInt(int parallelism, Consumer4Int<T> c) {
         compute3D(parallelism, (x, y, z, h) ->
         {
             for (int i = 0; i < h.getWidth(); i++) {
@@ -1074,15 +1103,67 @@ public interface Hunk<T> {
      * @param t  the value to set
      */
     default void set(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
-        for (int i = x1; i <= x2; i++) {
+        fillBox(x1, y1, z1, x2, y2, z2, t);
+    }
+
+    /**
+     * Fill a box without checking bounds. Storage hunks override this to fill whole runs at once
+     *
+     * @param x1 inclusive min x
+     * @param y1 inclusive min y
+     * @param z1 inclusive min z
+     * @param x2 inclusive max x
+     * @param y2 inclusive max y
+     * @param z2 inclusive max z
+     * @param t  the value to set
+     */
+    default void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        for (int k = z1; k <= z2; k++) {
             for (int j = y1; j <= y2; j++) {
-                for (int k = z1; k <= z2; k++) {
+                for (int i = x1; i <= x2; i++) {
                     setRaw(i, j, k, t);
                 }
             }
         }
     }
 
+    /**
+     * Fill a vertical run of one column without checking bounds
+     *
+     * @param x  the x
+     * @param y1 inclusive min y
+     * @param y2 inclusive max y
+     * @param z  the z
+     * @param t  the value to set
+     */
+    default void fillColumnSpan(int x, int y1, int y2, int z, T t) {
+        fillBox(x, y1, z, x, y2, z, t);
+    }
+
+    /**
+     * Set the same value at many positions without checking bounds
+     *
+     * @param positions positions packed with {@link #pack(int, int, int)}
+     * @param count     how many of the positions to use
+     * @param t         the value to set
+     */
+    default void setMany(int[] positions, int count, T t) {
+        int w = getWidth();
+        int wh = w * getHeight();
+
+        for (int i = 0; i < count; i++) {
+            int p = positions[i];
+            setRaw(p % w, (p % wh) / w, p / wh, t);
+        }
+    }
+
+    /**
+     * Pack a position of this hunk into one int, z major then y then x
+     */
+    default int pack(int x, int y, int z) {
+        return (z * getWidth() * getHeight()) + (y * getWidth()) + x;
+    }
+
     /**
      * Get the value to the closest valid position
      *
@@ -171,17 +171,59 @@ public class DataContainer<T> {
 
     public void set(int position, T t) {
         synchronized (this) {
-            int id = palette.get().id(t);
+            int id = id(t);
+            data.get().set(position, id);
+        }
+    }
+
+    /**
+     * Set a run of positions to the same value, only looking it up in the palette once
+     *
+     * @param start the first position
+     * @param step  the distance between positions
+     * @param count the amount of positions
+     * @param t     the value
+     */
+    public void set(int start, int step, int count, T t) {
+        synchronized (this) {
+            int id = id(t);
+            DataBits bits = data.get();
 
-            if (id == -1) {
-                expandOne();
-                id = palette.get().add(t);
+            for (int i = 0; i < count; i++) {
+                bits.set(start + (i * step), id);
             }
+        }
+    }
 
-            data.get().set(position, id);
+    /**
+     * Set the given positions to the same value, only looking it up in the palette once
+     *
+     * @param positions the positions
+     * @param count     how many of the positions to use
+     * @param t         the value
+     */
+    public void set(int[] positions, int count, T t) {
+        synchronized (this) {
+            int id = id(t);
+            DataBits bits = data.get();
+
+            for (int i = 0; i < count; i++) {
+                bits.set(positions[i], id);
+            }
         }
     }
 
+    private int id(T t) {
+        int id = palette.get().id(t);
+
+        if (id == -1) {
+            expandOne();
+            id = palette.get().add(t);
+        }
+
+        return id;
+    }
+
     private void expandOne() {
         if (palette.get().size() + 1 >= BIT[bits.get()]) {
             setBits(bits.get() + 1);
@@ -214,4 +256,13 @@ public class DataContainer<T> {
     public int size() {
         return getData().getSize();
     }
+
+    /**
+     * Roughly estimate how many bytes this container keeps on the heap
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryUsage() {
+        return 64 + (getData().getRaw().length() * 8L) + (getPalette().size() * 16L);
+    }
 }
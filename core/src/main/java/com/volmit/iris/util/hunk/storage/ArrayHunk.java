@@ -55,4 +55,14 @@ public class ArrayHunk<T> extends StorageHunk<T> implements Hunk<T> {
     public void fill(T t) {
         Arrays.fill(data, t);
     }
+
+    @Override
+    public void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        for (int k = z1; k <= z2; k++) {
+            for (int j = y1; j <= y2; j++) {
+                int from = index(x1, j, k);
+                Arrays.fill(data, from, from + x2 - x1 + 1, t);
+            }
+        }
+    }
 }
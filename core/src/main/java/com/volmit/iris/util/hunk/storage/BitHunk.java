@@ -0,0 +1,187 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.hunk.storage;
+
+import com.volmit.iris.util.function.Consumer4Int;
+import com.volmit.iris.util.function.Consumer4IntIO;
+import com.volmit.iris.util.hunk.Hunk;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A hunk which can only hold null or one of two values. Each voxel costs two bits,
+ * one marking it as set and one picking between the off and on value.
+ * Writes are atomic per voxel, so concurrent writers never lose each others bits.
+ *
+ * @param <T> the value type
+ */
+public class BitHunk<T> extends StorageHunk<T> implements Hunk<T> {
+    private final AtomicLongArray present;
+    private final AtomicLongArray value;
+    private final T off;
+    private final T on;
+
+    public BitHunk(int w, int h, int d, T off, T on) {
+        super(w, h, d);
+        int words = ((w * h * d) + 63) >> 6;
+        present = new AtomicLongArray(words);
+        value = new AtomicLongArray(words);
+        this.off = off;
+        this.on = on;
+    }
+
+    private int index(int x, int y, int z) {
+        return (z * getWidth() * getHeight()) + (y * getWidth()) + x;
+    }
+
+    private static void write(AtomicLongArray bits, int index, boolean b) {
+        int word = index >> 6;
+        long mask = 1L << index;
+        long v;
+
+        do {
+            v = bits.get(word);
+
+            if (((v & mask) != 0) == b) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, v, b ? v | mask : v & ~mask));
+    }
+
+    private static boolean read(AtomicLongArray bits, int index) {
+        return (bits.get(index >> 6) & (1L << index)) != 0;
+    }
+
+    @Override
+    public void setRaw(int x, int y, int z, T t) {
+        int index = index(x, y, z);
+
+        if (t == null) {
+            write(present, index, false);
+            return;
+        }
+
+        write(value, index, on.equals(t));
+        write(present, index, true);
+    }
+
+    @Override
+    public T getRaw(int x, int y, int z) {
+        return get(index(x, y, z));
+    }
+
+    private T get(int index) {
+        if (!read(present, index)) {
+            return null;
+        }
+
+        return read(value, index) ? on : off;
+    }
+
+    @Override
+    public int getEntryCount() {
+        int count = 0;
+
+        for (int i = 0; i < present.length(); i++) {
+            count += Long.bitCount(present.get(i));
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 0; i < present.length(); i++) {
+            if (present.get(i) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the bytes held by the two bitsets
+     */
+    public long getMemoryUsage() {
+        return present.length() * 16L;
+    }
+
+    @Override
+    public void empty(T b) {
+        long fill = b != null && on.equals(b) ? -1L : 0L;
+        long set = b == null ? 0L : -1L;
+        int size = getWidth() * getHeight() * getDepth();
+
+        for (int i = 0; i < present.length(); i++) {
+            long mask = (i << 6) + 64 <= size ? -1L : (1L << (size & 63)) - 1;
+            value.set(i, fill & mask);
+            present.set(i, set & mask);
+        }
+    }
+
+    @Override
+    public synchronized Hunk<T> iterateSyncInt(Consumer4Int<T> c) {
+        int w = getWidth();
+        int wh = w * getHeight();
+
+        for (int i = 0; i < present.length(); i++) {
+            long bits = present.get(i);
+
+            while (bits != 0) {
+                int index = (i << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                T t = get(index);
+
+                if (t != null) {
+                    int z = index / wh;
+                    int r = index - (z * wh);
+                    c.accept(r % w, r / w, z, t);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public synchronized Hunk<T> iterateSyncIntIO(Consumer4IntIO<T> c) throws IOException {
+        int w = getWidth();
+        int wh = w * getHeight();
+
+        for (int i = 0; i < present.length(); i++) {
+            long bits = present.get(i);
+
+            while (bits != 0) {
+                int index = (i << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                T t = get(index);
+
+                if (t != null) {
+                    int z = index / wh;
+                    int r = index - (z * wh);
+                    c.accept(r % w, r / w, z, t);
+                }
+            }
+        }
+
+        return this;
+    }
+}
@@ -18,8 +18,8 @@
 
 package com.volmit.iris.util.hunk.storage;
 
-import com.volmit.iris.util.function.Consumer4;
-import com.volmit.iris.util.function.Consumer4IO;
+import com.volmit.iris.util.function.Consumer4Int;
+import com.volmit.iris.util.function.Consumer4IntIO;
 import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.hunk.bits.DataContainer;
 import com.volmit.iris.util.hunk.bits.Writable;
@@ -52,7 +52,7 @@ public class PaletteHunk<T> extends StorageHunk<T> implements Hunk<T> {
     }
 
     @Override
-    public synchronized Hunk<T> iterateSync(Consumer4<Integer, Integer, Integer, T> c) {
+    public synchronized Hunk<T> iterateSyncInt(Consumer4Int<T> c) {
         for (int i = 0; i < getWidth(); i++) {
             for (int j = 0; j < getHeight(); j++) {
                 for (int k = 0; k < getDepth(); k++) {
@@ -67,7 +67,7 @@ public class PaletteHunk<T> extends StorageHunk<T> implements Hunk<T> {
     }
 
     @Override
-    public synchronized Hunk<T> iterateSyncIO(Consumer4IO<Integer, Integer, Integer, T> c) throws IOException {
+    public synchronized Hunk<T> iterateSyncIntIO(Consumer4IntIO<T> c) throws IOException {
         for (int i = 0; i < getWidth(); i++) {
             for (int j = 0; j < getHeight(); j++) {
                 for (int k = 0; k < getDepth(); k++) {
@@ -90,4 +90,27 @@ public class PaletteHunk<T> extends StorageHunk<T> implements Hunk<T> {
     public T getRaw(int x, int y, int z) {
         return data.get(index(x, y, z));
     }
+
+    @Override
+    public void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        DataContainer<T> c = data;
+
+        synchronized (c) {
+            for (int k = z1; k <= z2; k++) {
+                for (int j = y1; j <= y2; j++) {
+                    c.set(index(x1, j, k), 1, x2 - x1 + 1, t);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fillColumnSpan(int x, int y1, int y2, int z, T t) {
+        data.set(index(x, y1, z), getWidth(), y2 - y1 + 1, t);
+    }
+
+    @Override
+    public void setMany(int[] positions, int count, T t) {
+        data.set(positions, count, t);
+    }
 }
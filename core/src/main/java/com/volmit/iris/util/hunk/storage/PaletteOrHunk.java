@@ -18,8 +18,8 @@
 
 package com.volmit.iris.util.hunk.storage;
 
-import com.volmit.iris.util.function.Consumer4;
-import com.volmit.iris.util.function.Consumer4IO;
+import com.volmit.iris.util.function.Consumer4Int;
+import com.volmit.iris.util.function.Consumer4IntIO;
 import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.hunk.bits.DataContainer;
 import com.volmit.iris.util.hunk.bits.Writable;
@@ -59,6 +59,21 @@ public abstract class PaletteOrHunk<T> extends StorageHunk<T> implements Hunk<T>
         return hunk.getRaw(x, y, z);
     }
 
+    @Override
+    public void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        hunk.fillBox(x1, y1, z1, x2, y2, z2, t);
+    }
+
+    @Override
+    public void fillColumnSpan(int x, int y1, int y2, int z, T t) {
+        hunk.fillColumnSpan(x, y1, y2, z, t);
+    }
+
+    @Override
+    public void setMany(int[] positions, int count, T t) {
+        hunk.setMany(positions, count, t);
+    }
+
     public int getEntryCount() {
         return hunk.getEntryCount();
     }
@@ -72,14 +87,14 @@ public abstract class PaletteOrHunk<T> extends StorageHunk<T> implements Hunk<T>
     }
 
     @Override
-    public synchronized Hunk<T> iterateSync(Consumer4<Integer, Integer, Integer, T> c) {
-        hunk.iterateSync(c);
+    public synchronized Hunk<T> iterateSyncInt(Consumer4Int<T> c) {
+        hunk.iterateSyncInt(c);
         return this;
     }
 
     @Override
-    public synchronized Hunk<T> iterateSyncIO(Consumer4IO<Integer, Integer, Integer, T> c) throws IOException {
-        hunk.iterateSyncIO(c);
+    public synchronized Hunk<T> iterateSyncIntIO(Consumer4IntIO<T> c) throws IOException {
+        hunk.iterateSyncIntIO(c);
         return this;
     }
 
@@ -0,0 +1,133 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.hunk.view;
+
+import com.volmit.iris.util.hunk.Hunk;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the top y of every column matching each of the given heightmap predicates as blocks are written,
+ * so callers can look up a column height without scanning it. Writing a matching block above the top raises
+ * it right away, replacing the top block with a non matching one only marks the column so the next lookup
+ * rescans it once. Columns are only tracked once they were looked up, until then writes skip the predicates.
+ *
+ * @param <T> the type
+ */
+public class HeightmapHunk<T> implements Hunk<T> {
+    private static final int STALE = Integer.MIN_VALUE;
+    private final Hunk<T> src;
+    private final Predicate<T>[] heightmaps;
+    private final AtomicIntegerArray tops;
+    private final int columns;
+
+    /**
+     * @param src        the hunk to track, existing data is picked up lazily on the first lookup of a column
+     * @param heightmaps the heightmaps, looked up by their index
+     */
+    @SafeVarargs
+    public HeightmapHunk(Hunk<T> src, Predicate<T>... heightmaps) {
+        this.src = src;
+        this.heightmaps = heightmaps;
+        this.columns = src.getWidth() * src.getDepth();
+        this.tops = new AtomicIntegerArray(columns * heightmaps.length);
+
+        for (int i = 0; i < tops.length(); i++) {
+            tops.set(i, STALE);
+        }
+    }
+
+    @Override
+    public void setRaw(int x, int y, int z, T t) {
+        src.setRaw(x, y, z, t);
+        int column = (z * src.getWidth()) + x;
+
+        for (int m = 0; m < heightmaps.length; m++) {
+            int i = (m * columns) + column;
+            int top = tops.get(i);
+
+            // A stale column gets rescanned on its next lookup anyway
+            if (top == STALE) {
+                continue;
+            }
+
+            if (heightmaps[m].test(t)) {
+                while (top != STALE && y > top && !tops.compareAndSet(i, top, y)) {
+                    top = tops.get(i);
+                }
+            } else {
+                tops.compareAndSet(i, y, STALE);
+            }
+        }
+    }
+
+    /**
+     * Get the top y of a column in the given heightmap
+     *
+     * @param heightmap the heightmap index
+     * @param x         the x
+     * @param z         the z
+     * @return the top y or -1 if nothing in this column matches
+     */
+    public int getTop(int heightmap, int x, int z) {
+        int i = (heightmap * columns) + (z * src.getWidth()) + x;
+        int top = tops.get(i);
+
+        if (top != STALE) {
+            return top;
+        }
+
+        top = -1;
+        for (int y = src.getHeight() - 1; y >= 0; y--) {
+            if (heightmaps[heightmap].test(src.getRaw(x, y, z))) {
+                top = y;
+                break;
+            }
+        }
+
+        tops.compareAndSet(i, STALE, top);
+        return top;
+    }
+
+    @Override
+    public T getRaw(int x, int y, int z) {
+        return src.getRaw(x, y, z);
+    }
+
+    @Override
+    public int getWidth() {
+        return src.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return src.getHeight();
+    }
+
+    @Override
+    public int getDepth() {
+        return src.getDepth();
+    }
+
+    @Override
+    public Hunk<T> getSource() {
+        return src;
+    }
+}
@@ -35,6 +35,7 @@ import com.volmit.iris.util.documentation.RegionCoordinates;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.format.Form;
 import com.volmit.iris.util.function.Consumer4;
+import com.volmit.iris.util.function.Consumer4Int;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.matter.Matter;
 import com.volmit.iris.util.matter.MatterSlice;
@@ -52,6 +53,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -67,10 +69,10 @@ public class Mantle {
     private final Map<Long, Long> lastUse;
     @Getter
     private final Map<Long, TectonicPlate> loadedRegions;
+    @Getter
     private final HyperLock hyperLock;
     private final AtomicBoolean closed;
     private final MultiBurst ioBurst;
-    private final AtomicBoolean ioTrim;
     private final AtomicBoolean ioTectonicUnload;
 
     /**
@@ -85,7 +87,6 @@ public class Mantle {
         this.closed = new AtomicBoolean(false);
         this.dataFolder = dataFolder;
         this.worldHeight = worldHeight;
-        this.ioTrim = new AtomicBoolean(false);
         this.ioTectonicUnload = new AtomicBoolean(false);
         dataFolder.mkdirs();
         loadedRegions = new KMap<>();
@@ -114,13 +115,51 @@ public class Mantle {
      * @return the file
      */
     public static File fileForRegion(File folder, Long key) {
-        File f = new File(folder, "p." + key + ".ttp.lz4b");
+        File f = new File(folder, "p." + key + TectonicPlate.EXTENSION);
         if (!f.getParentFile().exists()) {
             f.getParentFile().mkdirs();
         }
         return f;
     }
 
+    /**
+     * Get the files older versions of the mantle stored the given region in.
+     * These are read if no up to date plate exists and are deleted once the plate is written again
+     *
+     * @param folder the data folder
+     * @param key    the region key
+     * @return the legacy files, newest format first
+     */
+    public static File[] legacyFilesForRegion(File folder, Long key) {
+        return new File[]{
+                new File(folder, "p." + key + ".ttp.lz4b"),
+                new File(folder, "p." + key + ".ttp")
+        };
+    }
+
+    /**
+     * Find the file the given region is currently stored in
+     *
+     * @param folder the data folder
+     * @param key    the region key
+     * @return the file or null if the region was never saved
+     */
+    private static File existingFileForRegion(File folder, Long key) {
+        File file = fileForRegion(folder, key);
+
+        if (file.exists()) {
+            return file;
+        }
+
+        for (File i : legacyFilesForRegion(folder, key)) {
+            if (i.exists()) {
+                return i;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Get the long value representing a chunk or region coordinate
      *
@@ -142,9 +181,65 @@ public class Mantle {
      */
     @ChunkCoordinates
     public void raiseFlag(int x, int z, MantleFlag flag, Runnable r) {
-        if (!hasFlag(x, z, flag)) {
-            flag(x, z, flag, true);
-            r.run();
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            plate.getOrCreate(x & 31, z & 31).raiseFlag(flag, r);
+        } finally {
+            plate.release();
+        }
+    }
+
+    /**
+     * Claim a lowered flag for work which finishes later, see {@link MantleChunk#claim(MantleFlag)}.
+     * The claim must be followed by either {@link #releaseFlag(int, int, MantleFlag)} once the work
+     * is done or {@link #unclaimFlag(int, int, MantleFlag)} if it was abandoned
+     *
+     * @param x    the chunk x
+     * @param z    the chunk z
+     * @param flag the flag to claim
+     * @return true if the flag was lowered and is now claimed by the caller
+     */
+    @ChunkCoordinates
+    public boolean claimFlag(int x, int z, MantleFlag flag) {
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            return plate.getOrCreate(x & 31, z & 31).claim(flag);
+        } finally {
+            plate.release();
+        }
+    }
+
+    /**
+     * Release a claimed flag once its work is done, leaving it raised
+     *
+     * @param x    the chunk x
+     * @param z    the chunk z
+     * @param flag the flag to release
+     */
+    @ChunkCoordinates
+    public void releaseFlag(int x, int z, MantleFlag flag) {
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            plate.getOrCreate(x & 31, z & 31).release(flag);
+        } finally {
+            plate.release();
+        }
+    }
+
+    /**
+     * Give up a claimed flag, lowering it so the work is redone the next time it is raised
+     *
+     * @param x    the chunk x
+     * @param z    the chunk z
+     * @param flag the flag to unclaim
+     */
+    @ChunkCoordinates
+    public void unclaimFlag(int x, int z, MantleFlag flag) {
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            plate.getOrCreate(x & 31, z & 31).unclaim(flag);
+        } finally {
+            plate.release();
         }
     }
 
@@ -178,9 +273,52 @@ public class Mantle {
         }
     }
 
+    /**
+     * Get a chunk, creating it if it doesn't exist yet. Its plate stays retained until the returned
+     * handle is closed, so only use the chunk while the handle is open.
+     *
+     * @param x the chunk x
+     * @param z the chunk z
+     * @return the retained chunk
+     */
+    @ChunkCoordinates
+    public RetainedChunk useChunk(int x, int z) {
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            return new RetainedChunk(plate, plate.getOrCreate(x & 31, z & 31));
+        } catch (Throwable e) {
+            plate.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #useChunk(int, int)} but never creates anything, neither plates nor chunks
+     *
+     * @param x the chunk x
+     * @param z the chunk z
+     * @return the retained chunk or null if it doesn't exist
+     */
     @ChunkCoordinates
-    public MantleChunk getChunk(int x, int z) {
-        return get(x >> 5, z >> 5).getOrCreate(x & 31, z & 31);
+    public RetainedChunk useChunkIfPresent(int x, int z) {
+        if (!hasTectonicPlate(x >> 5, z >> 5)) {
+            return null;
+        }
+
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            MantleChunk chunk = plate.get(x & 31, z & 31);
+
+            if (chunk == null) {
+                plate.release();
+                return null;
+            }
+
+            return new RetainedChunk(plate, chunk);
+        } catch (Throwable e) {
+            plate.release();
+            throw e;
+        }
     }
 
     /**
@@ -193,11 +331,21 @@ public class Mantle {
      */
     @ChunkCoordinates
     public void flag(int x, int z, MantleFlag flag, boolean flagged) {
-        get(x >> 5, z >> 5).getOrCreate(x & 31, z & 31).flag(flag, flagged);
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            plate.getOrCreate(x & 31, z & 31).flag(flag, flagged);
+        } finally {
+            plate.release();
+        }
     }
 
     public void deleteChunk(int x, int z) {
-        get(x >> 5, z >> 5).delete(x & 31, z & 31);
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            plate.delete(x & 31, z & 31);
+        } finally {
+            plate.release();
+        }
     }
 
     /**
@@ -210,7 +358,7 @@ public class Mantle {
     @RegionCoordinates
     public boolean hasTectonicPlate(int x, int z) {
         Long k = key(x, z);
-        return loadedRegions.containsKey(k) || fileForRegion(dataFolder, k).exists();
+        return loadedRegions.containsKey(k) || existingFileForRegion(dataFolder, k) != null;
     }
 
     /**
@@ -224,11 +372,26 @@ public class Mantle {
      */
     @ChunkCoordinates
     public <T> void iterateChunk(int x, int z, Class<T> type, Consumer4<Integer, Integer, Integer, T> iterator) {
-        /*if(!hasTectonicPlate(x >> 5, z >> 5)) {
-            return;
-        }*/
+        iterateChunkInt(x, z, type, iterator::accept);
+    }
 
-        get(x >> 5, z >> 5).getOrCreate(x & 31, z & 31).iterate(type, iterator);
+    /**
+     * Iterate data in a chunk without boxing the coordinates
+     *
+     * @param x        the chunk x
+     * @param z        the chunk z
+     * @param type     the type of data to iterate
+     * @param iterator the iterator (x,y,z,data) -> do stuff
+     * @param <T>      the type of data to iterate
+     */
+    @ChunkCoordinates
+    public <T> void iterateChunkInt(int x, int z, Class<T> type, Consumer4Int<T> iterator) {
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            plate.getOrCreate(x & 31, z & 31).iterateInt(type, iterator);
+        } finally {
+            plate.release();
+        }
     }
 
     /**
@@ -245,7 +408,12 @@ public class Mantle {
             return false;
         }
 
-        return get(x >> 5, z >> 5).getOrCreate(x & 31, z & 31).isFlagged(flag);
+        TectonicPlate plate = acquire(x >> 5, z >> 5);
+        try {
+            return plate.getOrCreate(x & 31, z & 31).isFlagged(flag);
+        } finally {
+            plate.release();
+        }
     }
 
     /**
@@ -272,11 +440,15 @@ public class Mantle {
             return;
         }
 
-        Matter matter = get((x >> 4) >> 5, (z >> 4) >> 5)
-                .getOrCreate((x >> 4) & 31, (z >> 4) & 31)
-                .getOrCreate(y >> 4);
-        matter.slice(matter.getClass(t))
-                .set(x & 15, y & 15, z & 15, t);
+        TectonicPlate plate = acquire((x >> 4) >> 5, (z >> 4) >> 5);
+        try {
+            Matter matter = plate.getOrCreate((x >> 4) & 31, (z >> 4) & 31)
+                    .getOrCreate(y >> 4);
+            matter.slice(matter.getClass(t))
+                    .set(x & 15, y & 15, z & 15, t);
+        } finally {
+            plate.release();
+        }
     }
 
     @BlockCoordinates
@@ -289,11 +461,15 @@ public class Mantle {
             return;
         }
 
-        Matter matter = get((x >> 4) >> 5, (z >> 4) >> 5)
-                .getOrCreate((x >> 4) & 31, (z >> 4) & 31)
-                .getOrCreate(y >> 4);
-        matter.slice(t)
-                .set(x & 15, y & 15, z & 15, null);
+        TectonicPlate plate = acquire((x >> 4) >> 5, (z >> 4) >> 5);
+        try {
+            Matter matter = plate.getOrCreate((x >> 4) & 31, (z >> 4) & 31)
+                    .getOrCreate(y >> 4);
+            matter.slice(t)
+                    .set(x & 15, y & 15, z & 15, null);
+        } finally {
+            plate.release();
+        }
     }
 
     /**
@@ -326,10 +502,19 @@ public class Mantle {
             return null;
         }
 
-        return (T) get((x >> 4) >> 5, (z >> 4) >> 5)
-                .getOrCreate((x >> 4) & 31, (z >> 4) & 31)
-                .getOrCreate(y >> 4).slice(t)
-                .get(x & 15, y & 15, z & 15);
+        TectonicPlate plate = acquire((x >> 4) >> 5, (z >> 4) >> 5);
+        try {
+            Matter matter = plate.getOrCreate((x >> 4) & 31, (z >> 4) & 31)
+                    .get(y >> 4);
+
+            if (matter == null) {
+                return null;
+            }
+
+            return (T) matter.slice(t).get(x & 15, y & 15, z & 15);
+        } finally {
+            plate.release();
+        }
     }
 
     /**
@@ -343,7 +528,7 @@ public class Mantle {
 
     public void set(int x, int y, int z, Matter matter) {
         for (MatterSlice<?> i : matter.getSliceMap().values()) {
-            i.iterate((mx, my, mz, v) -> set(mx + x, my + y, mz + z, v));
+            i.iterateInt((mx, my, mz, v) -> set(mx + x, my + y, mz + z, v));
         }
     }
 
@@ -362,10 +547,14 @@ public class Mantle {
         BurstExecutor b = ioBurst.burst(loadedRegions.size());
         for (Long i : loadedRegions.keySet()) {
             b.queue(() -> {
+                TectonicPlate plate = loadedRegions.get(i);
+
                 try {
-                    loadedRegions.get(i).write(fileForRegion(dataFolder, i));
+                    writePlate(i, plate);
                 } catch (IOException e) {
                     e.printStackTrace();
+                } finally {
+                    plate.close();
                 }
             });
         }
@@ -401,56 +590,141 @@ public class Mantle {
     private final ReentrantLock unloadLock = new ReentrantLock();
     @Getter
     private final KList<Long> toUnload = new KList<>();
+    private final LongAdder plateHits = new LongAdder();
+    private final LongAdder plateMisses = new LongAdder();
+    private final LongAdder plateEvictions = new LongAdder();
+    private final LongAdder pressureEvictions = new LongAdder();
+    private final AtomicLong residentBytes = new AtomicLong();
 
     /**
-     * Save & unload regions that have not been used for more than the
-     * specified amount of milliseconds
+     * Queue plates for unloading. Plates idle for longer than the idle duration are always queued.
+     * If the loaded plates take up more than the memory budget, the remaining idle plates are queued
+     * by how long they sat unused times how much memory they hold, until the estimate drops
+     * below the budget again. Plates which are retained right now are never queued.
      *
-     * @param baseIdleDuration the duration
+     * @param baseIdleDuration the duration in ms after which a plate is unloaded regardless of memory
+     * @param memoryBudget     the amount of heap in bytes the loaded plates of this mantle should stay under
      */
-    public synchronized void trim(long baseIdleDuration, int tectonicLimit) {
+    public void trim(long baseIdleDuration, long memoryBudget) {
         if (closed.get()) {
             throw new RuntimeException("The Mantle is closed");
         }
 
         adjustedIdleDuration.set(baseIdleDuration);
-
-        if (loadedRegions != null) {
-            if (loadedRegions.size() > tectonicLimit) {
-                // todo update this correctly and maybe do something when its above a 100%
-                adjustedIdleDuration.set(Math.max(adjustedIdleDuration.get() - (1000 * (((loadedRegions.size() - tectonicLimit) / (double) tectonicLimit) * 100) * 0.4), 4000));
-            }
-        }
-
-        ioTrim.set(true);
         unloadLock.lock();
         try {
-            if (lastUse != null && IrisEngineSVC.instance != null) {
-                if (!lastUse.isEmpty()) {
-                    Iris.debug("Trimming Tectonic Plates older than " + Form.duration(adjustedIdleDuration.get(), 0));
-                    for (long i : new ArrayList<>(lastUse.keySet())) {
-                        double finalAdjustedIdleDuration = adjustedIdleDuration.get();
-                        hyperLock.withLong(i, () -> {
-                            Long lastUseTime = lastUse.get(i);
-                            if (lastUseTime != null && M.ms() - lastUseTime >= finalAdjustedIdleDuration) {
-                                toUnload.add(i);
-                                Iris.debug("Tectonic Region added to unload");
-                                IrisEngineSVC.instance.trimActiveAlive.reset();
-                            }
-                        });
+            if (IrisEngineSVC.instance != null) {
+                long now = M.ms();
+                long resident = 0;
+                long queued = 0;
+                KList<Long> candidates = new KList<>();
+                KMap<Long, Double> scores = new KMap<>();
+                KMap<Long, Long> sizes = new KMap<>();
+
+                for (Long i : new ArrayList<>(loadedRegions.keySet())) {
+                    TectonicPlate plate = loadedRegions.get(i);
+
+                    if (plate == null) {
+                        continue;
+                    }
+
+                    long size = plate.getMemoryUsage();
+                    resident += size;
+
+                    if (toUnload.contains(i)) {
+                        queued += size;
+                        continue;
+                    }
+
+                    if (plate.isInUse()) {
+                        continue;
+                    }
+
+                    long idle = now - Math.max(lastUse.getOrDefault(i, 0L), plate.getLastUse());
+
+                    if (idle >= baseIdleDuration) {
+                        toUnload.add(i);
+                        queued += size;
+                        Iris.debug("Tectonic Region added to unload");
+                        IrisEngineSVC.instance.trimActiveAlive.reset();
+                        continue;
                     }
+
+                    candidates.add(i);
+                    scores.put(i, (idle + 1D) * size);
+                    sizes.put(i, size);
                 }
-            }
 
+                residentBytes.set(resident);
+
+                if (resident - queued > memoryBudget) {
+                    long target = (long) (memoryBudget * 0.9);
+                    candidates.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+
+                    for (Long i : candidates) {
+                        if (resident - queued <= target) {
+                            break;
+                        }
+
+                        toUnload.add(i);
+                        queued += sizes.get(i);
+                        pressureEvictions.increment();
+                        IrisEngineSVC.instance.trimActiveAlive.reset();
+                    }
+
+                    Iris.debug("Mantle over its memory budget (" + Form.memSize(resident, 1) + " / " + Form.memSize(memoryBudget, 1) + "), queued " + Form.memSize(queued, 1) + " for unloading");
+                }
+            }
         } catch (Throwable e) {
             Iris.reportError(e);
         } finally {
-            ioTrim.set(false);
             unloadLock.unlock();
         }
     }
 
-    public synchronized int unloadTectonicPlate(int tectonicLimit) {
+    /**
+     * @return how many plate lookups found the plate already loaded
+     */
+    public long getPlateHits() {
+        return plateHits.sum();
+    }
+
+    /**
+     * @return how many plate lookups had to read or create the plate
+     */
+    public long getPlateMisses() {
+        return plateMisses.sum();
+    }
+
+    /**
+     * @return how many plates were unloaded
+     */
+    public long getPlateEvictions() {
+        return plateEvictions.sum();
+    }
+
+    /**
+     * @return how many plates were queued for unloading because the mantle was over its memory budget
+     */
+    public long getPressureEvictions() {
+        return pressureEvictions.sum();
+    }
+
+    /**
+     * @return the estimated heap usage of all loaded plates as of the last trim
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    /**
+     * Write and unload every plate queued for unloading which is not retained right now.
+     * How many plates get unloaded is decided by trim, this only decides how to do it.
+     *
+     * @param parallelThreshold unload in parallel once more plates than this are queued, usually the core count
+     * @return the amount of plates unloaded
+     */
+    public synchronized int unloadTectonicPlate(int parallelThreshold) {
         AtomicInteger i = new AtomicInteger();
         unloadLock.lock();
         BurstExecutor burst = null;
@@ -459,7 +733,7 @@ public class Mantle {
                 KList<Long> copy = toUnload.copy();
                 if (!disableClear) toUnload.clear();
                 burst = MultiBurst.burst.burst(copy.size());
-                burst.setMulticore(copy.size() > tectonicLimit);
+                burst.setMulticore(copy.size() > parallelThreshold);
                 for (int j = 0; j < copy.size(); j++) {
                     Long id = copy.get(j);
                     if (id == null) {
@@ -471,15 +745,23 @@ public class Mantle {
                             hyperLock.withLong(id, () -> {
                                 TectonicPlate m = loadedRegions.get(id);
                                 if (m != null) {
+                                    if (!m.tryUnload()) {
+                                        Iris.debug("Skipped unloading Tectonic Plate " + C.DARK_GREEN + Cache.keyX(id) + " " + Cache.keyZ(id) + C.RESET + " as it is still in use");
+                                        return;
+                                    }
+
                                     try {
-                                        m.write(fileForRegion(dataFolder, id));
+                                        writePlate(id, m);
+                                        m.close();
                                         loadedRegions.remove(id);
                                         lastUse.remove(id);
+                                        plateEvictions.increment();
                                         if (disableClear) toUnload.remove(id);
                                         i.incrementAndGet();
                                         Iris.debug("Unloaded Tectonic Plate " + C.DARK_GREEN + Cache.keyX(id) + " " + Cache.keyZ(id));
                                         IrisEngineSVC.instance.unloadActiveAlive.reset();
                                     } catch (IOException e) {
+                                        m.cancelUnload();
                                         Iris.reportError(e);
                                     }
                                 }
@@ -500,6 +782,29 @@ public class Mantle {
     }
 
 
+    /**
+     * Get the Tectonic Plate at the given coordinates and retain it, so it cannot be unloaded
+     * until it is released again. Loaded plates are found without leaving the calling thread.
+     * If the plate is being unloaded right now, this waits for the unload to finish and reads it again.
+     *
+     * @param x the region x
+     * @param z the region z
+     * @return the retained plate, release it once you are done with it
+     */
+    @RegionCoordinates
+    private TectonicPlate acquire(int x, int z) {
+        while (true) {
+            TectonicPlate p = get(x, z);
+
+            if (p.retain()) {
+                return p;
+            }
+
+            hyperLock.with(x, z, () -> {
+            });
+        }
+    }
+
     /**
      * This retreives a future of the Tectonic Plate at the given coordinates.
      * All methods accessing tectonic plates should go through this method
@@ -510,19 +815,10 @@ public class Mantle {
      */
     @RegionCoordinates
     private TectonicPlate get(int x, int z) {
-        if (ioTrim.get()) {
-            try {
-                return getSafe(x, z).get();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            } catch (ExecutionException e) {
-                e.printStackTrace();
-            }
-        }
-
         TectonicPlate p = loadedRegions.get(key(x, z));
 
         if (p != null) {
+            plateHits.increment();
             return p;
         }
 
@@ -566,11 +862,10 @@ public class Mantle {
                 return region;
             }
 
-            File file = fileForRegion(dataFolder, x, z);
-            if (!file.exists())
-                file = new File(dataFolder, file.getName().substring(".lz4b".length()));
+            plateMisses.increment();
+            File file = existingFileForRegion(dataFolder, k);
 
-            if (file.exists()) {
+            if (file != null) {
                 try {
                     Iris.addPanic("reading.tectonic-plate", file.getAbsolutePath());
                     region = TectonicPlate.read(worldHeight, file);
@@ -603,12 +898,52 @@ public class Mantle {
         }));
     }
 
-    public void saveAll() {
+    /**
+     * Write a plate in the current format and drop any legacy file it was migrated from
+     *
+     * @param key   the region key
+     * @param plate the plate
+     * @throws IOException shit happens
+     */
+    private void writePlate(Long key, TectonicPlate plate) throws IOException {
+        plate.write(fileForRegion(dataFolder, key));
 
+        for (File i : legacyFilesForRegion(dataFolder, key)) {
+            if (i.exists() && !i.delete()) {
+                Iris.warn("Failed to delete legacy Tectonic Plate " + i.getAbsolutePath());
+            }
+        }
     }
 
-    public MantleChunk getChunk(Chunk e) {
-        return getChunk(e.getX(), e.getZ());
+    /**
+     * Flush every loaded plate with unsaved changes to disk. Plates only append
+     * their modified chunks so this is cheap enough to call periodically.
+     */
+    public void saveAll() {
+        if (closed.get()) {
+            return;
+        }
+
+        BurstExecutor b = ioBurst.burst(loadedRegions.size());
+        for (Long i : loadedRegions.keySet()) {
+            b.queue(() -> hyperLock.withLongRead(i, () -> {
+                TectonicPlate plate = loadedRegions.get(i);
+
+                if (plate != null && plate.isDirty()) {
+                    try {
+                        writePlate(i, plate);
+                    } catch (IOException e) {
+                        Iris.reportError(e);
+                    }
+                }
+            }));
+        }
+
+        try {
+            b.complete();
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        }
     }
 
     public void deleteChunkSlice(int x, int z, Class<?> c) {
@@ -616,7 +951,9 @@ public class Mantle {
             return;
         }
 
-        getChunk(x, z).deleteSlices(c);
+        try (RetainedChunk chunk = useChunk(x, z)) {
+            chunk.getChunk().deleteSlices(c);
+        }
     }
 
     public int getLoadedRegionCount() {
@@ -628,7 +965,7 @@ public class Mantle {
             return;
         }
 
-        slice.iterateSync((xx, yy, zz, t) -> set(x + xx, y + yy, z + zz, t));
+        slice.iterateSyncInt((xx, yy, zz, t) -> set(x + xx, y + yy, z + zz, t));
     }
 
     public boolean isLoaded(Chunk c) {
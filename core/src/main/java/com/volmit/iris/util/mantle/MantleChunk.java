@@ -21,6 +21,7 @@ package com.volmit.iris.util.mantle;
 import com.volmit.iris.Iris;
 import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.function.Consumer4;
+import com.volmit.iris.util.function.Consumer4Int;
 import com.volmit.iris.util.matter.IrisMatter;
 import com.volmit.iris.util.matter.Matter;
 import com.volmit.iris.util.matter.MatterSlice;
@@ -43,6 +44,7 @@ public class MantleChunk {
     private final int z;
     private final AtomicIntegerArray flags;
     private final AtomicReferenceArray<Matter> sections;
+    private volatile boolean dirty;
 
     /**
      * Create a mantle chunk
@@ -55,6 +57,7 @@ public class MantleChunk {
         flags = new AtomicIntegerArray(MantleFlag.values().length);
         this.x = x;
         this.z = z;
+        this.dirty = true;
 
         for (int i = 0; i < flags.length(); i++) {
             flags.set(i, 0);
@@ -83,21 +86,103 @@ public class MantleChunk {
                 sections.set(i, Matter.readDin(din));
             }
         }
+
+        markClean();
     }
 
     public void flag(MantleFlag flag, boolean f) {
-        flags.set(flag.ordinal(), f ? 1 : 0);
+        if ((flags.getAndSet(flag.ordinal(), f ? 1 : 0) != 0) != f) {
+            dirty = true;
+        }
     }
 
     public void raiseFlag(MantleFlag flag, Runnable r) {
-        if (!isFlagged(flag)) {
-            flag(flag, true);
+        if (flags.compareAndSet(flag.ordinal(), 0, 1)) {
+            dirty = true;
             r.run();
         }
     }
 
     public boolean isFlagged(MantleFlag flag) {
-        return flags.get(flag.ordinal()) == 1;
+        return flags.get(flag.ordinal()) != 0;
+    }
+
+    /**
+     * Atomically raise a flag and claim the work it guards. Only one thread can ever claim
+     * a lowered flag, every other thread sees it as raised but claimed until {@link #release(MantleFlag)}
+     *
+     * @param flag the flag to claim
+     * @return true if this thread claimed the flag and must release it once the work is done
+     */
+    public boolean claim(MantleFlag flag) {
+        if (flags.compareAndSet(flag.ordinal(), 0, 2)) {
+            dirty = true;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Release a claimed flag, leaving it raised and waking up any threads waiting on it
+     *
+     * @param flag the flag to release
+     */
+    public void release(MantleFlag flag) {
+        if (flags.compareAndSet(flag.ordinal(), 2, 1)) {
+            synchronized (flags) {
+                flags.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Give up a claimed flag without finishing its work, lowering it again so the work is redone later
+     *
+     * @param flag the flag to unclaim
+     */
+    public void unclaim(MantleFlag flag) {
+        if (flags.compareAndSet(flag.ordinal(), 2, 0)) {
+            dirty = true;
+            synchronized (flags) {
+                flags.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Is the flag currently claimed by another thread which did not finish its work yet
+     *
+     * @param flag the flag
+     * @return true if it is claimed
+     */
+    public boolean isClaimed(MantleFlag flag) {
+        return flags.get(flag.ordinal()) == 2;
+    }
+
+    /**
+     * Block until the given flag is no longer claimed
+     *
+     * @param flag the flag to wait for
+     * @return true if this thread actually had to wait
+     */
+    public boolean await(MantleFlag flag) {
+        if (!isClaimed(flag)) {
+            return false;
+        }
+
+        synchronized (flags) {
+            while (isClaimed(flag)) {
+                try {
+                    flags.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -138,7 +223,9 @@ public class MantleChunk {
      */
     @ChunkCoordinates
     public void delete(int section) {
-        sections.set(section, null);
+        if (sections.getAndSet(section, null) != null) {
+            dirty = true;
+        }
     }
 
     /**
@@ -151,14 +238,85 @@ public class MantleChunk {
     public Matter getOrCreate(int section) {
         Matter matter = get(section);
 
-        if (matter == null) {
-            matter = new IrisMatter(16, 16, 16);
-            sections.set(section, matter);
+        // Only the section which got stored may be handed out, racing writers would lose their writes otherwise
+        while (matter == null) {
+            Matter created = new IrisMatter(16, 16, 16);
+
+            if (sections.compareAndSet(section, null, created)) {
+                dirty = true;
+                matter = created;
+            } else {
+                matter = get(section);
+            }
         }
 
         return matter;
     }
 
+    /**
+     * Check if this chunk was modified since it was last marked clean.
+     * This covers flags, sections and the slices inside of them
+     *
+     * @return true if it has unsaved changes
+     */
+    public boolean isDirty() {
+        if (dirty) {
+            return true;
+        }
+
+        for (int i = 0; i < sections.length(); i++) {
+            Matter matter = sections.get(i);
+
+            if (matter != null && matter.isDirty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Mark this chunk as saved. Do this before writing it so changes
+     * made while it is being written mark it dirty again
+     */
+    public void markClean() {
+        dirty = false;
+
+        for (int i = 0; i < sections.length(); i++) {
+            Matter matter = sections.get(i);
+
+            if (matter != null) {
+                matter.markClean();
+            }
+        }
+    }
+
+    /**
+     * Roughly estimate how many bytes this chunk keeps on the heap
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryUsage() {
+        long size = 64 + (sections.length() * 8L) + (flags.length() * 4L);
+
+        for (int i = 0; i < sections.length(); i++) {
+            Matter matter = sections.get(i);
+
+            if (matter != null) {
+                size += matter.getMemoryUsage();
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Force this chunk to be written on the next save
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
     /**
      * Write this chunk to a data stream
      *
@@ -170,6 +328,7 @@ public class MantleChunk {
         dos.writeByte(z);
         dos.writeByte(sections.length());
 
+        // A claimed flag's work is still in flight, so it is stored lowered and redone after a reload
         for (int i = 0; i < flags.length(); i++) {
             dos.writeBoolean(flags.get(i) == 1);
         }
@@ -192,17 +351,28 @@ public class MantleChunk {
             Matter m = get(i);
 
             if (m.getSliceMap().isEmpty()) {
-                sections.set(i, null);
+                sections.compareAndSet(i, m, null);
             } else {
                 m.trimSlices();
                 if (m.getSliceMap().isEmpty()) {
-                    sections.set(i, null);
+                    sections.compareAndSet(i, m, null);
                 }
             }
         }
     }
 
     public <T> void iterate(Class<T> type, Consumer4<Integer, Integer, Integer, T> iterator) {
+        iterateInt(type, iterator::accept);
+    }
+
+    /**
+     * Iterate all data of the given type in this chunk without boxing the coordinates
+     *
+     * @param type     the type of data to iterate
+     * @param iterator the iterator (x, y, z, data) with y relative to the bottom of the chunk
+     * @param <T>      the type of data to iterate
+     */
+    public <T> void iterateInt(Class<T> type, Consumer4Int<T> iterator) {
         for (int i = 0; i < sections.length(); i++) {
             int bs = (i << 4);
             Matter matter = get(i);
@@ -211,7 +381,7 @@ public class MantleChunk {
                 MatterSlice<T> t = matter.getSlice(type);
 
                 if (t != null) {
-                    t.iterateSync((a, b, c, f) -> iterator.accept(a, b + bs, c, f));
+                    t.iterateSyncInt((a, b, c, f) -> iterator.accept(a, b + bs, c, f));
                 }
             }
         }
@@ -222,6 +392,7 @@ public class MantleChunk {
             Matter m = sections.get(i);
             if (m != null && m.hasSlice(c)) {
                 m.deleteSlice(c);
+                dirty = true;
             }
         }
     }
@@ -0,0 +1,45 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.mantle;
+
+import lombok.Getter;
+
+/**
+ * A mantle chunk together with the retained plate it lives in. The plate can't be unloaded
+ * until this is closed, so keep it open for as long as you use the chunk.
+ */
+public class RetainedChunk implements AutoCloseable {
+    private final TectonicPlate plate;
+    @Getter
+    private final MantleChunk chunk;
+    private boolean closed;
+
+    RetainedChunk(TectonicPlate plate, MantleChunk chunk) {
+        this.plate = plate;
+        this.chunk = chunk;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            plate.release();
+        }
+    }
+}
@@ -21,9 +21,11 @@ package com.volmit.iris.util.mantle;
 import com.volmit.iris.Iris;
 import com.volmit.iris.engine.EnginePanic;
 import com.volmit.iris.engine.data.cache.Cache;
+import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import lombok.Getter;
 import net.jpountz.lz4.LZ4BlockInputStream;
@@ -32,17 +34,56 @@ import net.jpountz.lz4.LZ4FrameInputStream;
 import net.jpountz.lz4.LZ4FrameOutputStream;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 /**
  * Tectonic Plates are essentially representations of regions in minecraft.
  * Tectonic Plates are fully atomic & thread safe
+ * <p>
+ * Random access plates (.ttp.lz4r) start with a header holding an offset table of
+ * every chunk, followed by independently compressed chunk blobs. Reading such a plate
+ * only reads the header, chunks are inflated on first access. Saving a plate back to
+ * the file it came from only appends the chunks which changed followed by a new index,
+ * then swings the index pointer in the header over to it. Nothing that is already in
+ * the file is overwritten except that pointer, so a crash mid save leaves the previous
+ * index intact.
  */
 public class TectonicPlate {
+    public static final String EXTENSION = ".ttp.lz4r";
+    private static final int MAGIC = 0x54545052;
+    private static final int INDEX_MAGIC = 0x54545049;
+    private static final int VERSION = 2;
+    private static final int TABLE_SIZE = 1024 * 12;
+    private static final int INDEX_POINTER = 16;
+    private static final int HEADER_SIZE = 24 + TABLE_SIZE;
+    private static final int INDEX_SIZE = 4 + TABLE_SIZE + 8;
     private final int sectionHeight;
     private final AtomicReferenceArray<MantleChunk> chunks;
+    private final AtomicLongArray offsets;
+    private final AtomicIntegerArray lengths;
+    private static final long COMPACT_THRESHOLD = 1 << 20;
+    private final ReadWriteLock sourceLock;
+    private File source;
+    private volatile FileChannel channel;
+    private boolean patchable;
+    private volatile boolean headerDirty;
+    private final AtomicInteger references;
+    @Getter
+    private volatile long lastUse;
 
     @Getter
     private final int x;
@@ -58,6 +99,11 @@ public class TectonicPlate {
     public TectonicPlate(int worldHeight, int x, int z) {
         this.sectionHeight = worldHeight >> 4;
         this.chunks = new AtomicReferenceArray<>(1024);
+        this.offsets = new AtomicLongArray(1024);
+        this.lengths = new AtomicIntegerArray(1024);
+        this.sourceLock = new ReentrantReadWriteLock();
+        this.references = new AtomicInteger();
+        this.lastUse = M.ms();
         this.x = x;
         this.z = z;
     }
@@ -82,6 +128,10 @@ public class TectonicPlate {
     }
 
     public static TectonicPlate read(int worldHeight, File file) throws IOException, ClassNotFoundException {
+        if (file.getName().endsWith(EXTENSION)) {
+            return readRandomAccess(worldHeight, file);
+        }
+
         FileInputStream fin = new FileInputStream(file);
         DataInputStream din;
         if (file.getName().endsWith("ttp.lz4b")) {
@@ -97,6 +147,150 @@ public class TectonicPlate {
         return p;
     }
 
+    /**
+     * Read the header of a random access tectonic plate. Chunks are read from the file once they are accessed
+     *
+     * @param worldHeight the height of the world
+     * @param file        the plate file
+     * @return the plate
+     * @throws IOException if the header cannot be read
+     */
+    private static TectonicPlate readRandomAccess(int worldHeight, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, 16);
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a random access tectonic plate " + file.getName());
+            }
+
+            int version = header.getInt();
+
+            if (version > VERSION) {
+                throw new IOException("Unsupported tectonic plate version " + version + " in " + file.getName());
+            }
+
+            TectonicPlate p = new TectonicPlate(worldHeight, header.getInt(), header.getInt());
+            p.source = file;
+            ByteBuffer table;
+
+            if (version < 2) {
+                // Version 1 patched its table in place, it gets compacted into the current layout on the next save
+                table = read(channel, 16, TABLE_SIZE);
+            } else {
+                long index = read(channel, INDEX_POINTER, 8).getLong();
+                table = index == 0 ? null : readIndex(channel, index, file);
+
+                if (table == null) {
+                    table = read(channel, HEADER_SIZE - TABLE_SIZE, TABLE_SIZE);
+                }
+
+                p.patchable = true;
+            }
+
+            for (int i = 0; i < 1024; i++) {
+                p.offsets.set(i, table.getLong());
+                p.lengths.set(i, table.getInt());
+            }
+
+            return p;
+        }
+    }
+
+    /**
+     * Read an appended index and verify it against its checksum
+     *
+     * @param channel the plate file
+     * @param index   the position of the index
+     * @param file    the plate file for logging
+     * @return the offset table or null if the index is incomplete or corrupt
+     * @throws IOException shit happens
+     */
+    private static ByteBuffer readIndex(FileChannel channel, long index, File file) throws IOException {
+        if (index < HEADER_SIZE || index + INDEX_SIZE > channel.size()) {
+            Iris.warn("Tectonic Plate " + file.getName() + " points to a missing index, falling back to its header table");
+            return null;
+        }
+
+        ByteBuffer buffer = read(channel, index, INDEX_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, TABLE_SIZE);
+
+        if (buffer.getInt(0) != INDEX_MAGIC || buffer.getLong(4 + TABLE_SIZE) != crc.getValue()) {
+            Iris.warn("Tectonic Plate " + file.getName() + " has a corrupt index, falling back to its header table");
+            return null;
+        }
+
+        return buffer.position(4).limit(4 + TABLE_SIZE);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of tectonic plate at " + (position + buffer.position()));
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    /**
+     * Hold on to this plate so it cannot be unloaded until {@link #release()} is called
+     *
+     * @return false if the plate is being unloaded and must be looked up again
+     */
+    public boolean retain() {
+        while (true) {
+            int r = references.get();
+
+            if (r < 0) {
+                return false;
+            }
+
+            if (references.compareAndSet(r, r + 1)) {
+                long ms = M.ms();
+
+                if (lastUse != ms) {
+                    lastUse = ms;
+                }
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Let go of a plate retained through {@link #retain()}
+     */
+    public void release() {
+        references.decrementAndGet();
+    }
+
+    /**
+     * @return true if anyone currently retains this plate
+     */
+    public boolean isInUse() {
+        return references.get() > 0;
+    }
+
+    /**
+     * Start unloading this plate. This only works if nobody retains it,
+     * after which it can no longer be retained
+     *
+     * @return true if the plate can be unloaded
+     */
+    public boolean tryUnload() {
+        return references.compareAndSet(0, -1);
+    }
+
+    /**
+     * Make a plate retainable again after unloading it failed
+     */
+    public void cancelUnload() {
+        references.compareAndSet(-1, 0);
+    }
+
     /**
      * Check if a chunk exists in this plate or not (same as get(x, z) != null)
      *
@@ -106,7 +300,8 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public boolean exists(int x, int z) {
-        return get(x, z) != null;
+        int i = index(x, z);
+        return chunks.get(i) != null || offsets.get(i) != 0;
     }
 
     /**
@@ -118,15 +313,121 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public MantleChunk get(int x, int z) {
-        return chunks.get(index(x, z));
+        return get(index(x, z));
+    }
+
+    private MantleChunk get(int i) {
+        MantleChunk chunk = chunks.get(i);
+
+        if (chunk == null && offsets.get(i) != 0) {
+            return inflate(i);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Read a chunk which has not been touched yet from the source file
+     *
+     * @param i the chunk index
+     * @return the chunk or null if it was deleted in the meantime
+     */
+    private MantleChunk inflate(int i) {
+        sourceLock.readLock().lock();
+        try {
+            MantleChunk loaded = chunks.get(i);
+            if (loaded != null || offsets.get(i) == 0) {
+                return loaded;
+            }
+
+            Iris.addPanic("read-chunk", "Chunk[" + i + "]");
+            MantleChunk chunk;
+            try (DataInputStream din = new DataInputStream(new LZ4BlockInputStream(new ByteArrayInputStream(readBlob(i))))) {
+                chunk = new MantleChunk(sectionHeight, din);
+            } catch (Throwable e) {
+                Iris.error("Failed to read chunk " + i + " of Tectonic Plate " + x + " " + z + " creating a new chunk instead.");
+                Iris.reportError(e);
+                chunk = new MantleChunk(sectionHeight, i & 31, i >> 5);
+            }
+
+            if (chunks.compareAndSet(i, null, chunk)) {
+                return chunk;
+            }
+
+            return chunks.get(i);
+        } finally {
+            sourceLock.readLock().unlock();
+        }
+    }
+
+    private byte[] readBlob(int i) throws IOException {
+        return read(channel(), offsets.get(i), lengths.get(i)).array();
+    }
+
+    /**
+     * Get the read channel of the source file, it is opened on the first inflation and kept
+     * until the plate is closed so loading chunks does not reopen the file every time
+     *
+     * @return the channel
+     * @throws IOException shit happens
+     */
+    private FileChannel channel() throws IOException {
+        FileChannel c = channel;
+
+        if (c == null || !c.isOpen()) {
+            synchronized (sourceLock) {
+                c = channel;
+
+                if (c == null || !c.isOpen()) {
+                    c = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                    channel = c;
+                }
+            }
+        }
+
+        return c;
+    }
+
+    /**
+     * Close the source file of this plate. Call this once the plate is unloaded,
+     * inflating a chunk afterwards simply opens the file again.
+     */
+    public void close() {
+        sourceLock.writeLock().lock();
+        try {
+            closeChannel();
+        } finally {
+            sourceLock.writeLock().unlock();
+        }
+    }
+
+    private void closeChannel() {
+        FileChannel c = channel;
+        channel = null;
+
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                Iris.reportError(e);
+            }
+        }
     }
 
     /**
      * Clear all chunks from this tectonic plate
      */
     public void clear() {
-        for (int i = 0; i < chunks.length(); i++) {
-            chunks.set(i, null);
+        sourceLock.writeLock().lock();
+        try {
+            for (int i = 0; i < chunks.length(); i++) {
+                offsets.set(i, 0);
+                chunks.set(i, null);
+            }
+
+            headerDirty = true;
+        } finally {
+            sourceLock.writeLock().unlock();
         }
     }
 
@@ -138,7 +439,14 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public void delete(int x, int z) {
-        chunks.set(index(x, z), null);
+        sourceLock.writeLock().lock();
+        try {
+            offsets.set(index(x, z), 0);
+            chunks.set(index(x, z), null);
+            headerDirty = true;
+        } finally {
+            sourceLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -150,11 +458,13 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public MantleChunk getOrCreate(int x, int z) {
-        MantleChunk chunk = get(x, z);
+        int i = index(x, z);
+        MantleChunk chunk = get(i);
 
-        if (chunk == null) {
-            chunk = new MantleChunk(sectionHeight, x & 31, z & 31);
-            chunks.set(index(x, z), chunk);
+        // Writers with overlapping radii can race here, only the chunk which got stored may be handed out
+        while (chunk == null) {
+            MantleChunk created = new MantleChunk(sectionHeight, x & 31, z & 31);
+            chunk = chunks.compareAndSet(i, null, created) ? created : get(i);
         }
 
         return chunk;
@@ -173,6 +483,12 @@ public class TectonicPlate {
      */
     public void write(File file) throws IOException {
         PrecisionStopwatch p = PrecisionStopwatch.start();
+        if (file.getName().endsWith(EXTENSION)) {
+            writeRandomAccess(file);
+            Iris.debug("Saved Tectonic Plate " + C.DARK_GREEN + file.getName().split("\\Q.\\E")[0] + C.RED + " in " + Form.duration(p.getMilliseconds(), 2));
+            return;
+        }
+
         FileOutputStream fos = new FileOutputStream(file);
         DataOutputStream dos;
         if (file.getName().endsWith("ttp.lz4b")) {
@@ -187,6 +503,265 @@ public class TectonicPlate {
         Iris.debug("Saved Tectonic Plate " + C.DARK_GREEN + file.getName().split("\\Q.\\E")[0] + C.RED + " in " + Form.duration(p.getMilliseconds(), 2));
     }
 
+    /**
+     * Write this tectonic plate as a random access plate. If the file is the one this plate was read from,
+     * only chunks which changed are appended and the header is patched in place. Once too much of the
+     * file is taken up by stale blobs the plate is compacted into a fresh file instead.
+     *
+     * @param file the file to write it to
+     * @throws IOException shit happens
+     */
+    private void writeRandomAccess(File file) throws IOException {
+        sourceLock.writeLock().lock();
+        try {
+            if (patchable && source != null && source.getAbsoluteFile().equals(file.getAbsoluteFile())
+                    && file.length() >= HEADER_SIZE && !shouldCompact(file)) {
+                writePatch(file);
+            } else {
+                writeCompact(file);
+            }
+        } finally {
+            sourceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check if the stale blobs in the file (including the ones a patch would leave behind) outweigh the live ones
+     *
+     * @param file the source file
+     * @return true if the plate should be rewritten from scratch
+     */
+    private boolean shouldCompact(File file) {
+        long live = 0;
+        long stale = 0;
+
+        for (int i = 0; i < 1024; i++) {
+            if (offsets.get(i) != 0) {
+                live += lengths.get(i);
+                MantleChunk chunk = chunks.get(i);
+
+                if (chunk != null && chunk.isDirty()) {
+                    stale += lengths.get(i);
+                }
+            }
+        }
+
+        long garbage = file.length() - HEADER_SIZE - live + stale;
+        return garbage > COMPACT_THRESHOLD && garbage > live - stale;
+    }
+
+    /**
+     * Append the blobs of all modified or new chunks and a new index to the end of the source file,
+     * then point the header at that index. The pointer is the only thing written in place and it is
+     * only written once everything it points to is on disk.
+     *
+     * @param file the source file
+     * @throws IOException shit happens
+     */
+    private void writePatch(File file) throws IOException {
+        KList<MantleChunk> saved = new KList<>();
+        long[] written = new long[1024];
+        int[] writtenLengths = new int[1024];
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size();
+
+            for (int i = 0; i < 1024; i++) {
+                MantleChunk chunk = chunks.get(i);
+
+                if (chunk == null || (offsets.get(i) != 0 && !chunk.isDirty())) {
+                    continue;
+                }
+
+                saved.add(chunk);
+                byte[] blob = compress(chunk);
+                written[i] = position;
+                writtenLengths[i] = blob.length;
+                position = write(channel, blob, position);
+            }
+
+            if (saved.isEmpty() && !headerDirty) {
+                return;
+            }
+
+            for (int i = 0; i < 1024; i++) {
+                if (written[i] == 0) {
+                    written[i] = offsets.get(i);
+                    writtenLengths[i] = lengths.get(i);
+                }
+            }
+
+            ByteBuffer index = ByteBuffer.allocate(INDEX_SIZE);
+            index.putInt(INDEX_MAGIC);
+            putTable(index, written, writtenLengths);
+            CRC32 crc = new CRC32();
+            crc.update(index.array(), 4, TABLE_SIZE);
+            index.putLong(crc.getValue());
+            write(channel, index.array(), position);
+            channel.force(false);
+
+            write(channel, ByteBuffer.allocate(8).putLong(position).array(), INDEX_POINTER);
+            channel.force(false);
+            headerDirty = false;
+
+            for (int i = 0; i < 1024; i++) {
+                offsets.set(i, written[i]);
+                lengths.set(i, writtenLengths[i]);
+            }
+        } catch (IOException e) {
+            headerDirty = true;
+            saved.forEach(MantleChunk::markDirty);
+            throw e;
+        }
+    }
+
+    /**
+     * Write every chunk into a fresh file and replace the target with it. Chunks which
+     * were not modified since they were last saved are copied over without inflating them.
+     *
+     * @param file the file to write it to
+     * @throws IOException shit happens
+     */
+    private void writeCompact(File file) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        KList<MantleChunk> saved = new KList<>();
+        long[] written = new long[1024];
+        int[] writtenLengths = new int[1024];
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = HEADER_SIZE;
+
+                for (int i = 0; i < 1024; i++) {
+                    MantleChunk chunk = chunks.get(i);
+                    byte[] blob;
+
+                    if (chunk != null && (offsets.get(i) == 0 || chunk.isDirty())) {
+                        saved.add(chunk);
+                        blob = compress(chunk);
+                    } else if (offsets.get(i) != 0) {
+                        blob = readBlob(i);
+                    } else {
+                        continue;
+                    }
+
+                    written[i] = position;
+                    writtenLengths[i] = blob.length;
+                    position = write(channel, blob, position);
+                }
+
+                writeHeader(channel, written, writtenLengths);
+                channel.force(false);
+            }
+
+            // The old file is replaced so its channel is stale, some platforms also refuse to replace open files
+            closeChannel();
+
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            saved.forEach(MantleChunk::markDirty);
+            throw e;
+        }
+
+        for (int i = 0; i < 1024; i++) {
+            offsets.set(i, written[i]);
+            lengths.set(i, writtenLengths[i]);
+        }
+
+        headerDirty = false;
+        patchable = true;
+        source = file;
+    }
+
+    /**
+     * Compress a chunk into a blob. The chunk is marked clean before it is written
+     * so anything changing it in the meantime marks it dirty again.
+     *
+     * @param chunk the chunk
+     * @return the compressed blob
+     * @throws IOException shit happens
+     */
+    private static byte[] compress(MantleChunk chunk) throws IOException {
+        chunk.markClean();
+        ByteArrayOutputStream boas = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(new LZ4BlockOutputStream(boas));
+        chunk.write(dos);
+        dos.close();
+        return boas.toByteArray();
+    }
+
+    private static long write(FileChannel channel, byte[] blob, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+
+        return position;
+    }
+
+    private void writeHeader(FileChannel channel, long[] offsets, int[] lengths) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(x);
+        header.putInt(z);
+        header.putLong(0);
+        putTable(header, offsets, lengths);
+        write(channel, header.array(), 0);
+    }
+
+    private static void putTable(ByteBuffer buffer, long[] offsets, int[] lengths) {
+        for (int i = 0; i < 1024; i++) {
+            buffer.putLong(offsets[i]);
+            buffer.putInt(lengths[i]);
+        }
+    }
+
+    /**
+     * Roughly estimate how many bytes this plate keeps on the heap.
+     * Chunks which were not inflated yet only cost their header entry.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryUsage() {
+        long size = 1024 * 24L;
+
+        for (int i = 0; i < chunks.length(); i++) {
+            MantleChunk chunk = chunks.get(i);
+
+            if (chunk != null) {
+                size += chunk.getMemoryUsage();
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Check if any chunk of this plate changed since it was last written
+     *
+     * @return true if the plate has unsaved changes
+     */
+    public boolean isDirty() {
+        if (headerDirty) {
+            return true;
+        }
+
+        for (int i = 0; i < chunks.length(); i++) {
+            MantleChunk chunk = chunks.get(i);
+
+            if (chunk != null && chunk.isDirty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
     /**
      * Write this tectonic plate to a data stream
      *
@@ -198,7 +773,7 @@ public class TectonicPlate {
         dos.writeInt(z);
 
         for (int i = 0; i < chunks.length(); i++) {
-            MantleChunk chunk = chunks.get(i);
+            MantleChunk chunk = get(i);
 
             if (chunk != null) {
                 dos.writeBoolean(true);
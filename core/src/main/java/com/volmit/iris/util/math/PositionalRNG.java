@@ -0,0 +1,83 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.math;
+
+/**
+ * An {@link RNG} without the atomic seed of {@link java.util.Random}. Draws come from a plain long stepped
+ * like SplitMix64, so it's cheap but must only be used by one thread at a time. Create one per chunk
+ * with {@link #of(long, int, int)} and the draws only depend on the stage seed and position, never on
+ * which thread got there first.
+ * <p>
+ * {@link #getSeed()} and {@link #nextParallelRNG(long)} still work off the stage seed, so generators
+ * seeded from this rng come out exactly as they would from the shared one.
+ */
+public class PositionalRNG extends RNG {
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private long state;
+
+    /**
+     * @param seed the stage seed
+     * @param key  where the draws start
+     */
+    public PositionalRNG(long seed, long key) {
+        super(seed);
+        state = key;
+    }
+
+    /**
+     * @param seed the stage seed
+     * @param x    the chunk x
+     * @param z    the chunk z
+     * @return a fresh rng for that chunk of that stage
+     */
+    public static PositionalRNG of(long seed, int x, int z) {
+        return new PositionalRNG(seed, mix(mix(seed ^ (x * GOLDEN)) + z));
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public RNG split() {
+        return new PositionalRNG(getSeed(), nextLong());
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = mix(seed);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(state += GOLDEN);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
@@ -56,6 +56,14 @@ public class RNG extends Random {
         return new RNG(sx + signature);
     }
 
+    /**
+     * Get an rng to hand to another thread. This one is already thread safe so it just returns itself,
+     * see {@link PositionalRNG#split()}
+     */
+    public RNG split() {
+        return this;
+    }
+
     public String s(int length) {
         StringBuilder sb = new StringBuilder();
 
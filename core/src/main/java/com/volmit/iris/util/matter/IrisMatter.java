@@ -18,7 +18,6 @@
 
 package com.volmit.iris.util.matter;
 
-import com.volmit.iris.Iris;
 import com.volmit.iris.core.loader.IrisRegistrant;
 import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.json.JSONObject;
@@ -26,8 +25,6 @@ import com.volmit.iris.util.plugin.VolmitSender;
 import lombok.Getter;
 
 public class IrisMatter extends IrisRegistrant implements Matter {
-    protected static final KMap<Class<?>, MatterSlice<?>> slicers = buildSlicers();
-
     @Getter
     private final MatterHeader header;
 
@@ -55,31 +52,9 @@ public class IrisMatter extends IrisRegistrant implements Matter {
         this.sliceMap = new KMap<>();
     }
 
-    private static KMap<Class<?>, MatterSlice<?>> buildSlicers() {
-        KMap<Class<?>, MatterSlice<?>> c = new KMap<>();
-        for (Object i : Iris.initialize("com.volmit.iris.util.matter.slices", Sliced.class)) {
-            MatterSlice<?> s = (MatterSlice<?>) i;
-            c.put(s.getType(), s);
-        }
-
-        return c;
-    }
-
     @Override
     public <T> MatterSlice<T> createSlice(Class<T> type, Matter m) {
-        MatterSlice<?> slice = slicers.get(type);
-
-        if (slice == null) {
-            return null;
-        }
-
-        try {
-            return slice.getClass().getConstructor(int.class, int.class, int.class).newInstance(getWidth(), getHeight(), getDepth());
-        } catch (Throwable e) {
-            e.printStackTrace();
-        }
-
-        return null;
+        return MatterSliceRegistry.create(type, getWidth(), getHeight(), getDepth());
     }
 
     @Override
@@ -44,13 +44,13 @@ import java.util.function.Function;
  * UTF author
  * UVL createdAt
  * UVI version
- * UTF sliceType (canonical class name)
+ * UVI sliceId (see {@link Sliced#id()}, 0 is followed by the UTF canonical class name, version 1 only wrote the name)
  * UVI nodeCount (for each slice)
  * UVI position [(z * w * h) + (y * w) + x]
  * ??? nodeData
  */
 public interface Matter {
-    int VERSION = 1;
+    int VERSION = 2;
 
     static long convert(File folder) {
         if (folder.isDirectory()) {
@@ -136,12 +136,14 @@ public interface Matter {
         matter.getHeader().read(din);
         Iris.addPanic("read.matter.header", matter.getHeader().toString());
 
+        boolean ids = matter.getHeader().getVersion() >= 2;
+
         for (int i = 0; i < sliceCount; i++) {
             Iris.addPanic("read.matter.slice", i + "");
-            String cn = din.readUTF();
+            Class<?> type = ids ? MatterSliceRegistry.readType(din) : MatterSliceRegistry.byName(din.readUTF());
+            String cn = type.getCanonicalName();
             Iris.addPanic("read.matter.slice.class", cn);
             try {
-                Class<?> type = Class.forName(cn);
                 MatterSlice<?> slice = matter.createSlice(type, matter);
                 slice.read(din);
                 matter.putSlice(type, slice);
@@ -372,6 +374,45 @@ public interface Matter {
         out.close();
     }
 
+    /**
+     * Check if any slice of this matter was modified since it was last marked clean
+     *
+     * @return true if it has unsaved changes
+     */
+    default boolean isDirty() {
+        for (MatterSlice<?> i : getSliceMap().values()) {
+            if (i.isDirty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Roughly estimate how many bytes this matter keeps on the heap
+     *
+     * @return the estimated size in bytes
+     */
+    default long getMemoryUsage() {
+        long size = 64;
+
+        for (MatterSlice<?> i : getSliceMap().values()) {
+            size += i.getMemoryUsage();
+        }
+
+        return size;
+    }
+
+    /**
+     * Mark every slice of this matter as saved
+     */
+    default void markClean() {
+        for (MatterSlice<?> i : getSliceMap().values()) {
+            i.markClean();
+        }
+    }
+
     /**
      * Remove any slices that are empty
      */
@@ -412,9 +453,11 @@ public interface Matter {
         dos.writeInt(getHeight());
         dos.writeInt(getDepth());
         dos.writeByte(getSliceTypes().size());
+        getHeader().setVersion(VERSION);
         getHeader().write(dos);
 
         for (Class<?> i : getSliceTypes()) {
+            MatterSliceRegistry.writeType(i, dos);
             getSlice(i).write(dos);
         }
     }
@@ -41,6 +41,36 @@ public interface MatterSlice<T> extends Hunk<T>, PaletteType<T>, Writable<T> {
 
     Palette<T> getGlobalPalette();
 
+    /**
+     * Was this slice modified since it was last marked clean. Slices which do not track
+     * their changes are always considered dirty
+     *
+     * @return true if it has unsaved changes
+     */
+    default boolean isDirty() {
+        return true;
+    }
+
+    /**
+     * Mark this slice as saved
+     */
+    default void markClean() {
+
+    }
+
+    /**
+     * Roughly estimate how many bytes this slice keeps on the heap
+     *
+     * @return the estimated size in bytes
+     */
+    default long getMemoryUsage() {
+        if (this instanceof PaletteOrHunk f && f.isPalette()) {
+            return 64 + f.palette().getMemoryUsage();
+        }
+
+        return 64 + (getEntryCount() * 48L);
+    }
+
     @Override
     default void writePaletteNode(DataOutputStream dos, T s) throws IOException {
         writeNode(s, dos);
@@ -158,8 +188,6 @@ public interface MatterSlice<T> extends Hunk<T>, PaletteType<T>, Writable<T> {
     }
 
     default void write(DataOutputStream dos) throws IOException {
-        dos.writeUTF(getType().getCanonicalName());
-
         if ((this instanceof PaletteOrHunk f && f.isPalette())) {
             f.palette().writeDos(dos);
             return;
@@ -168,18 +196,18 @@ public interface MatterSlice<T> extends Hunk<T>, PaletteType<T>, Writable<T> {
         int w = getWidth();
         int h = getHeight();
         MatterPalette<T> palette = new MatterPalette<T>(this);
-        iterateSync((x, y, z, b) -> palette.assign(b));
+        iterateSyncInt((x, y, z, b) -> palette.assign(b));
         palette.writePalette(dos);
         dos.writeBoolean(isMapped());
 
         if (isMapped()) {
             Varint.writeUnsignedVarInt(getEntryCount(), dos);
-            iterateSyncIO((x, y, z, b) -> {
+            iterateSyncIntIO((x, y, z, b) -> {
                 Varint.writeUnsignedVarInt(Cache.to1D(x, y, z, w, h), dos);
                 palette.writeNode(b, dos);
             });
         } else {
-            iterateSyncIO((x, y, z, b) -> palette.writeNode(b, dos));
+            iterateSyncIntIO((x, y, z, b) -> palette.writeNode(b, dos));
         }
     }
 
@@ -201,7 +229,7 @@ public interface MatterSlice<T> extends Hunk<T>, PaletteType<T>, Writable<T> {
                 setRaw(pos[0], pos[1], pos[2], palette.readNode(din));
             }
         } else {
-            iterateSyncIO((x, y, z, b) -> setRaw(x, y, z, palette.readNode(din)));
+            iterateSyncIntIO((x, y, z, b) -> setRaw(x, y, z, palette.readNode(din)));
         }
     }
 
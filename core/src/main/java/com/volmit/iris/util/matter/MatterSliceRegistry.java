@@ -0,0 +1,166 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.matter;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.data.Varint;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Maps slice types to the stable numeric ids declared in {@link Sliced#id()} and creates slices
+ * through constructor method handles instead of reflection. Matter written since {@link Matter#VERSION} 2
+ * stores these ids instead of class names. Types without an id are written as id 0 followed by their name.
+ */
+public final class MatterSliceRegistry {
+    private static final MethodType FACTORY = MethodType.methodType(MatterSlice.class, int.class, int.class, int.class);
+    private static final KMap<Class<?>, SliceType> byType = new KMap<>();
+    private static final KMap<String, SliceType> byName = new KMap<>();
+    private static final KMap<Integer, SliceType> byId = new KMap<>();
+
+    static {
+        for (Class<?> i : Iris.getClasses("com.volmit.iris.util.matter.slices", Sliced.class)) {
+            try {
+                MatterSlice<?> template = (MatterSlice<?>) i.getDeclaredConstructor().newInstance();
+                MethodHandle factory = MethodHandles.publicLookup()
+                        .findConstructor(i, MethodType.methodType(void.class, int.class, int.class, int.class))
+                        .asType(FACTORY);
+                int id = i.getAnnotation(Sliced.class).id();
+                SliceType type = new SliceType(id, template.getType(), factory);
+                byType.put(type.type(), type);
+                byName.put(type.type().getCanonicalName(), type);
+
+                if (id > 0) {
+                    SliceType existing = byId.put(id, type);
+
+                    if (existing != null) {
+                        Iris.error("Slice id " + id + " is used by both " + existing.type().getCanonicalName() + " and " + type.type().getCanonicalName());
+                    }
+                }
+            } catch (Throwable e) {
+                Iris.reportError(e);
+            }
+        }
+    }
+
+    private MatterSliceRegistry() {
+
+    }
+
+    /**
+     * Create a new slice for the given type
+     *
+     * @param type   the slice type
+     * @param width  the width
+     * @param height the height
+     * @param depth  the depth
+     * @param <T>    the type
+     * @return the slice or null if this type has no slice
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MatterSlice<T> create(Class<T> type, int width, int height, int depth) {
+        SliceType t = byType.get(type);
+
+        if (t == null) {
+            return null;
+        }
+
+        try {
+            return (MatterSlice<T>) (MatterSlice<?>) t.factory().invokeExact(width, height, depth);
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Write the type of a slice as its numeric id
+     *
+     * @param type the slice type
+     * @param dos  the output
+     * @throws IOException shit happens
+     */
+    public static void writeType(Class<?> type, DataOutputStream dos) throws IOException {
+        SliceType t = byType.get(type);
+
+        if (t != null && t.id() > 0) {
+            Varint.writeUnsignedVarInt(t.id(), dos);
+            return;
+        }
+
+        Varint.writeUnsignedVarInt(0, dos);
+        dos.writeUTF(type.getCanonicalName());
+    }
+
+    /**
+     * Read a slice type written by {@link #writeType(Class, DataOutputStream)}
+     *
+     * @param din the input
+     * @return the slice type
+     * @throws IOException if the id is unknown
+     */
+    public static Class<?> readType(DataInputStream din) throws IOException {
+        int id = Varint.readUnsignedVarInt(din);
+
+        if (id == 0) {
+            return byName(din.readUTF());
+        }
+
+        SliceType t = byId.get(id);
+
+        if (t == null) {
+            throw new IOException("Unknown slice id " + id);
+        }
+
+        return t.type();
+    }
+
+    /**
+     * Resolve a slice type from its canonical class name, as written by matter before version 2
+     *
+     * @param name the canonical class name
+     * @return the slice type
+     * @throws IOException if the class does not exist
+     */
+    public static Class<?> byName(String name) throws IOException {
+        SliceType t = byName.get(name);
+
+        if (t != null) {
+            return t.type();
+        }
+
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Can't find slice class '" + name + "'", e);
+        }
+    }
+
+    private record SliceType(int id, Class<?> type, MethodHandle factory) {
+
+    }
+}
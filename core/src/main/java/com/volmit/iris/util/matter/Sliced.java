@@ -23,5 +23,9 @@ import java.lang.annotation.RetentionPolicy;
 
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Sliced {
-
+    /**
+     * The stable id this slice type is written with. Never reuse or change an id once released,
+     * 0 means the slice is written by its class name instead.
+     */
+    int id() default 0;
 }
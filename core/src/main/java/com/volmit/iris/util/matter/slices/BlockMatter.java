@@ -30,7 +30,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 1)
 public class BlockMatter extends RawMatter<BlockData> {
     public static final BlockData AIR = Material.AIR.createBlockData();
 
@@ -19,20 +19,21 @@
 package com.volmit.iris.util.matter.slices;
 
 import com.volmit.iris.util.data.palette.Palette;
+import com.volmit.iris.util.hunk.storage.BitHunk;
 import com.volmit.iris.util.matter.Sliced;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 3)
 public class BooleanMatter extends RawMatter<Boolean> {
     public BooleanMatter() {
         this(1, 1, 1);
     }
 
     public BooleanMatter(int width, int height, int depth) {
-        super(width, height, depth, Boolean.class);
+        super(width, height, depth, Boolean.class, () -> new BitHunk<>(width, height, depth, Boolean.FALSE, Boolean.TRUE));
     }
 
     @Override
@@ -47,6 +48,6 @@ public class BooleanMatter extends RawMatter<Boolean> {
 
     @Override
     public Boolean readNode(DataInputStream din) throws IOException {
-        return din.readBoolean();
+        return din.readBoolean() ? Boolean.TRUE : Boolean.FALSE;
     }
 }
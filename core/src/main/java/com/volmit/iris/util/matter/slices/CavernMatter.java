@@ -18,6 +18,7 @@
 
 package com.volmit.iris.util.matter.slices;
 
+import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.data.palette.Palette;
 import com.volmit.iris.util.matter.MatterCavern;
 import com.volmit.iris.util.matter.Sliced;
@@ -26,10 +27,15 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 4)
 public class CavernMatter extends RawMatter<MatterCavern> {
     public static final MatterCavern EMPTY = new MatterCavern(false, "", (byte) 0);
     public static final MatterCavern BASIC = new MatterCavern(true, "", (byte) 0);
+    private static final MatterCavern[] DEFAULTS = {
+            EMPTY, new MatterCavern(false, "", (byte) 1), new MatterCavern(false, "", (byte) 2),
+            BASIC, new MatterCavern(true, "", (byte) 1), new MatterCavern(true, "", (byte) 2)
+    };
+    private static final KMap<String, MatterCavern[]> flyweights = new KMap<>();
 
     public CavernMatter() {
         this(1, 1, 1);
@@ -40,7 +46,35 @@ public class CavernMatter extends RawMatter<MatterCavern> {
     }
 
     public static MatterCavern get(String customBiome, int liquid) {
-        return new MatterCavern(true, customBiome, (byte) liquid);
+        return get(true, customBiome, liquid);
+    }
+
+    /**
+     * Get the shared instance for the given cavern. Caverns are immutable, so every slice
+     * and every reader can share one instance per cavern flag, custom biome and liquid.
+     *
+     * @param cavern      is it a cavern
+     * @param customBiome the custom biome or an empty string
+     * @param liquid      the liquid (0 none 1 water 2 lava)
+     * @return the shared cavern
+     */
+    public static MatterCavern get(boolean cavern, String customBiome, int liquid) {
+        if (liquid < 0 || liquid > 2) {
+            return new MatterCavern(cavern, customBiome, (byte) liquid);
+        }
+
+        MatterCavern[] caverns = customBiome == null || customBiome.isEmpty() ? DEFAULTS : flyweights.computeIfAbsent(customBiome, CavernMatter::create);
+        return caverns[(cavern ? 3 : 0) + liquid];
+    }
+
+    private static MatterCavern[] create(String customBiome) {
+        MatterCavern[] caverns = new MatterCavern[6];
+
+        for (int i = 0; i < 6; i++) {
+            caverns[i] = new MatterCavern(i >= 3, customBiome, (byte) (i % 3));
+        }
+
+        return caverns;
     }
 
     @Override
@@ -61,6 +95,6 @@ public class CavernMatter extends RawMatter<MatterCavern> {
         String v = din.readUTF();
         byte l = din.readByte();
 
-        return new MatterCavern(b, v, l);
+        return get(b, v, l);
     }
 }
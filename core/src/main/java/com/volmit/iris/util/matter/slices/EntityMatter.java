@@ -26,7 +26,6 @@ import com.volmit.iris.util.data.Varint;
 import com.volmit.iris.util.data.palette.Palette;
 import com.volmit.iris.util.matter.MatterEntity;
 import com.volmit.iris.util.matter.MatterEntityGroup;
-import com.volmit.iris.util.matter.MatterReader;
 import com.volmit.iris.util.matter.Sliced;
 import com.volmit.iris.util.nbt.io.NBTUtil;
 import com.volmit.iris.util.nbt.tag.CompoundTag;
@@ -38,8 +37,9 @@ import org.bukkit.util.BoundingBox;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Collection;
 
-@Sliced
+@Sliced(id = 6)
 public class EntityMatter extends RawMatter<MatterEntityGroup> {
     public static final MatterEntityGroup EMPTY = new MatterEntityGroup();
     private transient KMap<IrisPosition, KList<Entity>> entityCache = new KMap<>();
@@ -56,25 +56,31 @@ public class EntityMatter extends RawMatter<MatterEntityGroup> {
                 INMS.get().deserializeEntity(i.getEntityData(), realPosition);
             }
         }));
-        registerReader(World.class, (w, x, y, z) -> {
-            IrisPosition pos = new IrisPosition(x, y, z);
-            KList<Entity> entities = entityCache.get(pos);
-            MatterEntityGroup g = new MatterEntityGroup();
-            if (entities != null) {
-                for (Entity i : entities) {
-                    g.getEntities().add(new MatterEntity(
-                            Math.abs(i.getLocation().getX()) - Math.abs(i.getLocation().getBlockX()),
-                            Math.abs(i.getLocation().getY()) - Math.abs(i.getLocation().getBlockY()),
-                            Math.abs(i.getLocation().getZ()) - Math.abs(i.getLocation().getBlockZ()),
-                            INMS.get().serializeEntity(i)
-                    ));
-                }
-
-                return g;
-            }
+        registerReader(World.class, (w, x, y, z) -> group(w.getNearbyEntities(new BoundingBox(x, y, z, x + 1, y + 1, z + 1))));
+    }
 
+    /**
+     * Readers are shared between every entity slice, so this can't touch the entity cache of a single slice
+     *
+     * @param entities the entities within one block or null
+     * @return the group or null if there are no entities
+     */
+    private static MatterEntityGroup group(Collection<Entity> entities) {
+        if (entities == null || entities.isEmpty()) {
             return null;
-        });
+        }
+
+        MatterEntityGroup g = new MatterEntityGroup();
+        for (Entity i : entities) {
+            g.getEntities().add(new MatterEntity(
+                    Math.abs(i.getLocation().getX()) - Math.abs(i.getLocation().getBlockX()),
+                    Math.abs(i.getLocation().getY()) - Math.abs(i.getLocation().getBlockY()),
+                    Math.abs(i.getLocation().getZ()) - Math.abs(i.getLocation().getBlockZ()),
+                    INMS.get().serializeEntity(i)
+            ));
+        }
+
+        return g;
     }
 
     @Override
@@ -101,12 +107,6 @@ public class EntityMatter extends RawMatter<MatterEntityGroup> {
             return super.readFrom(w, x, y, z);
         }
 
-        MatterReader<W, MatterEntityGroup> reader = (MatterReader<W, MatterEntityGroup>) readFrom(World.class);
-
-        if (reader == null) {
-            return false;
-        }
-
         entityCache = new KMap<>();
 
         for (Entity i : ((World) w).getNearbyEntities(new BoundingBox(x, y, z, x + getWidth(), y + getHeight(), z + getHeight()))) {
@@ -115,7 +115,7 @@ public class EntityMatter extends RawMatter<MatterEntityGroup> {
         }
 
         for (IrisPosition i : entityCache.keySet()) {
-            MatterEntityGroup g = reader.readMatter(w, i.getX(), i.getY(), i.getZ());
+            MatterEntityGroup g = group(entityCache.get(i));
 
             if (g != null) {
                 set(i.getX() - x, i.getY() - y, i.getZ() - z, g);
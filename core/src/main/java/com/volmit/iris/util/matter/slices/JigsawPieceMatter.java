@@ -8,7 +8,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 9)
 public class JigsawPieceMatter extends RawMatter<JigsawPieceContainer> {
     public JigsawPieceMatter() {
         this(1,1,1);
@@ -8,7 +8,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 10)
 public class JigsawStructuresMatter extends RawMatter<JigsawStructuresContainer> {
     public JigsawStructuresMatter() {
         this(1, 1, 1);
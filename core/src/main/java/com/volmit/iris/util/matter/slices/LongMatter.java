@@ -26,7 +26,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 11)
 public class LongMatter extends RawMatter<Long> {
     public LongMatter() {
         this(1, 1, 1);
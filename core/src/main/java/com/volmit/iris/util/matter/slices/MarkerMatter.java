@@ -27,7 +27,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 12)
 public class MarkerMatter extends RawMatter<MatterMarker> {
     public static final MatterMarker NONE = new MatterMarker("none");
     public static final MatterMarker CAVE_FLOOR = new MatterMarker("cave_floor");
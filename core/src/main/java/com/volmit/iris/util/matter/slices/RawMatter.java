@@ -19,6 +19,8 @@
 package com.volmit.iris.util.matter.slices;
 
 import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.hunk.Hunk;
+import com.volmit.iris.util.hunk.bits.DataContainer;
 import com.volmit.iris.util.hunk.storage.MappedHunk;
 import com.volmit.iris.util.hunk.storage.PaletteOrHunk;
 import com.volmit.iris.util.matter.MatterReader;
@@ -29,26 +31,143 @@ import lombok.Getter;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.function.Supplier;
 
 public abstract class RawMatter<T> extends PaletteOrHunk<T> implements MatterSlice<T> {
-    protected final KMap<Class<?>, MatterWriter<?, T>> writers;
-    protected final KMap<Class<?>, MatterReader<?, T>> readers;
+    private static final KMap<Class<?>, KMap<Class<?>, MatterWriter<?, ?>>> sharedWriters = new KMap<>();
+    private static final KMap<Class<?>, KMap<Class<?>, MatterReader<?, ?>>> sharedReaders = new KMap<>();
+    protected final KMap<Class<?>, MatterWriter<?, ?>> writers;
+    protected final KMap<Class<?>, MatterReader<?, ?>> readers;
     @Getter
     private final Class<T> type;
+    private volatile boolean dirty;
+
+    private final boolean dense;
 
     public RawMatter(int width, int height, int depth, Class<T> type) {
         super(width, height, depth, true, () -> new MappedHunk<>(width, height, depth));
-        writers = new KMap<>();
-        readers = new KMap<>();
+        writers = sharedWriters.computeIfAbsent(getClass(), k -> new KMap<>());
+        readers = sharedReaders.computeIfAbsent(getClass(), k -> new KMap<>());
         this.type = type;
+        this.dense = false;
     }
 
+    /**
+     * Create a slice backed by a specialized dense hunk instead of a palette. Dense slices still read
+     * and write the palette format, so they stay compatible with plates written by palette slices.
+     * Slices too large for a palette fall back to a mapped hunk, just like regular slices.
+     *
+     * @param width  the width
+     * @param height the height
+     * @param depth  the depth
+     * @param type   the slice type
+     * @param dense  the dense hunk factory
+     */
+    protected RawMatter(int width, int height, int depth, Class<T> type, Supplier<Hunk<T>> dense) {
+        super(width, height, depth, false, width * height * depth <= 4096 ? dense : () -> new MappedHunk<>(width, height, depth));
+        writers = sharedWriters.computeIfAbsent(getClass(), k -> new KMap<>());
+        readers = sharedReaders.computeIfAbsent(getClass(), k -> new KMap<>());
+        this.type = type;
+        this.dense = width * height * depth <= 4096;
+    }
+
+    /**
+     * Writers and readers are shared by every slice of the same class, only the first registration is kept
+     */
     protected <W> void registerWriter(Class<W> mediumType, MatterWriter<W, T> injector) {
-        writers.put(mediumType, injector);
+        writers.putIfAbsent(mediumType, injector);
     }
 
     protected <W> void registerReader(Class<W> mediumType, MatterReader<W, T> injector) {
-        readers.put(mediumType, injector);
+        readers.putIfAbsent(mediumType, injector);
+    }
+
+    @Override
+    public void setRaw(int x, int y, int z, T t) {
+        if (!dirty) {
+            dirty = true;
+        }
+
+        super.setRaw(x, y, z, t);
+    }
+
+    @Override
+    public void fillBox(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        dirty = true;
+        super.fillBox(x1, y1, z1, x2, y2, z2, t);
+    }
+
+    @Override
+    public void fillColumnSpan(int x, int y1, int y2, int z, T t) {
+        dirty = true;
+        super.fillColumnSpan(x, y1, y2, z, t);
+    }
+
+    @Override
+    public void setMany(int[] positions, int count, T t) {
+        dirty = true;
+        super.setMany(positions, count, t);
+    }
+
+    @Override
+    public void empty(T b) {
+        dirty = true;
+        super.empty(b);
+    }
+
+    @Override
+    public void write(DataOutputStream dos) throws IOException {
+        if (!dense) {
+            MatterSlice.super.write(dos);
+            return;
+        }
+
+        int w = getWidth();
+        int h = getHeight();
+        DataContainer<T> container = new DataContainer<>(this, w * h * getDepth());
+        iterateSyncInt((x, y, z, t) -> container.set((z * w * h) + (y * w) + x, t));
+        container.writeDos(dos);
+    }
+
+    @Override
+    public void read(DataInputStream din) throws IOException {
+        if (!dense) {
+            MatterSlice.super.read(din);
+            return;
+        }
+
+        int w = getWidth();
+        int h = getHeight();
+        DataContainer<T> container = new DataContainer<>(din, this);
+
+        for (int i = 0; i < container.size(); i++) {
+            T t = container.get(i);
+
+            if (t != null) {
+                int z = i / (w * h);
+                int r = i - (z * w * h);
+                setRaw(r % w, r / w, z, t);
+            }
+        }
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        if (!dense) {
+            return MatterSlice.super.getMemoryUsage();
+        }
+
+        return 64 + ((((long) getWidth() * getHeight() * getDepth()) + 63) >> 6) * 16L;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void markClean() {
+        dirty = false;
     }
 
     @Override
@@ -21,7 +21,7 @@ package com.volmit.iris.util.matter.slices;
 import com.volmit.iris.engine.object.IrisSpawner;
 import com.volmit.iris.util.matter.Sliced;
 
-@Sliced
+@Sliced(id = 13)
 public class SpawnerMatter extends RegistryMatter<IrisSpawner> {
     public SpawnerMatter() {
         this(1, 1, 1);
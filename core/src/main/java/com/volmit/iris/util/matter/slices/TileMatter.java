@@ -33,7 +33,7 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 
 @SuppressWarnings("rawtypes")
-@Sliced
+@Sliced(id = 15)
 public class TileMatter extends RawMatter<TileWrapper> {
 
     public TileMatter() {
@@ -20,6 +20,7 @@ package com.volmit.iris.util.matter.slices;
 
 import com.volmit.iris.util.data.palette.GlobalPalette;
 import com.volmit.iris.util.data.palette.Palette;
+import com.volmit.iris.util.hunk.storage.BitHunk;
 import com.volmit.iris.util.matter.MatterUpdate;
 import com.volmit.iris.util.matter.Sliced;
 
@@ -27,7 +28,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
-@Sliced
+@Sliced(id = 16)
 public class UpdateMatter extends RawMatter<MatterUpdate> {
     public static final MatterUpdate ON = new MatterUpdate(true);
     public static final MatterUpdate OFF = new MatterUpdate(false);
@@ -38,7 +39,7 @@ public class UpdateMatter extends RawMatter<MatterUpdate> {
     }
 
     public UpdateMatter(int width, int height, int depth) {
-        super(width, height, depth, MatterUpdate.class);
+        super(width, height, depth, MatterUpdate.class, () -> new BitHunk<>(width, height, depth, OFF, ON));
     }
 
     @Override
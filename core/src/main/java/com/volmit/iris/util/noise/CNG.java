@@ -41,16 +41,16 @@ import java.util.List;
 
 @Data
 public class CNG {
-    public static final NoiseInjector ADD = (s, v) -> new double[]{s + v, 1};
-    public static final NoiseInjector SRC_SUBTRACT = (s, v) -> new double[]{s - v < 0 ? 0 : s - v, -1};
-    public static final NoiseInjector DST_SUBTRACT = (s, v) -> new double[]{v - s < 0 ? 0 : s - v, -1};
-    public static final NoiseInjector MULTIPLY = (s, v) -> new double[]{s * v, 0};
-    public static final NoiseInjector MAX = (s, v) -> new double[]{Math.max(s, v), 0};
-    public static final NoiseInjector MIN = (s, v) -> new double[]{Math.min(s, v), 0};
-    public static final NoiseInjector SRC_MOD = (s, v) -> new double[]{s % v, 0};
-    public static final NoiseInjector SRC_POW = (s, v) -> new double[]{Math.pow(s, v), 0};
-    public static final NoiseInjector DST_MOD = (s, v) -> new double[]{v % s, 0};
-    public static final NoiseInjector DST_POW = (s, v) -> new double[]{Math.pow(v, s), 0};
+    public static final NoiseInjector ADD = NoiseInjector.weighted(1, (s, v) -> s + v);
+    public static final NoiseInjector SRC_SUBTRACT = NoiseInjector.weighted(-1, (s, v) -> s - v < 0 ? 0 : s - v);
+    public static final NoiseInjector DST_SUBTRACT = NoiseInjector.weighted(-1, (s, v) -> v - s < 0 ? 0 : s - v);
+    public static final NoiseInjector MULTIPLY = (s, v) -> s * v;
+    public static final NoiseInjector MAX = Math::max;
+    public static final NoiseInjector MIN = Math::min;
+    public static final NoiseInjector SRC_MOD = (s, v) -> s % v;
+    public static final NoiseInjector SRC_POW = Math::pow;
+    public static final NoiseInjector DST_MOD = (s, v) -> v % s;
+    public static final NoiseInjector DST_POW = (s, v) -> Math.pow(v, s);
     public static long hits = 0;
     public static long creates = 0;
     private final double opacity;
@@ -261,7 +261,7 @@ public class CNG {
         if (!cached) {
             for (int i = 0; i < size; i++) {
                 for (int j = 0; j < size; j++) {
-                    fbc.set(i, j, (float) noise(i, j));
+                    fbc.set(i, j, (float) noise2(i, j));
                 }
             }
 
@@ -397,6 +397,30 @@ public class CNG {
         return v[fit(0, v.length - 1, dim)];
     }
 
+    public <T> T fit(T[] v, double x, double z) {
+        if (v.length == 0) {
+            return null;
+        }
+
+        if (v.length == 1) {
+            return v[0];
+        }
+
+        return v[fit(0, v.length - 1, x, z)];
+    }
+
+    public <T> T fit(T[] v, double x, double y, double z) {
+        if (v.length == 0) {
+            return null;
+        }
+
+        if (v.length == 1) {
+            return v[0];
+        }
+
+        return v[fit(0, v.length - 1, x, y, z)];
+    }
+
     public <T> T fit(List<T> v, double... dim) {
         if (v.size() == 0) {
             return null;
@@ -415,6 +439,42 @@ public class CNG {
         return v.get(0);
     }
 
+    public <T> T fit(List<T> v, double x, double z) {
+        if (v.size() == 0) {
+            return null;
+        }
+
+        if (v.size() == 1) {
+            return v.get(0);
+        }
+
+        try {
+            return v.get(fit(0, v.size() - 1, x, z));
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        }
+
+        return v.get(0);
+    }
+
+    public <T> T fit(List<T> v, double x, double y, double z) {
+        if (v.size() == 0) {
+            return null;
+        }
+
+        if (v.size() == 1) {
+            return v.get(0);
+        }
+
+        try {
+            return v.get(fit(0, v.size() - 1, x, y, z));
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        }
+
+        return v.get(0);
+    }
+
     public int fit(int min, int max, double... dim) {
         if (min == max) {
             return min;
@@ -445,6 +505,54 @@ public class CNG {
         return IrisInterpolation.lerp(min, max, noise);
     }
 
+    public int fit(int min, int max, double x, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise2(x, z)));
+    }
+
+    public int fit(int min, int max, double x, double y, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise3(x, y, z)));
+    }
+
+    public int fit(double min, double max, double x, double z) {
+        if (min == max) {
+            return (int) Math.round(min);
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise2(x, z)));
+    }
+
+    public int fit(double min, double max, double x, double y, double z) {
+        if (min == max) {
+            return (int) Math.round(min);
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise3(x, y, z)));
+    }
+
+    public double fitDouble(double min, double max, double x, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return IrisInterpolation.lerp(min, max, noise2(x, z));
+    }
+
+    public double fitDouble(double min, double max, double x, double y, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return IrisInterpolation.lerp(min, max, noise3(x, y, z));
+    }
+
     private double getNoise(double... dim) {
         double scale = noscale ? 1 : this.bakedScale * this.scale;
 
@@ -469,6 +577,41 @@ public class CNG {
         return generator.noise(x * scale, y * scale, z * scale) * opacity;
     }
 
+    private double getNoise2(double x, double z) {
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+
+        if (fracture == null || noscale) {
+            return generator.noise(x * scale, z * scale, 0D * scale) * opacity;
+        }
+
+        if (fracture.isTrueFracturing()) {
+            double fx = x + ((fracture.noise2(x, z) - 0.5) * fscale);
+            double fz = z + ((fracture.noise2(z, x) - 0.5) * fscale);
+            return generator.noise(fx * scale, fz * scale, 0D * scale) * opacity;
+        }
+
+        double f = fracture.noise2(x, z) * fscale;
+        return generator.noise((x + f) * scale, (z - f) * scale, 0D * scale) * opacity;
+    }
+
+    private double getNoise3(double x, double y, double z) {
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+
+        if (fracture == null || noscale) {
+            return generator.noise(x * scale, y * scale, z * scale) * opacity;
+        }
+
+        if (fracture.isTrueFracturing()) {
+            double fx = x + ((fracture.noise3(x, y, z) - 0.5) * fscale);
+            double fy = y + ((fracture.noise2(y, x) - 0.5) * fscale);
+            double fz = z + ((fracture.noise3(z, x, y) - 0.5) * fscale);
+            return generator.noise(fx * scale, fy * scale, fz * scale) * opacity;
+        }
+
+        double f = fracture.noise3(x, y, z) * fscale;
+        return generator.noise((x + f) * scale, (y - f) * scale, (z - f) * scale) * opacity;
+    }
+
     public double invertNoise(double... dim) {
         if (dim.length == 1) {
             return noise(-dim[0]);
@@ -486,8 +629,12 @@ public class CNG {
     }
 
     public double noise(double... dim) {
-        if (cache != null && dim.length == 2) {
-            return cache.get((int) dim[0], (int) dim[1]);
+        if (dim.length == 2) {
+            return noise2(dim[0], dim[1]);
+        }
+
+        if (dim.length == 3) {
+            return noise3(dim[0], dim[1], dim[2]);
         }
 
         double n = getNoise(dim);
@@ -499,9 +646,117 @@ public class CNG {
         }
 
         for (CNG i : children) {
-            double[] r = injector.combine(n, i.noise(dim));
-            n = r[0];
-            m += r[1];
+            n = injector.combine(n, i.noise(dim));
+            m += injector.getWeight();
+        }
+
+        return ((n / m) - down + up) * patch;
+    }
+
+    /**
+     * Same as noise(x, z) without allocating a coordinate array
+     */
+    public double noise2(double x, double z) {
+        if (cache != null) {
+            return cache.get((int) x, (int) z);
+        }
+
+        double n = getNoise2(x, z);
+        n = power != 1D ? (n < 0 ? -Math.pow(Math.abs(n), power) : Math.pow(n, power)) : n;
+        double m = 1;
+        hits += oct;
+        if (children == null) {
+            return (n - down + up) * patch;
+        }
+
+        for (CNG i : children) {
+            n = injector.combine(n, i.noise2(x, z));
+            m += injector.getWeight();
+        }
+
+        return ((n / m) - down + up) * patch;
+    }
+
+    /**
+     * Sample a w by h grid of noise2 into out, see {@link NoiseGenerator#noise(double[], double, double, double, double, int, int)}
+     */
+    public void noise2(double[] out, double x, double z, double stepX, double stepZ, int w, int h) {
+        if (cache != null || (fracture != null && !noscale)) {
+            for (int j = 0; j < h; j++) {
+                double zz = z + (j * stepZ);
+                int o = j * w;
+
+                for (int i = 0; i < w; i++) {
+                    out[o + i] = noise2(x + (i * stepX), zz);
+                }
+            }
+
+            return;
+        }
+
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+        double[] xs = new double[w];
+        double[] ys = new double[h];
+        int s = w * h;
+        int i;
+
+        for (i = 0; i < w; i++) {
+            xs[i] = (x + (i * stepX)) * scale;
+        }
+
+        for (i = 0; i < h; i++) {
+            ys[i] = (z + (i * stepZ)) * scale;
+        }
+
+        generator.noise(out, xs, ys, 0D * scale);
+        hits += (long) oct * s;
+
+        for (i = 0; i < s; i++) {
+            double n = out[i] * opacity;
+            out[i] = power != 1D ? (n < 0 ? -Math.pow(Math.abs(n), power) : Math.pow(n, power)) : n;
+        }
+
+        if (children == null) {
+            for (i = 0; i < s; i++) {
+                out[i] = (out[i] - down + up) * patch;
+            }
+
+            return;
+        }
+
+        double[] c = new double[s];
+        double m = 1;
+
+        for (CNG k : children) {
+            k.noise2(c, x, z, stepX, stepZ, w, h);
+
+            for (i = 0; i < s; i++) {
+                out[i] = injector.combine(out[i], c[i]);
+            }
+
+            m += injector.getWeight();
+        }
+
+        for (i = 0; i < s; i++) {
+            out[i] = ((out[i] / m) - down + up) * patch;
+        }
+    }
+
+    /**
+     * Same as noise(x, y, z) without allocating a coordinate array
+     */
+    public double noise3(double x, double y, double z) {
+        double n = getNoise3(x, y, z);
+        n = power != 1D ? (n < 0 ? -Math.pow(Math.abs(n), power) : Math.pow(n, power)) : n;
+        double m = 1;
+        hits += oct;
+        if (children == null) {
+            return (n - down + up) * patch;
+        }
+
+        for (CNG i : children) {
+            n = injector.combine(n, i.noise3(x, y, z));
+            m += injector.getWeight();
         }
 
         return ((n / m) - down + up) * patch;
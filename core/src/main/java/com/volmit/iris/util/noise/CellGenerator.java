@@ -52,11 +52,11 @@ public class CellGenerator {
     }
 
     public double getDistance(double x, double z) {
-        return ((fd.GetCellular(((x * cellScale) + (cng.noise(x, z) * shuffle)), ((z * cellScale) + (cng.noise(z, x) * shuffle)))) + 1f) / 2f;
+        return ((fd.GetCellular(((x * cellScale) + (cng.noise2(x, z) * shuffle)), ((z * cellScale) + (cng.noise2(z, x) * shuffle)))) + 1f) / 2f;
     }
 
     public double getDistance(double x, double y, double z) {
-        return ((fd.GetCellular(((x * cellScale) + (cng.noise(x, y, z) * shuffle)), ((y * cellScale) + (cng.noise(x, y, z) * shuffle)), ((z * cellScale) + (cng.noise(z, y, x) * shuffle)))) + 1f) / 2f;
+        return ((fd.GetCellular(((x * cellScale) + (cng.noise3(x, y, z) * shuffle)), ((y * cellScale) + (cng.noise3(x, y, z) * shuffle)), ((z * cellScale) + (cng.noise3(z, y, x) * shuffle)))) + 1f) / 2f;
     }
 
     public double getValue(double x, double z, int possibilities) {
@@ -64,7 +64,7 @@ public class CellGenerator {
             return 0;
         }
 
-        return ((fn.GetCellular(((x * cellScale) + (cng.noise(x, z) * shuffle)), ((z * cellScale) + (cng.noise(z, x) * shuffle))) + 1f) / 2f) * (possibilities - 1);
+        return ((fn.GetCellular(((x * cellScale) + (cng.noise2(x, z) * shuffle)), ((z * cellScale) + (cng.noise2(z, x) * shuffle))) + 1f) / 2f) * (possibilities - 1);
     }
 
     public double getValue(double x, double y, double z, int possibilities) {
@@ -72,7 +72,7 @@ public class CellGenerator {
             return 0;
         }
 
-        return ((fn.GetCellular(((x * cellScale) + (cng.noise(x, z) * shuffle)), ((y * 8 * cellScale) + (cng.noise(x, y * 8) * shuffle)), ((z * cellScale) + (cng.noise(z, x) * shuffle))) + 1f) / 2f) * (possibilities - 1);
+        return ((fn.GetCellular(((x * cellScale) + (cng.noise2(x, z) * shuffle)), ((y * 8 * cellScale) + (cng.noise2(x, y * 8) * shuffle)), ((z * cellScale) + (cng.noise2(z, x) * shuffle))) + 1f) / 2f) * (possibilities - 1);
     }
 
     public int getIndex(double x, double z, int possibilities) {
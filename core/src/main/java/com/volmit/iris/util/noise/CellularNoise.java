@@ -44,4 +44,19 @@ public class CellularNoise implements NoiseGenerator {
     public double noise(double x, double y, double z) {
         return (n.GetCellular((float) x, (float) y, (float) z) / 2D) + 0.5D;
     }
+
+    @Override
+    public void noise(double[] out, double[] xs, double[] ys, double z) {
+        int w = xs.length;
+        float zz = (float) z;
+
+        for (int j = 0; j < ys.length; j++) {
+            float y = (float) ys[j];
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                out[o + i] = (n.GetCellular((float) xs[i], y, zz) / 2D) + 0.5D;
+            }
+        }
+    }
 }
@@ -46,6 +46,20 @@ public class CloverNoise implements NoiseGenerator {
         return n3.noise(x, y, z);
     }
 
+    @Override
+    public void noise(double[] out, double[] xs, double[] ys, double z) {
+        int w = xs.length;
+
+        for (int j = 0; j < ys.length; j++) {
+            double y = ys[j];
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                out[o + i] = z == 0 ? n2.noise(xs[i], y) : n3.noise(xs[i], y, z);
+            }
+        }
+    }
+
     /**
      * Java implementation of 2D Clover Noise. See https://github.com/ValgoBoi/clover-noise
      */
@@ -18,6 +18,8 @@
 
 package com.volmit.iris.util.noise;
 
+import java.util.Arrays;
+
 public class FlatNoise implements NoiseGenerator {
     public FlatNoise(long seed) {
 
@@ -37,4 +39,9 @@ public class FlatNoise implements NoiseGenerator {
     public double noise(double x, double y, double z) {
         return 1D;
     }
+
+    @Override
+    public void noise(double[] out, double[] xs, double[] ys, double z) {
+        Arrays.fill(out, 0, xs.length * ys.length, 1D);
+    }
 }
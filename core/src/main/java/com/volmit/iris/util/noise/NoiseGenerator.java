@@ -28,6 +28,29 @@ public interface NoiseGenerator {
 
     double noise(double x, double y, double z);
 
+    /**
+     * Sample a whole grid of noise in one call. The sample noise(xs[i], ys[j], z)
+     * is stored at out[(j * xs.length) + i]. Implementations must return exactly
+     * what the single sample methods would return for the same coordinates
+     *
+     * @param out the output array (at least xs.length * ys.length long)
+     * @param xs  the x coordinates of the grid columns
+     * @param ys  the y coordinates of the grid rows
+     * @param z   the z coordinate shared by all samples
+     */
+    default void noise(double[] out, double[] xs, double[] ys, double z) {
+        int w = xs.length;
+
+        for (int j = 0; j < ys.length; j++) {
+            double y = ys[j];
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                out[o + i] = noise(xs[i], y, z);
+            }
+        }
+    }
+
     default boolean isStatic() {
         return false;
     }
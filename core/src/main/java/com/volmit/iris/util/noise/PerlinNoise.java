@@ -87,6 +87,51 @@ public class PerlinNoise implements NoiseGenerator, OctaveNoise {
         return f(v / m);
     }
 
+    @Override
+    public void noise(double[] out, double[] xs, double[] ys, double z) {
+        int w = xs.length;
+        int i, j, k;
+
+        if (octaves <= 1) {
+            for (j = 0; j < ys.length; j++) {
+                double y = ys[j];
+                int o = j * w;
+
+                for (i = 0; i < w; i++) {
+                    out[o + i] = f(n.GetPerlin(xs[i], y, z));
+                }
+            }
+
+            return;
+        }
+
+        double[] fs = new double[octaves];
+        double f = 1;
+        double m = 0;
+
+        for (k = 0; k < octaves; k++) {
+            f = f == 1 ? f + 1 : f * 2;
+            fs[k] = f;
+            m += f;
+        }
+
+        for (j = 0; j < ys.length; j++) {
+            double y = ys[j];
+            int o = j * w;
+
+            for (i = 0; i < w; i++) {
+                double x = xs[i];
+                double v = 0;
+
+                for (k = 0; k < octaves; k++) {
+                    v += n.GetPerlin((x * fs[k]), (y * fs[k]), (z * fs[k])) * fs[k];
+                }
+
+                out[o + i] = f(v / m);
+            }
+        }
+    }
+
     @Override
     public void setOctaves(int o) {
         octaves = o;
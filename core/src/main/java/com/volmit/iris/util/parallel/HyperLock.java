@@ -18,7 +18,6 @@
 
 package com.volmit.iris.util.parallel;
 
-import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 import com.volmit.iris.Iris;
 import com.volmit.iris.engine.data.cache.Cache;
 import com.volmit.iris.util.function.NastyRunnable;
@@ -26,13 +25,23 @@ import com.volmit.iris.util.io.IORunnable;
 
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
 
+/**
+ * Locks coordinates against a fixed table of striped read/write locks. Keys which share a stripe
+ * share a lock, so never take the write lock of one key while holding the read lock of another.
+ * Read locks are shared, write locks are exclusive. The table never grows or evicts, so the same
+ * key always maps to the same lock.
+ */
 public class HyperLock {
-    private final ConcurrentLinkedHashMap<Long, ReentrantLock> locks;
+    private final ReentrantReadWriteLock[] locks;
+    private final int mask;
+    private final LongAdder acquired;
+    private final LongAdder contended;
     private boolean enabled = true;
-    private boolean fair = false;
 
     public HyperLock() {
         this(1024, false);
@@ -43,77 +52,90 @@ public class HyperLock {
     }
 
     public HyperLock(int capacity, boolean fair) {
-        this.fair = fair;
-        locks = new ConcurrentLinkedHashMap.Builder<Long, ReentrantLock>()
-                .initialCapacity(capacity)
-                .maximumWeightedCapacity(capacity)
-                .listener((k, v) -> {
-                    if (v.isLocked() || v.isHeldByCurrentThread()) {
-                        Iris.warn("InfiniLock Eviction of " + k + " still has locks on it!");
-                    }
-                })
-                .concurrencyLevel(32)
-                .build();
+        int stripes = Integer.highestOneBit(Math.max(capacity, 1) - 1) << 1;
+        locks = new ReentrantReadWriteLock[Math.max(stripes, 1)];
+        mask = locks.length - 1;
+        acquired = new LongAdder();
+        contended = new LongAdder();
+
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantReadWriteLock(fair);
+        }
     }
 
     public void with(int x, int z, Runnable r) {
         lock(x, z);
-        r.run();
-        unlock(x, z);
+        try {
+            r.run();
+        } finally {
+            unlock(x, z);
+        }
     }
 
     public void withLong(long k, Runnable r) {
-        lock(Cache.keyX(k), Cache.keyZ(k));
-        r.run();
-        unlock(Cache.keyX(k), Cache.keyZ(k));
+        with(Cache.keyX(k), Cache.keyZ(k), r);
+    }
+
+    public void withRead(int x, int z, Runnable r) {
+        lockRead(x, z);
+        try {
+            r.run();
+        } finally {
+            unlockRead(x, z);
+        }
+    }
+
+    public void withLongRead(long k, Runnable r) {
+        withRead(Cache.keyX(k), Cache.keyZ(k), r);
     }
 
     public void withNasty(int x, int z, NastyRunnable r) throws Throwable {
         lock(x, z);
-        Throwable ee = null;
         try {
             r.run();
-        } catch (Throwable e) {
-            ee = e;
         } finally {
             unlock(x, z);
-
-            if (ee != null) {
-                throw ee;
-            }
         }
     }
 
     public void withIO(int x, int z, IORunnable r) throws IOException {
         lock(x, z);
-        IOException ee = null;
         try {
             r.run();
-        } catch (IOException e) {
-            ee = e;
         } finally {
             unlock(x, z);
-
-            if (ee != null) {
-                throw ee;
-            }
         }
     }
 
     public <T> T withResult(int x, int z, Supplier<T> r) {
         lock(x, z);
-        T t = r.get();
-        unlock(x, z);
-        return t;
+        try {
+            return r.get();
+        } finally {
+            unlock(x, z);
+        }
+    }
+
+    public <T> T withReadResult(int x, int z, Supplier<T> r) {
+        lockRead(x, z);
+        try {
+            return r.get();
+        } finally {
+            unlockRead(x, z);
+        }
     }
 
     public boolean tryLock(int x, int z) {
-        return getLock(x, z).tryLock();
+        return !enabled || getLock(x, z).writeLock().tryLock();
     }
 
     public boolean tryLock(int x, int z, long timeout) {
+        if (!enabled) {
+            return true;
+        }
+
         try {
-            return getLock(x, z).tryLock(timeout, TimeUnit.MILLISECONDS);
+            return getLock(x, z).writeLock().tryLock(timeout, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Iris.reportError(e);
         }
@@ -121,8 +143,18 @@ public class HyperLock {
         return false;
     }
 
-    private ReentrantLock getLock(int x, int z) {
-        return locks.computeIfAbsent(Cache.key(x, z), k -> new ReentrantLock(fair));
+    private ReentrantReadWriteLock getLock(int x, int z) {
+        long k = Cache.key(x, z) * 0x9E3779B97F4A7C15L;
+        return locks[(int) (k ^ (k >>> 32)) & mask];
+    }
+
+    private void acquire(Lock lock) {
+        acquired.increment();
+
+        if (!lock.tryLock()) {
+            contended.increment();
+            lock.lock();
+        }
     }
 
     public void lock(int x, int z) {
@@ -130,7 +162,7 @@ public class HyperLock {
             return;
         }
 
-        getLock(x, z).lock();
+        acquire(getLock(x, z).writeLock());
     }
 
     public void unlock(int x, int z) {
@@ -138,7 +170,50 @@ public class HyperLock {
             return;
         }
 
-        getLock(x, z).unlock();
+        getLock(x, z).writeLock().unlock();
+    }
+
+    public void lockRead(int x, int z) {
+        if (!enabled) {
+            return;
+        }
+
+        acquire(getLock(x, z).readLock());
+    }
+
+    public void unlockRead(int x, int z) {
+        if (!enabled) {
+            return;
+        }
+
+        getLock(x, z).readLock().unlock();
+    }
+
+    /**
+     * @return how many times a lock was acquired in total
+     */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * @return how many of those acquisitions had to block because the lock was held
+     */
+    public long getContended() {
+        return contended.sum();
+    }
+
+    /**
+     * @return the share of acquisitions which had to block (0-1)
+     */
+    public double getContention() {
+        long a = acquired.sum();
+        return a == 0 ? 0 : contended.sum() / (double) a;
+    }
+
+    public void resetCounters() {
+        acquired.reset();
+        contended.reset();
     }
 
     public void disable() {
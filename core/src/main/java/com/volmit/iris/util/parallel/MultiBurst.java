@@ -110,6 +110,15 @@ public class MultiBurst {
         }
     }
 
+    /**
+     * Is the calling thread one of this burst's own workers? Queueing more work from
+     * there only adds executor overhead, callers can run it inline instead.
+     */
+    public boolean isWorker() {
+        ExecutorService s = service;
+        return s != null && Thread.currentThread() instanceof ForkJoinWorkerThread w && w.getPool() == s;
+    }
+
     public BurstExecutor burst(int estimate) {
         return new BurstExecutor(getService(), estimate);
     }
@@ -275,10 +275,18 @@ public interface ProceduralStream<T> extends ProceduralLayer, Interpolated<T> {
         return new To3DStream<T>(this);
     }
 
-    default CachedStream2D<T> cache2D(String name, Engine engine, int size) {
+    default ProceduralStream<T> cache2D(String name, Engine engine, int size) {
         return new CachedStream2D<T>(name, engine, this, size);
     }
 
+    /**
+     * Cache the double values of this stream in primitive per chunk tiles instead of boxed values.
+     * Use this over {@link #cache2D(String, Engine, int)} for numeric streams.
+     */
+    default ProceduralStream<Double> cache2DDouble(String name, Engine engine, int size) {
+        return new DoubleCachedStream2D(name, engine, this, size);
+    }
+
     default ProceduralStream<T> cache3D(String name, Engine engine, int maxSize) {
         return new CachedStream3D<T>(name, engine, this, maxSize);
     }
@@ -555,6 +563,32 @@ public interface ProceduralStream<T> extends ProceduralLayer, Interpolated<T> {
         return toDouble(get(x, y, z));
     }
 
+    /**
+     * Sample a w by h plane starting at x, z into out. The value at (x + i, z + j) is stored at out[(j * w) + i]
+     */
+    default void getPlane(Object[] out, double x, double z, int w, int h) {
+        for (int j = 0; j < h; j++) {
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                out[o + i] = get(x + i, z + j);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #getPlane(Object[], double, double, int, int)} but sampling doubles without boxing where possible
+     */
+    default void getPlane(double[] out, double x, double z, int w, int h) {
+        for (int j = 0; j < h; j++) {
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                out[o + i] = getDouble(x + i, z + j);
+            }
+        }
+    }
+
     ProceduralStream<T> getTypedSource();
 
     ProceduralStream<?> getSource();
@@ -61,12 +61,34 @@ public class CNGStream extends BasicLayer implements ProceduralStream<Double> {
 
     @Override
     public Double get(double x, double z) {
-        return cng.noise((x + getOffsetX()) / getZoom(), (z + getOffsetZ()) / getZoom());
+        return cng.noise2((x + getOffsetX()) / getZoom(), (z + getOffsetZ()) / getZoom());
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return cng.noise2((x + getOffsetX()) / getZoom(), (z + getOffsetZ()) / getZoom());
+    }
+
+    @Override
+    public void getPlane(double[] out, double x, double z, int w, int h) {
+        if (getZoom() == 1 && getOffsetX() == 0 && getOffsetZ() == 0) {
+            cng.noise2(out, x, z, 1, 1, w, h);
+            return;
+        }
+
+        for (int j = 0; j < h; j++) {
+            double zz = (z + j + getOffsetZ()) / getZoom();
+            int o = j * w;
+
+            for (int i = 0; i < w; i++) {
+                out[o + i] = cng.noise2((x + i + getOffsetX()) / getZoom(), zz);
+            }
+        }
     }
 
     @Override
     public Double get(double x, double y, double z) {
-        return cng.noise((x + getOffsetX()) / getZoom(), (y + getOffsetY()) / getZoom(), (z + getOffsetZ()) * getZoom());
+        return cng.noise3((x + getOffsetX()) / getZoom(), (y + getOffsetY()) / getZoom(), (z + getOffsetZ()) * getZoom());
     }
 
 }
@@ -0,0 +1,250 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.mantle;
+
+import com.volmit.iris.engine.data.cache.Cache;
+import com.volmit.iris.engine.object.IrisPosition;
+import com.volmit.iris.util.function.Function3;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MantleWriterTest {
+    private static final int HEIGHT = 256;
+    private static final String LOW = "low";
+    private static final String HIGH = "high";
+    private static final Function3<Integer, Integer, Integer, String> DATA = (x, y, z) -> y < 70 ? LOW : HIGH;
+
+    private record Block(int x, int y, int z) {
+    }
+
+    private static void add(Map<Block, String> blocks, int x, int y, int z, String t) {
+        assertNull(blocks.put(new Block(x, y, z), t), "block " + x + " " + y + " " + z + " was written twice");
+    }
+
+    private static double lengthSq(double x, double y, double z) {
+        return (x * x) + (y * y) + (z * z);
+    }
+
+    /**
+     * The block by block octant walk setElipsoid used before it was rasterized by columns
+     */
+    private static Set<Block> octantWalk(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill) {
+        Set<Block> blocks = new HashSet<>();
+        rx += 0.5;
+        ry += 0.5;
+        rz += 0.5;
+        final double invRadiusX = 1 / rx;
+        final double invRadiusY = 1 / ry;
+        final double invRadiusZ = 1 / rz;
+        final int ceilRadiusX = (int) Math.ceil(rx);
+        final int ceilRadiusY = (int) Math.ceil(ry);
+        final int ceilRadiusZ = (int) Math.ceil(rz);
+        double nextXn = 0;
+
+        forX:
+        for (int x = 0; x <= ceilRadiusX; ++x) {
+            final double xn = nextXn;
+            nextXn = (x + 1) * invRadiusX;
+            double nextYn = 0;
+            forY:
+            for (int y = 0; y <= ceilRadiusY; ++y) {
+                final double yn = nextYn;
+                nextYn = (y + 1) * invRadiusY;
+                double nextZn = 0;
+                for (int z = 0; z <= ceilRadiusZ; ++z) {
+                    final double zn = nextZn;
+                    nextZn = (z + 1) * invRadiusZ;
+
+                    double distanceSq = lengthSq(xn, yn, zn);
+                    if (distanceSq > 1) {
+                        if (z == 0) {
+                            if (y == 0) {
+                                break forX;
+                            }
+                            break forY;
+                        }
+                        break;
+                    }
+
+                    if (!fill) {
+                        if (lengthSq(nextXn, yn, zn) <= 1 && lengthSq(xn, nextYn, zn) <= 1 && lengthSq(xn, yn, nextZn) <= 1) {
+                            continue;
+                        }
+                    }
+
+                    for (int sx = -1; sx <= 1; sx += 2) {
+                        for (int sy = -1; sy <= 1; sy += 2) {
+                            for (int sz = -1; sz <= 1; sz += 2) {
+                                blocks.add(new Block(cx + (sx * x), cy + (sy * y), cz + (sz * z)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return blocks;
+    }
+
+    private static Map<Block, String> rasterElipsoid(int cx, int cy, int cz, double rx, double ry, double rz, boolean fill) {
+        Map<Block, String> blocks = new HashMap<>();
+        MantleWriter.rasterElipsoid(cx, cy, cz, rx, ry, rz, fill, (x, y1, y2, z) -> {
+            assertTrue(y1 <= y2, "empty span at " + x + " " + z);
+
+            for (int y = y1; y <= y2; y++) {
+                add(blocks, x, y, z, LOW);
+            }
+        });
+
+        return blocks;
+    }
+
+    @Test
+    void elipsoidsMatchTheOctantWalk() {
+        double[][] radii = {{0, 0, 0}, {0.5, 0.5, 0.5}, {1, 1, 1}, {1.5, 1.5, 1.5}, {2, 2, 2}, {3, 3, 3}, {4.25, 4.25, 4.25}, {7, 7, 7},
+                {3, 1, 5}, {6, 2.5, 2}, {1, 8, 1}, {0.2, 4, 9.7}};
+
+        for (double[] r : radii) {
+            for (boolean fill : new boolean[]{true, false}) {
+                String shape = "radii " + r[0] + " " + r[1] + " " + r[2] + (fill ? " filled" : " hollow");
+                assertEquals(octantWalk(5, 64, -3, r[0], r[1], r[2], fill), rasterElipsoid(5, 64, -3, r[0], r[1], r[2], fill).keySet(), shape);
+            }
+        }
+    }
+
+    /**
+     * Directly test a block against every segment of the line
+     */
+    private static boolean inCapsules(List<IrisPosition> points, double radius, int x, int y, int z) {
+        for (int i = 0; i < points.size() - 1; i++) {
+            IrisPosition a = points.get(i);
+            IrisPosition b = points.get(i + 1);
+            double dx = b.getX() - a.getX();
+            double dy = b.getY() - a.getY();
+            double dz = b.getZ() - a.getZ();
+            double length = (dx * dx) + (dy * dy) + (dz * dz);
+            double px = x - a.getX();
+            double py = y - a.getY();
+            double pz = z - a.getZ();
+            double t = length == 0 ? 0 : Math.max(0, Math.min(1, ((px * dx) + (py * dy) + (pz * dz)) * (1D / length)));
+
+            if (lengthSq(px - (dx * t), py - (dy * t), pz - (dz * t)) <= radius * radius) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Map<Block, String> expectedLine(List<IrisPosition> points, double radius, boolean filled, int minX, int minZ, int maxX, int maxZ, Set<Long> missing) {
+        Map<Block, String> blocks = new HashMap<>();
+        int r = (int) Math.ceil(radius) + 1;
+        int ax = Integer.MAX_VALUE, az = Integer.MAX_VALUE, bx = Integer.MIN_VALUE, bz = Integer.MIN_VALUE;
+
+        for (IrisPosition p : points) {
+            ax = Math.min(ax, p.getX() - r);
+            az = Math.min(az, p.getZ() - r);
+            bx = Math.max(bx, p.getX() + r);
+            bz = Math.max(bz, p.getZ() + r);
+        }
+
+        for (int x = Math.max(ax, minX); x <= Math.min(bx, maxX); x++) {
+            for (int z = Math.max(az, minZ); z <= Math.min(bz, maxZ); z++) {
+                if (missing.contains(Cache.key(x >> 4, z >> 4))) {
+                    continue;
+                }
+
+                for (int y = 0; y < HEIGHT; y++) {
+                    if (inCapsules(points, radius, x, y, z) && (filled
+                            || !(inCapsules(points, radius, x + 1, y, z)
+                            && inCapsules(points, radius, x - 1, y, z)
+                            && inCapsules(points, radius, x, y + 1, z)
+                            && inCapsules(points, radius, x, y - 1, z)
+                            && inCapsules(points, radius, x, y, z + 1)
+                            && inCapsules(points, radius, x, y, z - 1)))) {
+                        blocks.put(new Block(x, y, z), DATA.apply(x, y, z));
+                    }
+                }
+            }
+        }
+
+        return blocks;
+    }
+
+    private static Map<Block, String> rasterLine(List<IrisPosition> points, double radius, boolean filled, int minX, int minZ, int maxX, int maxZ, Set<Long> missing) {
+        Map<Block, String> blocks = new HashMap<>();
+        MantleWriter.<Long, String>rasterLines(points, radius, filled, minX, minZ, maxX, maxZ, HEIGHT, DATA,
+                (key) -> missing.contains(key) ? null : key, (chunk, x, y1, y2, z, t) -> {
+                    assertEquals(Long.valueOf(Cache.key(x >> 4, z >> 4)), chunk, "span at " + x + " " + z + " was handed the wrong chunk");
+                    assertTrue(y1 <= y2, "empty span at " + x + " " + z);
+
+                    for (int y = y1; y <= y2; y++) {
+                        add(blocks, x, y, z, t);
+                    }
+                });
+
+        return blocks;
+    }
+
+    private static void assertLine(List<IrisPosition> points, double radius, int minX, int minZ, int maxX, int maxZ, Set<Long> missing) {
+        for (boolean filled : new boolean[]{true, false}) {
+            Map<Block, String> expected = expectedLine(points, radius, filled, minX, minZ, maxX, maxZ, missing);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, rasterLine(points, radius, filled, minX, minZ, maxX, maxZ, missing), "radius " + radius + (filled ? " filled" : " hollow"));
+        }
+    }
+
+    @Test
+    void linesAcrossChunksMatchCapsules() {
+        List<IrisPosition> points = List.of(new IrisPosition(10, 60, 5), new IrisPosition(40, 75, 20));
+        assertLine(points, 3, -64, -64, 95, 95, Set.of());
+        assertLine(points, 2.5, -64, -64, 95, 95, Set.of());
+    }
+
+    @Test
+    void bentLinesMatchCapsules() {
+        // A repeated point makes a zero length segment
+        List<IrisPosition> points = List.of(new IrisPosition(0, 100, 0), new IrisPosition(0, 100, 0),
+                new IrisPosition(20, 90, -10), new IrisPosition(20, 120, -10));
+        assertLine(points, 2.5, -64, -64, 95, 95, Set.of());
+        assertLine(points, 1, -64, -64, 95, 95, Set.of());
+    }
+
+    @Test
+    void linesAreClippedToTheWriterAndTheWorld() {
+        // Runs off the writer on x, past the bottom of the world and through a chunk which isn't loaded
+        List<IrisPosition> points = List.of(new IrisPosition(-8, 1, 4), new IrisPosition(36, 2, 12));
+        assertLine(points, 3, 0, 0, 31, 31, Set.of(Cache.key(1, 0)));
+    }
+
+    @Test
+    void singlePointsDrawNothing() {
+        for (boolean filled : new boolean[]{true, false}) {
+            assertTrue(rasterLine(List.of(new IrisPosition(5, 64, 5)), 3, filled, -64, -64, 95, 95, Set.of()).isEmpty());
+            assertTrue(rasterLine(List.of(), 3, filled, -64, -64, 95, 95, Set.of()).isEmpty());
+        }
+    }
+}
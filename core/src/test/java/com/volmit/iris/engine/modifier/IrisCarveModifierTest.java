@@ -0,0 +1,113 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.modifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IrisCarveModifierTest {
+    private static final int COLUMNS = 3;
+
+    private static boolean get(long[] bits, int column, int y) {
+        return (bits[column + (y >> 6)] & (1L << y)) != 0;
+    }
+
+    private static int scan(long[] bits, int column, int from, int limit, boolean set) {
+        for (int y = from; y < limit; y++) {
+            if (get(bits, column, y) == set) {
+                return y;
+            }
+        }
+
+        return set ? -1 : limit;
+    }
+
+    private static long[] random(Random r, int words) {
+        long[] bits = new long[COLUMNS * words];
+
+        for (int i = 0; i < bits.length; i++) {
+            // Mix empty, full and sparse words so runs cross word boundaries
+            bits[i] = switch (r.nextInt(4)) {
+                case 0 -> 0;
+                case 1 -> -1L;
+                case 2 -> r.nextLong();
+                default -> r.nextLong() & r.nextLong() & r.nextLong();
+            };
+        }
+
+        return bits;
+    }
+
+    @Test
+    void nextBitMatchesAScan() {
+        Random r = new Random(17);
+
+        // Heights on and off word boundaries, the last one leaves unused bits in the last word
+        for (int height : new int[]{64, 256, 320, 300}) {
+            int words = (height + 63) >> 6;
+
+            for (int n = 0; n < 20; n++) {
+                long[] bits = random(r, words);
+
+                for (int c = 0; c < COLUMNS; c++) {
+                    int column = c * words;
+
+                    for (int from = 0; from <= height; from++) {
+                        String at = "height " + height + " column " + c + " from " + from;
+                        assertEquals(scan(bits, column, from, height, true), IrisCarveModifier.nextBit(bits, column, words, from, height, true), at);
+                        assertEquals(scan(bits, column, from, height, false), IrisCarveModifier.nextBit(bits, column, words, from, height, false), at);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void zonesCoverEveryCarvedRun() {
+        Random r = new Random(18);
+        int height = 300;
+        int words = (height + 63) >> 6;
+        long[] bits = random(r, words);
+        int column = words;
+        boolean[] seen = new boolean[height];
+
+        // Walk the column the same way carving turns it into cave zones
+        int floor = IrisCarveModifier.nextBit(bits, column, words, 0, height, true);
+
+        while (floor >= 0) {
+            int end = IrisCarveModifier.nextBit(bits, column, words, floor, height, false);
+            assertTrue(end > floor);
+            assertTrue(floor == 0 || !get(bits, column, floor - 1), "zone below " + floor + " was not merged");
+
+            for (int y = floor; y < end; y++) {
+                assertTrue(get(bits, column, y));
+                seen[y] = true;
+            }
+
+            floor = end >= height ? -1 : IrisCarveModifier.nextBit(bits, column, words, end, height, true);
+        }
+
+        for (int y = 0; y < height; y++) {
+            assertEquals(get(bits, column, y), seen[y], "y " + y);
+        }
+    }
+}
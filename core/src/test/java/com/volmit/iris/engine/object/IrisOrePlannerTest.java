@@ -0,0 +1,155 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.object;
+
+import com.volmit.iris.core.loader.IrisData;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.math.RNG;
+import org.bukkit.block.data.BlockData;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IrisOrePlannerTest {
+    private static final int HEIGHT = 320;
+
+    private static BlockData block(int id) {
+        return (BlockData) Proxy.newProxyInstance(BlockData.class.getClassLoader(), new Class[]{BlockData.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "ore " + id;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * A generator with a fixed hit pattern so tests don't depend on noise
+     */
+    private static IrisOreGenerator ore(int id, double min, double max) {
+        BlockData ore = block(id);
+        IrisOreGenerator g = new IrisOreGenerator() {
+            @Override
+            public boolean hit(int x, int y, int z, RNG rng, IrisData data) {
+                return Math.floorMod((x * 31) + (y * 7) + (z * 13) + (id * 5), 2 + id) == 0;
+            }
+
+            @Override
+            public BlockData getOre(int x, int y, int z, RNG rng, IrisData data) {
+                return ore;
+            }
+        };
+
+        return g.setPalette(new IrisMaterialPalette()).setRange(new IrisRange(min, max));
+    }
+
+    // Overlapping ranges, fractional bounds, a range below the world and an empty palette
+    private static KList<IrisOreGenerator> ores() {
+        return new KList<>(
+                ore(0, 10, 40),
+                ore(1, 0, 300),
+                ore(2, 35.5, 36.5),
+                ore(3, -20, 5),
+                ore(4, 100, 180),
+                ore(5, 64, 64),
+                ore(6, 20, 120).setPalette(new IrisMaterialPalette().qclear()));
+    }
+
+    private static BlockData chained(KList<IrisOreGenerator> ores, int x, int y, int z) {
+        for (IrisOreGenerator i : ores) {
+            BlockData b = i.generate(x, y, z, null, null);
+
+            if (b != null) {
+                return b;
+            }
+        }
+
+        return null;
+    }
+
+    @Test
+    void generateMatchesChainedGenerators() {
+        KList<IrisOreGenerator> ores = ores();
+        IrisOrePlanner planner = new IrisOrePlanner(ores);
+
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                for (int y = 0; y < HEIGHT; y++) {
+                    assertSame(chained(ores, x, y, z), planner.generate(x, y, z, null, null), "at " + x + " " + y + " " + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void planMatchesGenerate() {
+        IrisOrePlanner planner = new IrisOrePlanner(ores());
+
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                BlockData[] column = new BlockData[HEIGHT];
+                planner.plan(column, x, z, 0, HEIGHT - 1, null, null);
+
+                for (int y = 0; y < HEIGHT; y++) {
+                    assertSame(planner.generate(x, y, z, null, null), column[y], "at " + x + " " + y + " " + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void planKeepsEarlierLayers() {
+        IrisOrePlanner biome = new IrisOrePlanner(new KList<>(ore(7, 30, 50)));
+        IrisOrePlanner dimension = new IrisOrePlanner(ores());
+        BlockData[] column = new BlockData[HEIGHT];
+        biome.plan(column, 2, 5, 0, HEIGHT - 1, null, null);
+        BlockData[] layered = column.clone();
+        dimension.plan(column, 2, 5, 0, HEIGHT - 1, null, null);
+
+        for (int y = 0; y < HEIGHT; y++) {
+            BlockData expected = layered[y] != null ? layered[y] : dimension.generate(2, y, 5, null, null);
+            assertSame(expected, column[y], "at " + y);
+        }
+    }
+
+    @Test
+    void planOnlyTouchesTheGivenSpan() {
+        IrisOrePlanner planner = new IrisOrePlanner(ores());
+        BlockData[] column = new BlockData[HEIGHT];
+        planner.plan(column, 0, 0, 40, 60, null, null);
+
+        for (int y = 0; y < HEIGHT; y++) {
+            if (y < 40 || y > 60) {
+                assertNull(column[y], "at " + y);
+            }
+        }
+    }
+
+    @Test
+    void emptyPlannerFindsNothing() {
+        IrisOrePlanner planner = new IrisOrePlanner(new KList<>(ore(0, 10, 40).setPalette(new IrisMaterialPalette().qclear())));
+        BlockData[] column = new BlockData[HEIGHT];
+        planner.plan(column, 0, 0, 0, HEIGHT - 1, null, null);
+
+        assertTrue(planner.isEmpty());
+        assertNull(planner.generate(0, 20, 0, null, null));
+        assertArrayEquals(new BlockData[HEIGHT], column);
+    }
+}
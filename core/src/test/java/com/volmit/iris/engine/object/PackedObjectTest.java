@@ -0,0 +1,141 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.object;
+
+import com.volmit.iris.util.collection.KMap;
+import org.bukkit.Material;
+import org.bukkit.block.TileState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.BlockVector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedObjectTest {
+    private static final BlockData STONE = block("stone");
+    private static final BlockData DIRT = block("dirt");
+
+    // Block data without any facing, so rotating it leaves it as is
+    private static BlockData block(String name) {
+        return (BlockData) Proxy.newProxyInstance(BlockData.class.getClassLoader(), new Class[]{BlockData.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> name;
+            case "clone" -> proxy;
+            case "getMaterial" -> Material.STONE;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    // Uneven on every axis and off center so a wrong rotation or axis mixup moves blocks
+    private static KMap<BlockVector, BlockData> blocks() {
+        KMap<BlockVector, BlockData> blocks = new KMap<>();
+
+        for (int x = -1; x <= 2; x++) {
+            for (int y = 0; y <= 4; y++) {
+                for (int z = -3; z <= 1; z++) {
+                    blocks.put(new BlockVector(x, y, z), (x + y + z) % 2 == 0 ? STONE : DIRT);
+                }
+            }
+        }
+
+        return blocks;
+    }
+
+    private static PackedObject pack(KMap<BlockVector, BlockData> blocks) {
+        return PackedObject.pack(blocks, new KMap<BlockVector, TileData<? extends TileState>>());
+    }
+
+    @AfterEach
+    void clear() {
+        PackedObject.clearVariants();
+    }
+
+    @Test
+    void packKeepsEveryBlock() {
+        KMap<BlockVector, BlockData> blocks = blocks();
+        PackedObject pack = pack(blocks);
+
+        assertEquals(blocks.size(), pack.size());
+
+        for (int i = 0; i < pack.size(); i++) {
+            BlockVector v = new BlockVector(pack.getX(i), pack.getY(i), pack.getZ(i));
+            assertSame(blocks.get(v), pack.getSource(i));
+            assertSame(pack.getSource(i), pack.getData(i));
+            assertNull(pack.getTile(i));
+        }
+    }
+
+    @Test
+    void rotatedBlocksMatchRotatingEachVector() {
+        PackedObject pack = pack(blocks());
+
+        for (IrisObjectRotation rotation : new IrisObjectRotation[]{IrisObjectRotation.of(0, 90, 0), IrisObjectRotation.of(90, 180, 0), new IrisObjectRotation()}) {
+            for (int spin = 0; spin < 360; spin += 45) {
+                PackedObject rotated = pack.rotate(rotation, spin / 2, spin, 0);
+                assertEquals(pack.size(), rotated.size());
+
+                for (int i = 0; i < pack.size(); i++) {
+                    BlockVector v = rotation.rotate(new BlockVector(pack.getX(i), pack.getY(i), pack.getZ(i)), spin / 2, spin, 0);
+                    String at = "block " + i + " spin " + spin;
+                    assertEquals(Math.round(v.getX()), rotated.getX(i), at);
+                    assertEquals(Math.round(v.getY()), rotated.getY(i), at);
+                    assertEquals(Math.round(v.getZ()), rotated.getZ(i), at);
+                    assertSame(pack.getSource(i), rotated.getSource(i), at);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rotationsAreCached() {
+        PackedObject pack = pack(blocks());
+        IrisObjectRotation rotation = IrisObjectRotation.of(0, 90, 0);
+        PackedObject rotated = pack.rotate(rotation, 0, 90, 0);
+
+        assertSame(rotated, pack.rotate(rotation, 0, 90, 0));
+        assertSame(pack, pack.rotate(IrisObjectRotation.of(0, 0, 0), 0, 90, 0));
+
+        PackedObject.clearVariants();
+        PackedObject rebuilt = pack.rotate(rotation, 0, 90, 0);
+        assertNotSame(rotated, rebuilt);
+
+        for (int i = 0; i < pack.size(); i++) {
+            assertEquals(rotated.getX(i), rebuilt.getX(i));
+            assertEquals(rotated.getY(i), rebuilt.getY(i));
+            assertEquals(rotated.getZ(i), rebuilt.getZ(i));
+        }
+    }
+
+    @Test
+    void packTracksItsMaps() {
+        KMap<BlockVector, BlockData> blocks = blocks();
+        KMap<BlockVector, TileData<? extends TileState>> states = new KMap<>();
+        PackedObject pack = PackedObject.pack(blocks, states);
+
+        assertTrue(pack.isPackOf(blocks, states));
+        assertFalse(pack.isPackOf(blocks(), states));
+
+        blocks.put(new BlockVector(10, 10, 10), STONE);
+        assertFalse(pack.isPackOf(blocks, states));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.hunk;
+
+import com.volmit.iris.util.hunk.bits.Writable;
+import com.volmit.iris.util.hunk.storage.PaletteHunk;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HunkFillTest {
+    private static final int W = 5;
+    private static final int H = 7;
+    private static final int D = 6;
+    private static final Writable<Integer> INTS = new Writable<>() {
+        @Override
+        public Integer readNodeData(DataInputStream din) throws IOException {
+            return din.readInt();
+        }
+
+        @Override
+        public void writeNodeData(DataOutputStream dos, Integer integer) throws IOException {
+            dos.writeInt(integer);
+        }
+    };
+
+    // Uneven sizes so a swapped axis in any of the fills shows up
+    private static List<Supplier<Hunk<Integer>>> hunks() {
+        return List.of(
+                () -> Hunk.newArrayHunk(W, H, D),
+                () -> Hunk.newMappedHunk(W, H, D),
+                () -> Hunk.newAtomicHunk(W, H, D),
+                () -> new PaletteHunk<>(W, H, D, INTS));
+    }
+
+    private static void assertMatches(Hunk<Integer> expected, Hunk<Integer> actual) {
+        for (int i = 0; i < W; i++) {
+            for (int j = 0; j < H; j++) {
+                for (int k = 0; k < D; k++) {
+                    assertEquals(expected.getRaw(i, j, k), actual.getRaw(i, j, k), actual.getClass().getSimpleName() + " at " + i + " " + j + " " + k);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fillBoxMatchesSingleSets() {
+        for (Supplier<Hunk<Integer>> factory : hunks()) {
+            Hunk<Integer> single = factory.get();
+            Hunk<Integer> bulk = factory.get();
+            Random r = new Random(1);
+
+            for (int n = 0; n < 50; n++) {
+                int x1 = r.nextInt(W), x2 = x1 + r.nextInt(W - x1);
+                int y1 = r.nextInt(H), y2 = y1 + r.nextInt(H - y1);
+                int z1 = r.nextInt(D), z2 = z1 + r.nextInt(D - z1);
+                int value = r.nextInt(40);
+
+                for (int i = x1; i <= x2; i++) {
+                    for (int j = y1; j <= y2; j++) {
+                        for (int k = z1; k <= z2; k++) {
+                            single.setRaw(i, j, k, value);
+                        }
+                    }
+                }
+
+                bulk.fillBox(x1, y1, z1, x2, y2, z2, value);
+            }
+
+            assertMatches(single, bulk);
+        }
+    }
+
+    @Test
+    void regionSetMatchesFillBox() {
+        for (Supplier<Hunk<Integer>> factory : hunks()) {
+            Hunk<Integer> box = factory.get();
+            Hunk<Integer> region = factory.get();
+            box.fillBox(1, 2, 3, 3, 6, 5, 9);
+            region.set(1, 2, 3, 3, 6, 5, 9);
+            assertMatches(box, region);
+            assertEquals(Integer.valueOf(9), region.getRaw(3, 6, 5));
+            assertNull(region.getRaw(0, 0, 0));
+        }
+    }
+
+    @Test
+    void fillColumnSpanMatchesSingleSets() {
+        for (Supplier<Hunk<Integer>> factory : hunks()) {
+            Hunk<Integer> single = factory.get();
+            Hunk<Integer> bulk = factory.get();
+            Random r = new Random(2);
+
+            for (int n = 0; n < 50; n++) {
+                int x = r.nextInt(W);
+                int z = r.nextInt(D);
+                int y1 = r.nextInt(H), y2 = y1 + r.nextInt(H - y1);
+                int value = r.nextInt(40);
+
+                for (int j = y1; j <= y2; j++) {
+                    single.setRaw(x, j, z, value);
+                }
+
+                bulk.fillColumnSpan(x, y1, y2, z, value);
+            }
+
+            assertMatches(single, bulk);
+        }
+    }
+
+    @Test
+    void setManyMatchesSingleSets() {
+        for (Supplier<Hunk<Integer>> factory : hunks()) {
+            Hunk<Integer> single = factory.get();
+            Hunk<Integer> bulk = factory.get();
+            Random r = new Random(3);
+            int[] positions = new int[32];
+
+            for (int n = 0; n < 50; n++) {
+                int count = r.nextInt(positions.length);
+                int value = r.nextInt(40);
+
+                for (int i = 0; i < positions.length; i++) {
+                    int x = r.nextInt(W), y = r.nextInt(H), z = r.nextInt(D);
+                    positions[i] = bulk.pack(x, y, z);
+
+                    if (i < count) {
+                        single.setRaw(x, y, z, value);
+                    }
+                }
+
+                bulk.setMany(positions, count, value);
+            }
+
+            assertMatches(single, bulk);
+        }
+    }
+}
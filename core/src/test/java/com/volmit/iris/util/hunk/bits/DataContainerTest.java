@@ -0,0 +1,116 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.hunk.bits;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataContainerTest {
+    private static final int LENGTH = 16 * 16 * 16;
+    private static final Writable<Integer> INTS = new Writable<>() {
+        @Override
+        public Integer readNodeData(DataInputStream din) throws IOException {
+            return din.readInt();
+        }
+
+        @Override
+        public void writeNodeData(DataOutputStream dos, Integer integer) throws IOException {
+            dos.writeInt(integer);
+        }
+    };
+
+    private static void assertMatches(DataContainer<Integer> expected, DataContainer<Integer> actual) {
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(expected.get(i), actual.get(i), "position " + i);
+        }
+    }
+
+    @Test
+    void runSetMatchesSingleSets() {
+        DataContainer<Integer> single = new DataContainer<>(INTS, LENGTH);
+        DataContainer<Integer> bulk = new DataContainer<>(INTS, LENGTH);
+        Random r = new Random(42);
+
+        // Enough distinct values to grow the palette past the linear one while runs are being written
+        for (int n = 0; n < 300; n++) {
+            int value = r.nextInt(80);
+            int step = r.nextBoolean() ? 1 : 16;
+            int count = 1 + r.nextInt(16);
+            int start = r.nextInt(LENGTH - (step * (count - 1)));
+
+            for (int i = 0; i < count; i++) {
+                single.set(start + (i * step), value);
+            }
+
+            bulk.set(start, step, count, value);
+        }
+
+        assertMatches(single, bulk);
+    }
+
+    @Test
+    void arraySetMatchesSingleSets() {
+        DataContainer<Integer> single = new DataContainer<>(INTS, LENGTH);
+        DataContainer<Integer> bulk = new DataContainer<>(INTS, LENGTH);
+        Random r = new Random(7);
+        int[] positions = new int[64];
+
+        for (int n = 0; n < 200; n++) {
+            int value = r.nextInt(80);
+            int count = r.nextInt(positions.length);
+
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = r.nextInt(LENGTH);
+            }
+
+            for (int i = 0; i < count; i++) {
+                single.set(positions[i], value);
+            }
+
+            bulk.set(positions, count, value);
+        }
+
+        assertMatches(single, bulk);
+    }
+
+    @Test
+    void bulkWritesRoundTrip() throws IOException {
+        DataContainer<Integer> c = new DataContainer<>(INTS, LENGTH);
+
+        for (int i = 0; i < 40; i++) {
+            c.set(i * 100, 1, 100, i);
+        }
+
+        ByteArrayOutputStream boas = new ByteArrayOutputStream();
+        c.writeDos(new DataOutputStream(boas));
+        DataContainer<Integer> read = new DataContainer<>(new DataInputStream(new ByteArrayInputStream(boas.toByteArray())), INTS);
+
+        assertMatches(c, read);
+        assertEquals(Integer.valueOf(39), read.get(3999));
+        assertNull(read.get(4000));
+    }
+}
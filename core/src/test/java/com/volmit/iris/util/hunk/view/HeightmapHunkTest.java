@@ -0,0 +1,116 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.hunk.view;
+
+import com.volmit.iris.util.hunk.Hunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeightmapHunkTest {
+    private static final int AIR = 0;
+    private static final int STONE = 1;
+    private static final int WATER = 2;
+    private static final int SOLID = 0;
+    private static final int NON_FLUID = 1;
+    private static final Predicate<Integer> IS_SOLID = t -> t != null && t == STONE;
+    private static final Predicate<Integer> IS_NON_FLUID = t -> t != null && t != AIR && t != WATER;
+
+    private static HeightmapHunk<Integer> heightmap(Hunk<Integer> src) {
+        return new HeightmapHunk<>(src, IS_SOLID, IS_NON_FLUID);
+    }
+
+    private static int scan(Hunk<Integer> h, Predicate<Integer> p, int x, int z) {
+        for (int y = h.getHeight() - 1; y >= 0; y--) {
+            if (p.test(h.getRaw(x, y, z))) {
+                return y;
+            }
+        }
+
+        return -1;
+    }
+
+    @Test
+    void existingDataIsPickedUp() {
+        Hunk<Integer> src = Hunk.newArrayHunk(4, 32, 4);
+        src.setRaw(1, 10, 2, STONE);
+        src.setRaw(1, 12, 2, WATER);
+        HeightmapHunk<Integer> h = heightmap(src);
+
+        assertEquals(10, h.getTop(SOLID, 1, 2));
+        assertEquals(10, h.getTop(NON_FLUID, 1, 2));
+        assertEquals(-1, h.getTop(SOLID, 0, 0));
+    }
+
+    @Test
+    void writesAboveRaiseTheTop() {
+        HeightmapHunk<Integer> h = heightmap(Hunk.newArrayHunk(4, 32, 4));
+        h.setRaw(0, 5, 0, STONE);
+        assertEquals(5, h.getTop(SOLID, 0, 0));
+
+        h.setRaw(0, 20, 0, STONE);
+        h.setRaw(0, 25, 0, WATER);
+        h.setRaw(0, 15, 0, STONE);
+        assertEquals(20, h.getTop(SOLID, 0, 0));
+        assertEquals(20, h.getTop(NON_FLUID, 0, 0));
+    }
+
+    @Test
+    void replacingTheTopRescans() {
+        HeightmapHunk<Integer> h = heightmap(Hunk.newArrayHunk(4, 32, 4));
+        h.setRaw(3, 8, 3, STONE);
+        h.setRaw(3, 16, 3, STONE);
+        assertEquals(16, h.getTop(SOLID, 3, 3));
+
+        h.setRaw(3, 16, 3, WATER);
+        assertEquals(8, h.getTop(SOLID, 3, 3));
+
+        h.setRaw(3, 8, 3, AIR);
+        assertEquals(-1, h.getTop(SOLID, 3, 3));
+    }
+
+    @Test
+    void topsMatchAScanAfterRandomWrites() {
+        Hunk<Integer> src = Hunk.newArrayHunk(5, 40, 3);
+        HeightmapHunk<Integer> h = heightmap(src);
+        Random r = new Random(16);
+
+        for (int n = 0; n < 5000; n++) {
+            int x = r.nextInt(5);
+            int z = r.nextInt(3);
+            h.setRaw(x, r.nextInt(40), z, r.nextInt(3));
+
+            // Only look some columns up so tracked and untracked columns both see writes
+            if (r.nextInt(4) == 0) {
+                assertEquals(scan(src, IS_SOLID, x, z), h.getTop(SOLID, x, z));
+                assertEquals(scan(src, IS_NON_FLUID, x, z), h.getTop(NON_FLUID, x, z));
+            }
+        }
+
+        for (int x = 0; x < 5; x++) {
+            for (int z = 0; z < 3; z++) {
+                assertEquals(scan(src, IS_SOLID, x, z), h.getTop(SOLID, x, z));
+                assertEquals(scan(src, IS_NON_FLUID, x, z), h.getTop(NON_FLUID, x, z));
+            }
+        }
+    }
+}
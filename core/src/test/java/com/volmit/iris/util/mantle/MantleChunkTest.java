@@ -0,0 +1,152 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.mantle;
+
+import com.volmit.iris.util.matter.Matter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MantleChunkTest {
+    private static final int SECTIONS = 16;
+
+    private static MantleChunk reload(MantleChunk chunk) throws Exception {
+        ByteArrayOutputStream boas = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(boas);
+        chunk.write(dos);
+        dos.close();
+        return new MantleChunk(SECTIONS, new DataInputStream(new ByteArrayInputStream(boas.toByteArray())));
+    }
+
+    @Test
+    void claimIsExclusive() {
+        MantleChunk chunk = new MantleChunk(SECTIONS, 4, 9);
+
+        assertTrue(chunk.claim(MantleFlag.PLANNED));
+        assertFalse(chunk.claim(MantleFlag.PLANNED));
+        assertTrue(chunk.isFlagged(MantleFlag.PLANNED));
+        assertTrue(chunk.isClaimed(MantleFlag.PLANNED));
+
+        chunk.release(MantleFlag.PLANNED);
+        assertTrue(chunk.isFlagged(MantleFlag.PLANNED));
+        assertFalse(chunk.isClaimed(MantleFlag.PLANNED));
+        assertFalse(chunk.claim(MantleFlag.PLANNED));
+    }
+
+    @Test
+    void claimedFlagIsStoredLowered() throws Exception {
+        MantleChunk chunk = new MantleChunk(SECTIONS, 4, 9);
+        assertTrue(chunk.claim(MantleFlag.PLANNED));
+        chunk.flag(MantleFlag.TILE, true);
+
+        MantleChunk read = reload(chunk);
+        assertEquals(4, read.getX());
+        assertEquals(9, read.getZ());
+        assertTrue(read.isFlagged(MantleFlag.TILE));
+        assertFalse(read.isFlagged(MantleFlag.PLANNED));
+        assertTrue(read.claim(MantleFlag.PLANNED));
+    }
+
+    @Test
+    void releasedFlagIsStoredRaised() throws Exception {
+        MantleChunk chunk = new MantleChunk(SECTIONS, 0, 0);
+        assertTrue(chunk.claim(MantleFlag.PLANNED));
+        chunk.release(MantleFlag.PLANNED);
+
+        MantleChunk read = reload(chunk);
+        assertTrue(read.isFlagged(MantleFlag.PLANNED));
+        assertFalse(read.isClaimed(MantleFlag.PLANNED));
+    }
+
+    @Test
+    void unclaimLowersTheFlag() throws Exception {
+        MantleChunk chunk = new MantleChunk(SECTIONS, 0, 0);
+        assertTrue(chunk.claim(MantleFlag.UPDATE));
+        chunk.unclaim(MantleFlag.UPDATE);
+
+        assertFalse(chunk.isFlagged(MantleFlag.UPDATE));
+        assertFalse(chunk.await(MantleFlag.UPDATE));
+        assertTrue(chunk.isDirty());
+        assertTrue(chunk.claim(MantleFlag.UPDATE));
+
+        // Only claimed flags can be given up, a finished flag stays raised
+        chunk.release(MantleFlag.UPDATE);
+        chunk.unclaim(MantleFlag.UPDATE);
+        assertTrue(chunk.isFlagged(MantleFlag.UPDATE));
+    }
+
+    @Test
+    void racingWritersShareOneSection() throws Exception {
+        MantleChunk chunk = new MantleChunk(SECTIONS, 0, 0);
+        Matter[] seen = new Matter[8];
+        Thread[] threads = new Thread[seen.length];
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ignored) {
+                }
+
+                seen[id] = chunk.getOrCreate(3);
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (Matter matter : seen) {
+            assertSame(chunk.get(3), matter);
+        }
+    }
+
+    @Test
+    void awaitReturnsOnceReleased() throws Exception {
+        MantleChunk chunk = new MantleChunk(SECTIONS, 0, 0);
+        assertFalse(chunk.await(MantleFlag.PLANNED));
+        assertTrue(chunk.claim(MantleFlag.PLANNED));
+
+        Thread worker = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+
+            chunk.release(MantleFlag.PLANNED);
+        });
+        worker.start();
+
+        chunk.await(MantleFlag.PLANNED);
+        assertFalse(chunk.isClaimed(MantleFlag.PLANNED));
+        assertTrue(chunk.isFlagged(MantleFlag.PLANNED));
+        worker.join();
+    }
+}
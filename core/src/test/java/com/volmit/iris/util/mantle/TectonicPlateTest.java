@@ -0,0 +1,228 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.mantle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TectonicPlateTest {
+    private static final int HEIGHT = 256;
+
+    @TempDir
+    File folder;
+
+    private File file() {
+        return new File(folder, "0.0" + TectonicPlate.EXTENSION);
+    }
+
+    private File written() throws Exception {
+        File file = file();
+        TectonicPlate plate = new TectonicPlate(HEIGHT, 3, -2);
+        plate.getOrCreate(0, 0).flag(MantleFlag.PLANNED, true);
+        plate.getOrCreate(5, 7).flag(MantleFlag.TILE, true);
+        plate.getOrCreate(31, 31);
+        plate.write(file);
+        return file;
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, written());
+
+        assertEquals(3, plate.getX());
+        assertEquals(-2, plate.getZ());
+        assertTrue(plate.get(0, 0).isFlagged(MantleFlag.PLANNED));
+        assertTrue(plate.get(5, 7).isFlagged(MantleFlag.TILE));
+        assertFalse(plate.get(5, 7).isFlagged(MantleFlag.PLANNED));
+        assertNotNull(plate.get(31, 31));
+        assertFalse(plate.exists(1, 1));
+        assertNull(plate.get(1, 1));
+        assertFalse(plate.isDirty());
+        plate.close();
+    }
+
+    @Test
+    void patchAppendsChangedChunks() throws Exception {
+        File file = written();
+        long length = file.length();
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, file);
+        plate.get(5, 7).flag(MantleFlag.UPDATE, true);
+        plate.getOrCreate(9, 9).flag(MantleFlag.CUSTOM, true);
+        plate.write(file);
+        plate.close();
+
+        // A patch appends a full index after the blobs, a compacted rewrite would be far smaller
+        assertTrue(file.length() > length + (1024 * 12));
+
+        TectonicPlate read = TectonicPlate.read(HEIGHT, file);
+        assertTrue(read.get(0, 0).isFlagged(MantleFlag.PLANNED));
+        assertTrue(read.get(5, 7).isFlagged(MantleFlag.TILE));
+        assertTrue(read.get(5, 7).isFlagged(MantleFlag.UPDATE));
+        assertTrue(read.get(9, 9).isFlagged(MantleFlag.CUSTOM));
+        assertNotNull(read.get(31, 31));
+        read.close();
+    }
+
+    @Test
+    void unchangedPlateIsNotRewritten() throws Exception {
+        File file = written();
+        long length = file.length();
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, file);
+        plate.get(0, 0);
+        plate.write(file);
+        plate.close();
+
+        assertEquals(length, file.length());
+    }
+
+    @Test
+    void deletedChunkStaysDeleted() throws Exception {
+        File file = written();
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, file);
+        plate.delete(5, 7);
+        plate.write(file);
+        plate.close();
+
+        TectonicPlate read = TectonicPlate.read(HEIGHT, file);
+        assertNull(read.get(5, 7));
+        assertNotNull(read.get(0, 0));
+        read.close();
+    }
+
+    @Test
+    void unfinishedPatchIsIgnored() throws Exception {
+        File file = written();
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, file);
+        plate.get(0, 0).flag(MantleFlag.UPDATE, true);
+        plate.write(file);
+        plate.close();
+
+        // A crash after appending blobs but before the index pointer moved leaves trailing garbage
+        byte[] garbage = new byte[4096];
+        Arrays.fill(garbage, (byte) 0x7F);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length());
+            raf.write(garbage);
+        }
+
+        TectonicPlate read = TectonicPlate.read(HEIGHT, file);
+        assertTrue(read.get(0, 0).isFlagged(MantleFlag.UPDATE));
+        read.getOrCreate(1, 1).flag(MantleFlag.CUSTOM, true);
+        read.write(file);
+        read.close();
+
+        TectonicPlate again = TectonicPlate.read(HEIGHT, file);
+        assertTrue(again.get(0, 0).isFlagged(MantleFlag.UPDATE));
+        assertTrue(again.get(1, 1).isFlagged(MantleFlag.CUSTOM));
+        assertTrue(again.get(5, 7).isFlagged(MantleFlag.TILE));
+        again.close();
+    }
+
+    @Test
+    void closedPlateReopensItsFile() throws Exception {
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, written());
+        assertTrue(plate.get(0, 0).isFlagged(MantleFlag.PLANNED));
+        plate.close();
+
+        // Chunks are inflated lazily, so this one has to come from a fresh channel
+        assertTrue(plate.get(5, 7).isFlagged(MantleFlag.TILE));
+        plate.close();
+        plate.close();
+    }
+
+    @Test
+    void writingElsewhereMovesTheSource() throws Exception {
+        File file = written();
+        File moved = new File(folder, "1.1" + TectonicPlate.EXTENSION);
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, file);
+        plate.write(moved);
+        plate.close();
+        assertTrue(file.delete());
+
+        // Untouched chunks were copied over as blobs and must now be read from the new file
+        assertTrue(plate.get(5, 7).isFlagged(MantleFlag.TILE));
+        assertNotNull(plate.get(31, 31));
+        plate.close();
+    }
+
+    @Test
+    void racingWritersShareOneChunk() throws Exception {
+        TectonicPlate plate = new TectonicPlate(HEIGHT, 0, 0);
+        MantleChunk[] seen = new MantleChunk[8];
+        Thread[] threads = new Thread[seen.length];
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ignored) {
+                }
+
+                seen[id] = plate.getOrCreate(4, 4);
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (MantleChunk chunk : seen) {
+            assertSame(plate.get(4, 4), chunk);
+        }
+
+        assertEquals(1, Arrays.stream(seen).filter(c -> c.claim(MantleFlag.PLANNED)).count());
+    }
+
+    @Test
+    void corruptIndexFallsBackToHeaderTable() throws Exception {
+        File file = written();
+        TectonicPlate plate = TectonicPlate.read(HEIGHT, file);
+        plate.get(0, 0).flag(MantleFlag.UPDATE, true);
+        plate.write(file);
+        plate.close();
+
+        // Flip a byte inside the table of the appended index so its checksum no longer matches
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long position = raf.length() - 20;
+            raf.seek(position);
+            int b = raf.read();
+            raf.seek(position);
+            raf.write(~b);
+        }
+
+        TectonicPlate read = TectonicPlate.read(HEIGHT, file);
+        assertTrue(read.get(0, 0).isFlagged(MantleFlag.PLANNED));
+        assertFalse(read.get(0, 0).isFlagged(MantleFlag.UPDATE));
+        assertTrue(read.get(5, 7).isFlagged(MantleFlag.TILE));
+        read.close();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionalRNGTest {
+    private static final long SEED = 1337;
+
+    private static long[] draws(RNG rng) {
+        long[] d = new long[8];
+
+        for (int i = 0; i < d.length; i++) {
+            d[i] = rng.nextLong() ^ rng.i(1000) ^ Double.doubleToLongBits(rng.d());
+        }
+
+        return d;
+    }
+
+    @Test
+    void samePositionDrawsTheSame() {
+        assertArrayEquals(draws(PositionalRNG.of(SEED, 4, -9)), draws(PositionalRNG.of(SEED, 4, -9)));
+    }
+
+    @Test
+    void drawsDependOnPositionAndSeed() {
+        long[] base = draws(PositionalRNG.of(SEED, 4, -9));
+
+        assertFalse(Arrays.equals(base, draws(PositionalRNG.of(SEED, 5, -9))));
+        assertFalse(Arrays.equals(base, draws(PositionalRNG.of(SEED, 4, -8))));
+        assertFalse(Arrays.equals(base, draws(PositionalRNG.of(SEED, -9, 4))));
+        assertFalse(Arrays.equals(base, draws(PositionalRNG.of(SEED + 1, 4, -9))));
+    }
+
+    @Test
+    void parallelRngsMatchTheSharedOne() {
+        PositionalRNG rng = PositionalRNG.of(SEED, 4, -9);
+        rng.nextLong();
+
+        assertEquals(SEED, rng.getSeed());
+        assertArrayEquals(draws(new RNG(SEED).nextParallelRNG(42)), draws(rng.nextParallelRNG(42)));
+        assertArrayEquals(draws(new RNG(SEED).nextParallelRNG(42L)), draws(rng.nextParallelRNG(42L)));
+    }
+
+    @Test
+    void boundedDrawsStayInRange() {
+        PositionalRNG rng = PositionalRNG.of(SEED, 0, 0);
+
+        for (int n = 0; n < 10000; n++) {
+            int i = rng.i(3, 7);
+            double d = rng.nextDouble();
+            assertTrue(i >= 3 && i <= 7, "int " + i);
+            assertTrue(d >= 0 && d < 1, "double " + d);
+        }
+    }
+
+    @Test
+    void splitIsDeterministic() {
+        RNG a = PositionalRNG.of(SEED, 2, 3).split();
+        RNG b = PositionalRNG.of(SEED, 2, 3).split();
+
+        assertInstanceOf(PositionalRNG.class, a);
+        assertEquals(SEED, a.getSeed());
+        assertArrayEquals(draws(a), draws(b));
+    }
+}
@@ -2,7 +2,9 @@ package com.volmit.iris.core.nms.v1_20_R1;
 
 import com.mojang.serialization.Codec;
 import com.volmit.iris.Iris;
+import com.volmit.iris.core.IrisSettings;
 import com.volmit.iris.engine.data.cache.AtomicCache;
+import com.volmit.iris.engine.data.cache.QuartBiomeCache;
 import com.volmit.iris.engine.framework.Engine;
 import com.volmit.iris.engine.object.IrisBiome;
 import com.volmit.iris.engine.object.IrisBiomeCustom;
@@ -38,6 +40,7 @@ public class CustomBiomeSource extends BiomeSource {
     private final AtomicCache<RegistryAccess> registryAccess = new AtomicCache<>();
     private final RNG rng;
     private final KMap<String, Holder<Biome>> customBiomes;
+    private final QuartBiomeCache<Holder<Biome>> biomeCache;
 
     public CustomBiomeSource(long seed, Engine engine, World world) {
         this.engine = engine;
@@ -46,6 +49,8 @@ public class CustomBiomeSource extends BiomeSource {
         this.biomeRegistry = ((RegistryAccess) getFor(RegistryAccess.Frozen.class, ((CraftServer) Bukkit.getServer()).getHandle().getServer())).registry(Registries.BIOME).orElse(null);
         this.rng = new RNG(engine.getSeedManager().getBiome());
         this.customBiomes = fillCustomBiomes(biomeCustomRegistry, engine);
+        this.biomeCache = new QuartBiomeCache<>(engine, this::resolveNoiseBiome, IrisSettings.get().getPerformance().getBiomeCacheSize());
+        engine.setBiomeCache(biomeCache);
     }
 
     private static List<Holder<Biome>> getAllBiomes(Registry<Biome> customRegistry, Registry<Biome> registry, Engine engine) {
@@ -157,6 +162,10 @@ public class CustomBiomeSource extends BiomeSource {
 
     @Override
     public Holder<Biome> getNoiseBiome(int x, int y, int z, Climate.Sampler sampler) {
+        return biomeCache.get(x, y, z);
+    }
+
+    private Holder<Biome> resolveNoiseBiome(int x, int y, int z) {
         int m = (y - engine.getMinHeight()) << 2;
         IrisBiome ib = engine.getComplex().getTrueBiomeStream().get(x << 2, z << 2);
         if (ib.isCustom()) {